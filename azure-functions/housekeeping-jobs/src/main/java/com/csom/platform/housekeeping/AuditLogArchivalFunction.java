@@ -3,8 +3,6 @@ package com.csom.platform.housekeeping;
 import com.azure.core.util.BinaryData;
 import com.azure.storage.blob.BlobClient;
 import com.azure.storage.blob.BlobContainerClient;
-import com.azure.storage.blob.BlobServiceClient;
-import com.azure.storage.blob.BlobServiceClientBuilder;
 import com.microsoft.azure.functions.ExecutionContext;
 import com.microsoft.azure.functions.annotation.FunctionName;
 import com.microsoft.azure.functions.annotation.TimerTrigger;
@@ -13,7 +11,6 @@ import com.fasterxml.jackson.databind.node.ArrayNode;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 
 import java.sql.Connection;
-import java.sql.DriverManager;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
@@ -37,35 +34,20 @@ public class AuditLogArchivalFunction {
         @TimerTrigger(name = "timerInfo", schedule = "0 0 3 * * *") String timerInfo,
         final ExecutionContext context) {
         
-        context.getLogger().info("Audit log archival function started at: " + LocalDateTime.now());
+        context.getLogger().log(Level.INFO, "Audit log archival function started at: {0}", LocalDateTime.now());
         
-        String blobStorageConnectionString = System.getenv("BLOB_STORAGE_CONNECTION_STRING");
-        String postgresHost = System.getenv("POSTGRES_HOST");
-        String postgresUser = System.getenv("POSTGRES_USER");
-        String postgresPassword = System.getenv("POSTGRES_PASSWORD");
-        
-        if (blobStorageConnectionString == null) {
+        if (!HousekeepingResources.isBlobStorageConfigured()) {
             context.getLogger().severe("Blob Storage connection string not configured");
             return;
         }
         
-        if (postgresHost == null || postgresUser == null || postgresPassword == null) {
+        if (!HousekeepingResources.isDatabaseConfigured()) {
             context.getLogger().severe("PostgreSQL connection details not configured");
             return;
         }
         
-        String connectionUrl = String.format(
-            "jdbc:postgresql://%s:5432/ordersdb?sslmode=require",
-            postgresHost
-        );
-        
         try {
-            // Initialize Blob Storage client
-            BlobServiceClient blobServiceClient = new BlobServiceClientBuilder()
-                .connectionString(blobStorageConnectionString)
-                .buildClient();
-            
-            BlobContainerClient containerClient = blobServiceClient
+            BlobContainerClient containerClient = HousekeepingResources.blobServiceClient()
                 .getBlobContainerClient("audit-logs");
             
             // Ensure container exists
@@ -75,7 +57,7 @@ public class AuditLogArchivalFunction {
             }
             
             // Archive audit logs
-            try (Connection conn = DriverManager.getConnection(connectionUrl, postgresUser, postgresPassword)) {
+            try (Connection conn = HousekeepingResources.dataSource().getConnection()) {
                 archiveAuditLogs(conn, containerClient, context);
             }
             
@@ -101,7 +83,7 @@ public class AuditLogArchivalFunction {
         
         String updateSql = "UPDATE audit.audit_logs " +
                           "SET archived = true, archived_at = NOW() " +
-                          "WHERE id = ?";
+                          "WHERE id = ? AND created_at = ?"; // created_at prunes to one partition
         
         int archivedCount = 0;
         
@@ -143,6 +125,7 @@ public class AuditLogArchivalFunction {
                 
                 // Mark as archived
                 updateStmt.setLong(1, rs.getLong("id"));
+                updateStmt.setTimestamp(2, rs.getTimestamp("created_at"));
                 updateStmt.executeUpdate();
                 archivedCount++;
             }
@@ -152,7 +135,7 @@ public class AuditLogArchivalFunction {
                 archiveBatch(containerClient, currentDate, logsArray, context);
             }
             
-            context.getLogger().info("Archived " + archivedCount + " audit logs to Blob Storage");
+            context.getLogger().log(Level.INFO, "Archived {0} audit logs to Blob Storage", archivedCount);
             
         } catch (Exception e) {
             context.getLogger().severe("Error archiving audit logs: " + e.getMessage());
@@ -175,7 +158,8 @@ public class AuditLogArchivalFunction {
             BlobClient blobClient = containerClient.getBlobClient(blobName);
             blobClient.upload(BinaryData.fromString(jsonContent), true);
             
-            context.getLogger().info("Archived batch to: " + blobName + " (" + logsArray.size() + " logs)");
+            context.getLogger().log(Level.INFO, "Archived batch to: {0} ({1} logs)",
+                new Object[] {blobName, logsArray.size()});
             
         } catch (Exception e) {
             context.getLogger().severe("Error uploading batch to Blob Storage: " + e.getMessage());
@@ -4,8 +4,8 @@ import com.microsoft.azure.functions.ExecutionContext;
 import com.microsoft.azure.functions.annotation.FunctionName;
 import com.microsoft.azure.functions.annotation.TimerTrigger;
 import java.sql.Connection;
-import java.sql.DriverManager;
 import java.sql.PreparedStatement;
+import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.time.LocalDateTime;
 import java.util.logging.Level;
@@ -24,23 +24,14 @@ public class DataRetentionCleanupFunction {
         @TimerTrigger(name = "timerInfo", schedule = "0 0 2 * * *") String timerInfo,
         final ExecutionContext context) {
         
-        context.getLogger().info("Data retention cleanup function started at: " + LocalDateTime.now());
+        context.getLogger().log(Level.INFO, "Data retention cleanup function started at: {0}", LocalDateTime.now());
         
-        String postgresHost = System.getenv("POSTGRES_HOST");
-        String postgresUser = System.getenv("POSTGRES_USER");
-        String postgresPassword = System.getenv("POSTGRES_PASSWORD");
-        
-        if (postgresHost == null || postgresUser == null || postgresPassword == null) {
+        if (!HousekeepingResources.isDatabaseConfigured()) {
             context.getLogger().severe("PostgreSQL connection details not configured");
             return;
         }
         
-        String connectionUrl = String.format(
-            "jdbc:postgresql://%s:5432/ordersdb?sslmode=require",
-            postgresHost
-        );
-        
-        try (Connection conn = DriverManager.getConnection(connectionUrl, postgresUser, postgresPassword)) {
+        try (Connection conn = HousekeepingResources.dataSource().getConnection()) {
             // Clean up old notifications (older than 90 days)
             cleanupOldNotifications(conn, context);
             
@@ -65,7 +56,7 @@ public class DataRetentionCleanupFunction {
         
         try (PreparedStatement stmt = conn.prepareStatement(sql)) {
             int deleted = stmt.executeUpdate();
-            context.getLogger().info("Deleted " + deleted + " old notifications");
+            context.getLogger().log(Level.INFO, "Deleted {0} old notifications", deleted);
         }
     }
     
@@ -79,22 +70,31 @@ public class DataRetentionCleanupFunction {
         
         try (PreparedStatement stmt = conn.prepareStatement(sql)) {
             int anonymized = stmt.executeUpdate();
-            context.getLogger().info("Anonymized " + anonymized + " old customer records");
+            context.getLogger().log(Level.INFO, "Anonymized {0} old customer records", anonymized);
         }
     }
     
     private void archiveOldAuditLogs(Connection conn, ExecutionContext context) throws SQLException {
         // Archive old audit logs to Blob Storage before deletion
         // This is handled by the AuditLogArchivalFunction which runs separately
-        // Here we only delete logs that are older than 7 years (after archival)
-        String sql = "DELETE FROM audit.audit_logs " +
-                     "WHERE created_at < NOW() - INTERVAL '7 years' " +
-                     "AND archived = true";
+        // Here we only remove logs that are older than 7 years (after archival), a whole
+        // monthly partition at a time (see 007_drop_expired_audit_log_partitions.sql)
+        String dropSql = "SELECT audit.drop_expired_audit_log_partitions(INTERVAL '7 years')";
         
-        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+        try (PreparedStatement stmt = conn.prepareStatement(dropSql);
+             ResultSet rs = stmt.executeQuery()) {
+            rs.next();
+            context.getLogger().log(Level.INFO, "Dropped {0} audit log partitions older than 7 years", rs.getInt(1));
+        }
+        
+        // Rows outside the pre-created months land in the default partition, which is never dropped
+        String deleteSql = "DELETE FROM audit.audit_logs_default " +
+                           "WHERE created_at < NOW() - INTERVAL '7 years' " +
+                           "AND archived = true";
+        
+        try (PreparedStatement stmt = conn.prepareStatement(deleteSql)) {
             int deleted = stmt.executeUpdate();
-            context.getLogger().info("Deleted " + deleted + " archived audit logs older than 7 years");
+            context.getLogger().log(Level.INFO, "Deleted {0} archived audit logs older than 7 years", deleted);
         }
     }
 }
-
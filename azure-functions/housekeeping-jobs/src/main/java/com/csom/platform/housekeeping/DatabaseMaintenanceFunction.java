@@ -4,7 +4,6 @@ import com.microsoft.azure.functions.ExecutionContext;
 import com.microsoft.azure.functions.annotation.FunctionName;
 import com.microsoft.azure.functions.annotation.TimerTrigger;
 import java.sql.Connection;
-import java.sql.DriverManager;
 import java.sql.SQLException;
 import java.sql.Statement;
 import java.time.LocalDateTime;
@@ -24,25 +23,20 @@ public class DatabaseMaintenanceFunction {
         @TimerTrigger(name = "timerInfo", schedule = "0 0 3 * * 0") String timerInfo,
         final ExecutionContext context) {
         
-        context.getLogger().info("Database maintenance function started at: " + LocalDateTime.now());
+        context.getLogger().log(Level.INFO, "Database maintenance function started at: {0}", LocalDateTime.now());
         
-        String postgresHost = System.getenv("POSTGRES_HOST");
-        String postgresUser = System.getenv("POSTGRES_USER");
-        String postgresPassword = System.getenv("POSTGRES_PASSWORD");
-        
-        if (postgresHost == null || postgresUser == null || postgresPassword == null) {
+        if (!HousekeepingResources.isDatabaseConfigured()) {
             context.getLogger().severe("PostgreSQL connection details not configured");
             return;
         }
         
-        String connectionUrl = String.format(
-            "jdbc:postgresql://%s:5432/ordersdb?sslmode=require",
-            postgresHost
-        );
-        
-        try (Connection conn = DriverManager.getConnection(connectionUrl, postgresUser, postgresPassword);
+        try (Connection conn = HousekeepingResources.dataSource().getConnection();
              Statement stmt = conn.createStatement()) {
-            
+
+            // Keep monthly audit log partitions ahead of the ingestors
+            context.getLogger().info("Ensuring audit log partitions...");
+            stmt.execute("SELECT audit.ensure_audit_log_partitions(3)");
+
             // Vacuum analyze for performance
             context.getLogger().info("Running VACUUM ANALYZE...");
             stmt.execute("VACUUM ANALYZE");
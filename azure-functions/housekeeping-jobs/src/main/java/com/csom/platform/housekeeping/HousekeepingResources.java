@@ -0,0 +1,67 @@
+package com.csom.platform.housekeeping;
+
+import com.azure.storage.blob.BlobServiceClient;
+import com.azure.storage.blob.BlobServiceClientBuilder;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+
+import javax.sql.DataSource;
+
+/**
+ * Clients shared by all functions in this app. The Functions host keeps the worker JVM
+ * alive between invocations, so these are created once on first use and reused instead of
+ * opening a new JDBC connection and Blob client on every run.
+ */
+final class HousekeepingResources {
+
+    private HousekeepingResources() {
+    }
+
+    static boolean isDatabaseConfigured() {
+        return System.getenv("POSTGRES_HOST") != null
+            && System.getenv("POSTGRES_USER") != null
+            && System.getenv("POSTGRES_PASSWORD") != null;
+    }
+
+    static boolean isBlobStorageConfigured() {
+        return System.getenv("BLOB_STORAGE_CONNECTION_STRING") != null;
+    }
+
+    static DataSource dataSource() {
+        return DataSourceHolder.DATA_SOURCE;
+    }
+
+    static BlobServiceClient blobServiceClient() {
+        return BlobServiceClientHolder.CLIENT;
+    }
+
+    // Holder classes defer initialization until first use and make it thread-safe without locking
+
+    private static final class DataSourceHolder {
+        private static final HikariDataSource DATA_SOURCE = createDataSource();
+
+        private static HikariDataSource createDataSource() {
+            HikariConfig config = new HikariConfig();
+            config.setJdbcUrl(String.format(
+                "jdbc:postgresql://%s:5432/ordersdb?sslmode=require",
+                System.getenv("POSTGRES_HOST")
+            ));
+            config.setUsername(System.getenv("POSTGRES_USER"));
+            config.setPassword(System.getenv("POSTGRES_PASSWORD"));
+            config.setPoolName("housekeeping");
+            config.setMaximumPoolSize(Integer.parseInt(
+                System.getenv().getOrDefault("HOUSEKEEPING_DB_POOL_SIZE", "2")));
+            config.setMinimumIdle(0);
+            config.setIdleTimeout(10 * 60 * 1000L);
+            // Do not fail class initialization if the database is briefly unreachable
+            config.setInitializationFailTimeout(-1);
+            return new HikariDataSource(config);
+        }
+    }
+
+    private static final class BlobServiceClientHolder {
+        private static final BlobServiceClient CLIENT = new BlobServiceClientBuilder()
+            .connectionString(System.getenv("BLOB_STORAGE_CONNECTION_STRING"))
+            .buildClient();
+    }
+}
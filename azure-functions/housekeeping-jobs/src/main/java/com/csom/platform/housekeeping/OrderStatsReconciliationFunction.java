@@ -0,0 +1,142 @@
+package com.csom.platform.housekeeping;
+
+import com.microsoft.azure.functions.ExecutionContext;
+import com.microsoft.azure.functions.annotation.FunctionName;
+import com.microsoft.azure.functions.annotation.TimerTrigger;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Azure Function to reconcile the per-customer order counters with the orders table.
+ * Runs daily at 4 AM UTC.
+ *
+ * Works through customers in batches. For each batch it adds the difference between the
+ * recomputed and the stored counters to shard 0, then folds the other shards into shard 0.
+ * Both steps are additive, so order writes running at the same time are never lost.
+ */
+public class OrderStatsReconciliationFunction {
+
+    private static final Logger logger = Logger.getLogger(OrderStatsReconciliationFunction.class.getName());
+
+    private static final int BATCH_SIZE = 1000;
+
+    // Last customer ID of the next batch; PostgreSQL has no max(uuid) aggregate
+    private static final String NEXT_BATCH_END =
+        "SELECT customer_id FROM (" +
+        "  SELECT customer_id FROM (" +
+        "    SELECT customer_id FROM orders.orders WHERE customer_id > ? " +
+        "    UNION SELECT customer_id FROM orders.customer_order_stats WHERE customer_id > ?" +
+        "  ) c ORDER BY customer_id LIMIT ?" +
+        ") batch ORDER BY customer_id DESC LIMIT 1";
+
+    private static final String CORRECT_DRIFT =
+        "INSERT INTO orders.customer_order_stats AS s (customer_id, status, shard, order_count, total_amount) " +
+        "SELECT customer_id, status, 0, sum(order_count), sum(total_amount) FROM (" +
+        "  SELECT customer_id, status, count(*) AS order_count, sum(total_amount) AS total_amount " +
+        "  FROM orders.orders WHERE customer_id > ? AND customer_id <= ? AND deleted IS NOT TRUE " +
+        "  GROUP BY customer_id, status " +
+        "  UNION ALL " +
+        "  SELECT customer_id, status, -sum(order_count), -sum(total_amount) " +
+        "  FROM orders.customer_order_stats WHERE customer_id > ? AND customer_id <= ? " +
+        "  GROUP BY customer_id, status" +
+        ") drift " +
+        "GROUP BY customer_id, status " +
+        "HAVING sum(order_count) <> 0 OR sum(total_amount) <> 0 " +
+        "ORDER BY customer_id, status " +
+        "ON CONFLICT (customer_id, status, shard) DO UPDATE SET " +
+        "  order_count = s.order_count + EXCLUDED.order_count, " +
+        "  total_amount = s.total_amount + EXCLUDED.total_amount";
+
+    private static final String COMPACT_SHARDS =
+        "WITH moved AS (" +
+        "  DELETE FROM orders.customer_order_stats " +
+        "  WHERE customer_id > ? AND customer_id <= ? AND shard <> 0 " +
+        "  RETURNING customer_id, status, order_count, total_amount" +
+        ") " +
+        "INSERT INTO orders.customer_order_stats AS s (customer_id, status, shard, order_count, total_amount) " +
+        "SELECT customer_id, status, 0, sum(order_count), sum(total_amount) FROM moved " +
+        "GROUP BY customer_id, status " +
+        "ORDER BY customer_id, status " +
+        "ON CONFLICT (customer_id, status, shard) DO UPDATE SET " +
+        "  order_count = s.order_count + EXCLUDED.order_count, " +
+        "  total_amount = s.total_amount + EXCLUDED.total_amount";
+
+    private static final String DELETE_EMPTY =
+        "DELETE FROM orders.customer_order_stats " +
+        "WHERE customer_id > ? AND customer_id <= ? AND order_count = 0 AND total_amount = 0";
+
+    @FunctionName("OrderStatsReconciliation")
+    public void run(
+        @TimerTrigger(name = "timerInfo", schedule = "0 0 4 * * *") String timerInfo,
+        final ExecutionContext context) {
+
+        context.getLogger().log(Level.INFO, "Order stats reconciliation function started at: {0}", LocalDateTime.now());
+
+        if (!HousekeepingResources.isDatabaseConfigured()) {
+            context.getLogger().severe("PostgreSQL connection details not configured");
+            return;
+        }
+
+        try (Connection conn = HousekeepingResources.dataSource().getConnection()) {
+            Result result = reconcile(conn);
+
+            context.getLogger().log(Level.INFO,
+                "Order stats reconciliation completed: {0} batches, {1} counters corrected, {2} counters compacted",
+                new Object[] {result.batches(), result.corrected(), result.compacted()});
+
+        } catch (SQLException e) {
+            context.getLogger().severe("Error during order stats reconciliation: " + e.getMessage());
+            logger.log(Level.SEVERE, "SQL Error", e);
+        }
+    }
+
+    Result reconcile(Connection conn) throws SQLException {
+        int corrected = 0;
+        int compacted = 0;
+        int batches = 0;
+        // Nil UUID sorts before every customer ID
+        UUID after = new UUID(0L, 0L);
+        UUID upTo;
+        while ((upTo = nextBatchEnd(conn, after)) != null) {
+            corrected += executeForRange(conn, CORRECT_DRIFT, after, upTo, true);
+            compacted += executeForRange(conn, COMPACT_SHARDS, after, upTo, false);
+            executeForRange(conn, DELETE_EMPTY, after, upTo, false);
+            after = upTo;
+            batches++;
+        }
+        return new Result(batches, corrected, compacted);
+    }
+
+    private UUID nextBatchEnd(Connection conn, UUID after) throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement(NEXT_BATCH_END)) {
+            stmt.setObject(1, after);
+            stmt.setObject(2, after);
+            stmt.setInt(3, BATCH_SIZE);
+            try (ResultSet rs = stmt.executeQuery()) {
+                return rs.next() ? rs.getObject(1, UUID.class) : null;
+            }
+        }
+    }
+
+    private int executeForRange(Connection conn, String sql, UUID after, UUID upTo, boolean twoRanges)
+            throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setObject(1, after);
+            stmt.setObject(2, upTo);
+            if (twoRanges) {
+                stmt.setObject(3, after);
+                stmt.setObject(4, upTo);
+            }
+            return stmt.executeUpdate();
+        }
+    }
+
+    record Result(int batches, int corrected, int compacted) {
+    }
+}
@@ -0,0 +1,159 @@
+package com.csom.platform.housekeeping;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class OrderStatsReconciliationFunctionTest {
+
+    // Surefire runs from the module directory
+    private static final Path MIGRATIONS = Path.of("../../infrastructure/database/migrations");
+
+    private static final UUID CUSTOMER_A = UUID.fromString("3f1c2a9e-8b4d-4c6f-9a2e-5d7b1e0f4a21");
+    private static final UUID CUSTOMER_B = UUID.fromString("9b2d4e6f-1a3c-4e5d-8f7a-0c1b2d3e4f50");
+    private static final UUID CUSTOMER_WITHOUT_ORDERS = UUID.fromString("c4e8a1b2-7d3f-4a6e-9b5c-2e1f0a9d8c76");
+
+    private static EmbeddedPostgres postgres;
+    private static DataSource dataSource;
+
+    private final OrderStatsReconciliationFunction function = new OrderStatsReconciliationFunction();
+
+    @BeforeAll
+    static void startDatabase() throws IOException, SQLException {
+        postgres = EmbeddedPostgres.start();
+        dataSource = postgres.getPostgresDatabase();
+        List<Path> migrations;
+        try (Stream<Path> files = Files.list(MIGRATIONS)) {
+            migrations = files.filter(path -> path.getFileName().toString().endsWith(".sql")).sorted().toList();
+        }
+        for (Path migration : migrations) {
+            execute(Files.readString(migration));
+        }
+    }
+
+    @AfterAll
+    static void stopDatabase() throws IOException {
+        postgres.close();
+    }
+
+    @BeforeEach
+    void insertOrders() throws SQLException {
+        execute("TRUNCATE orders.orders, orders.customer_order_stats CASCADE");
+        // One shard, so every trigger delta lands in shard 0 and the tests decide the striping
+        execute("SET orders.stats_shards = '1';"
+            + "INSERT INTO orders.orders (customer_id, status, total_amount) VALUES "
+            + "('" + CUSTOMER_A + "', 'CONFIRMED', 10.00), ('" + CUSTOMER_A + "', 'CONFIRMED', 12.50), "
+            + "('" + CUSTOMER_A + "', 'CONFIRMED', 7.25), ('" + CUSTOMER_A + "', 'SHIPPED', 25.00), "
+            + "('" + CUSTOMER_B + "', 'PENDING', 5.00), ('" + CUSTOMER_B + "', 'PENDING', 5.00)");
+    }
+
+    @Test
+    void foldsShardsIntoShardZeroWithoutChangingTheTotals() throws SQLException {
+        // Stripe every counter over shards 0, 3 and 5 as concurrent writers would
+        execute("INSERT INTO orders.customer_order_stats (customer_id, status, shard, order_count, total_amount) "
+            + "SELECT customer_id, status, 3, 1, 4.00 FROM orders.customer_order_stats WHERE shard = 0");
+        execute("INSERT INTO orders.customer_order_stats (customer_id, status, shard, order_count, total_amount) "
+            + "SELECT customer_id, status, 5, -1, 1.50 FROM orders.customer_order_stats WHERE shard = 0");
+        execute("UPDATE orders.customer_order_stats SET total_amount = total_amount - 5.50 WHERE shard = 0");
+        Map<String, String> before = counters();
+        assertThat(before).isEqualTo(recomputed());
+
+        OrderStatsReconciliationFunction.Result result = reconcile();
+
+        assertThat(counters()).isEqualTo(before);
+        assertThat(shards()).containsOnly(0);
+        assertThat(result.corrected()).isZero();
+        assertThat(result.compacted()).isEqualTo(3);
+        assertThat(result.batches()).isEqualTo(1);
+    }
+
+    @Test
+    void correctsDriftedCounters() throws SQLException {
+        execute("UPDATE orders.customer_order_stats SET order_count = order_count + 5, total_amount = total_amount - 1.00 "
+            + "WHERE customer_id = '" + CUSTOMER_A + "' AND status = 'CONFIRMED'");
+        execute("DELETE FROM orders.customer_order_stats WHERE customer_id = '" + CUSTOMER_B + "'");
+        execute("INSERT INTO orders.customer_order_stats (customer_id, status, shard, order_count, total_amount) "
+            + "VALUES ('" + CUSTOMER_WITHOUT_ORDERS + "', 'DELIVERED', 2, 1, 99.00)");
+
+        OrderStatsReconciliationFunction.Result result = reconcile();
+
+        assertThat(counters()).isEqualTo(recomputed());
+        assertThat(result.corrected()).isEqualTo(3);
+        // Counters that reconcile to zero are removed rather than kept as empty rows
+        assertThat(query("SELECT shard::text, order_count::text FROM orders.customer_order_stats "
+            + "WHERE customer_id = '" + CUSTOMER_WITHOUT_ORDERS + "'")).isEmpty();
+    }
+
+    @Test
+    void leavesCorrectCountersAlone() throws SQLException {
+        Map<String, String> before = counters();
+
+        OrderStatsReconciliationFunction.Result result = reconcile();
+
+        assertThat(counters()).isEqualTo(before);
+        assertThat(result.corrected()).isZero();
+        assertThat(result.compacted()).isZero();
+    }
+
+    private OrderStatsReconciliationFunction.Result reconcile() throws SQLException {
+        try (Connection connection = dataSource.getConnection()) {
+            return function.reconcile(connection);
+        }
+    }
+
+    /**
+     * Counters summed over shards, as the order service reads them.
+     */
+    private static Map<String, String> counters() throws SQLException {
+        return query("SELECT customer_id || '/' || status, sum(order_count) || '/' || sum(total_amount) "
+            + "FROM orders.customer_order_stats GROUP BY customer_id, status "
+            + "HAVING sum(order_count) <> 0 OR sum(total_amount) <> 0");
+    }
+
+    private static Map<String, String> recomputed() throws SQLException {
+        return query("SELECT customer_id || '/' || status, count(*) || '/' || sum(total_amount) "
+            + "FROM orders.orders WHERE deleted IS NOT TRUE GROUP BY customer_id, status");
+    }
+
+    private static List<Integer> shards() throws SQLException {
+        return query("SELECT DISTINCT shard::text, '' FROM orders.customer_order_stats")
+            .keySet().stream().map(Integer::valueOf).toList();
+    }
+
+    private static Map<String, String> query(String sql) throws SQLException {
+        Map<String, String> rows = new HashMap<>();
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery(sql)) {
+            while (rs.next()) {
+                rows.put(rs.getString(1), rs.getString(2));
+            }
+        }
+        return rows;
+    }
+
+    private static void execute(String sql) throws SQLException {
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement()) {
+            statement.execute(sql);
+        }
+    }
+}
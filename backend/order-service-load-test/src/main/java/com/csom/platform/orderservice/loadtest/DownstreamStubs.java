@@ -0,0 +1,53 @@
+package com.csom.platform.orderservice.loadtest;
+
+import com.github.tomakehurst.wiremock.WireMockServer;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.okJson;
+import static com.github.tomakehurst.wiremock.client.WireMock.post;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlEqualTo;
+import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.options;
+
+/**
+ * WireMock stand-ins for product-service and payment-service. Each responds after a
+ * log-normally distributed delay around the configured median, which is closer to real
+ * service latency than a fixed delay.
+ */
+final class DownstreamStubs implements AutoCloseable {
+
+    private final WireMockServer server;
+
+    private DownstreamStubs(WireMockServer server) {
+        this.server = server;
+    }
+
+    static DownstreamStubs start(int productMedianMillis, int paymentMedianMillis, double latencySigma, int threads) {
+        WireMockServer server = new WireMockServer(options()
+            .dynamicPort()
+            .containerThreads(threads)
+            .asynchronousResponseEnabled(true)
+            .asynchronousResponseThreads(threads)
+            // The journal grows with every request and would dominate heap in a soak run
+            .disableRequestJournal());
+        server.start();
+
+        server.stubFor(post(urlEqualTo("/api/v1/products/validate"))
+            .willReturn(okJson("{\"valid\":true,\"message\":\"OK\"}")
+                .withLogNormalRandomDelay(productMedianMillis, latencySigma)));
+
+        server.stubFor(post(urlEqualTo("/api/v1/payments"))
+            .willReturn(okJson("{\"paymentId\":\"{{randomValue type='UUID'}}\",\"status\":\"COMPLETED\"}")
+                .withTransformers("response-template")
+                .withLogNormalRandomDelay(paymentMedianMillis, latencySigma)));
+
+        return new DownstreamStubs(server);
+    }
+
+    String getBaseUrl() {
+        return server.baseUrl();
+    }
+
+    @Override
+    public void close() {
+        server.stop();
+    }
+}
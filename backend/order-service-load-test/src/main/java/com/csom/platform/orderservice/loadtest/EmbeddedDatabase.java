@@ -0,0 +1,62 @@
+package com.csom.platform.orderservice.loadtest;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Embedded PostgreSQL with the repository's migrations applied in file name order.
+ */
+@Slf4j
+final class EmbeddedDatabase implements AutoCloseable {
+
+    private final EmbeddedPostgres postgres;
+
+    private EmbeddedDatabase(EmbeddedPostgres postgres) {
+        this.postgres = postgres;
+    }
+
+    static EmbeddedDatabase start(Path migrationsDirectory, int maxConnections) throws IOException, SQLException {
+        EmbeddedPostgres postgres = EmbeddedPostgres.builder()
+            .setServerConfig("max_connections", Integer.toString(maxConnections))
+            .start();
+        EmbeddedDatabase database = new EmbeddedDatabase(postgres);
+        database.migrate(migrationsDirectory);
+        return database;
+    }
+
+    String getJdbcUrl() {
+        return postgres.getJdbcUrl("postgres", "postgres");
+    }
+
+    private void migrate(Path migrationsDirectory) throws IOException, SQLException {
+        List<Path> migrations;
+        try (Stream<Path> files = Files.list(migrationsDirectory)) {
+            migrations = files
+                .filter(path -> path.getFileName().toString().endsWith(".sql"))
+                .sorted()
+                .collect(Collectors.toList());
+        }
+        try (Connection connection = postgres.getPostgresDatabase().getConnection();
+             Statement statement = connection.createStatement()) {
+            for (Path migration : migrations) {
+                log.info("Applying migration {}", migration.getFileName());
+                statement.execute(Files.readString(migration));
+            }
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        postgres.close();
+    }
+}
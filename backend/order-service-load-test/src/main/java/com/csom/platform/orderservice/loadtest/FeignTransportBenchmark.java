@@ -0,0 +1,215 @@
+package com.csom.platform.orderservice.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.github.tomakehurst.wiremock.WireMockServer;
+import feign.Client;
+import feign.Feign;
+import feign.RequestInterceptor;
+import feign.RequestLine;
+import feign.hc5.ApacheHttp5Client;
+import feign.http2client.Http2Client;
+import feign.jackson.JacksonDecoder;
+import feign.jackson.JacksonEncoder;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.client5.http.protocol.HttpClientContext;
+
+import java.net.http.HttpClient;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.LongAdder;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
+import static com.github.tomakehurst.wiremock.client.WireMock.containing;
+import static com.github.tomakehurst.wiremock.client.WireMock.okJson;
+import static com.github.tomakehurst.wiremock.client.WireMock.post;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlEqualTo;
+import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.options;
+
+/**
+ * Compares Feign transports for the product-service validate call against a local WireMock stub:
+ * the default HttpURLConnection client, pooled HttpClient 5 (JSON and Smile) and the JDK client
+ * over HTTP/2. Prints throughput, p50/p99 latency, new connections and request body size.
+ *
+ * <pre>
+ * mvn -q compile exec:java -Dexec.mainClass=com.csom.platform.orderservice.loadtest.FeignTransportBenchmark \
+ *     -Dbenchmark.threads=32 -Dbenchmark.requests=20000 -Dbenchmark.latency-ms=2
+ * </pre>
+ */
+public final class FeignTransportBenchmark {
+
+    private static final String SMILE = "application/x-jackson-smile";
+    private static final String VALIDATE_PATH = "/api/v1/products/validate";
+
+    interface ProductApi {
+        @RequestLine("POST " + VALIDATE_PATH)
+        ValidationResponse validate(ValidationRequest request);
+    }
+
+    record Item(String productId, int quantity, double price) {
+    }
+
+    record ValidationRequest(List<Item> items) {
+    }
+
+    record ValidationResponse(Boolean valid, String message) {
+    }
+
+    private record Result(String name, double requestsPerSecond, double p50Micros, double p99Micros,
+                          String newConnections, int requestBytes) {
+    }
+
+    private FeignTransportBenchmark() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        int threads = Integer.getInteger("benchmark.threads", 32);
+        int requests = Integer.getInteger("benchmark.requests", 20000);
+        int latencyMillis = Integer.getInteger("benchmark.latency-ms", 0);
+        int items = Integer.getInteger("benchmark.items", 20);
+
+        ObjectMapper json = new ObjectMapper();
+        ObjectMapper smile = new ObjectMapper(new SmileFactory());
+        ValidationRequest request = request(items);
+        ValidationResponse response = new ValidationResponse(true, "OK");
+
+        WireMockServer server = new WireMockServer(options()
+            .dynamicPort()
+            .containerThreads(threads * 2)
+            .disableRequestJournal());
+        server.start();
+        server.stubFor(post(urlEqualTo(VALIDATE_PATH))
+            .willReturn(okJson(json.writeValueAsString(response)).withFixedDelay(latencyMillis)));
+        server.stubFor(post(urlEqualTo(VALIDATE_PATH))
+            .withHeader("Accept", containing(SMILE))
+            .willReturn(aResponse()
+                .withHeader("Content-Type", SMILE)
+                .withBody(smile.writeValueAsBytes(response))
+                .withFixedDelay(latencyMillis)));
+
+        List<Result> results = new ArrayList<>();
+        try {
+            results.add(run("HttpURLConnection, JSON", new Client.Default(null, null), null,
+                json, "application/json", server.baseUrl(), request, threads, requests));
+
+            LongAdder hc5Connections = new LongAdder();
+            try (CloseableHttpClient httpClient = pooledHttpClient(threads, hc5Connections)) {
+                results.add(run("HttpClient 5 pooled, JSON", new ApacheHttp5Client(httpClient), hc5Connections,
+                    json, "application/json", server.baseUrl(), request, threads, requests));
+            }
+
+            LongAdder smileConnections = new LongAdder();
+            try (CloseableHttpClient httpClient = pooledHttpClient(threads, smileConnections)) {
+                results.add(run("HttpClient 5 pooled, Smile", new ApacheHttp5Client(httpClient), smileConnections,
+                    smile, SMILE, server.baseUrl(), request, threads, requests));
+            }
+
+            HttpClient http2 = HttpClient.newBuilder().version(HttpClient.Version.HTTP_2).build();
+            results.add(run("JDK HttpClient HTTP/2, JSON", new Http2Client(http2), null,
+                json, "application/json", server.baseUrl(), request, threads, requests));
+        } finally {
+            server.stop();
+        }
+
+        System.out.printf("%n%d threads, %d requests per variant, %d items per request, stub latency %d ms%n%n",
+            threads, requests, items, latencyMillis);
+        System.out.printf("%-30s %12s %10s %10s %12s %10s%n",
+            "Transport", "req/s", "p50 (us)", "p99 (us)", "new conns", "req bytes");
+        for (Result result : results) {
+            System.out.printf("%-30s %12.0f %10.0f %10.0f %12s %10d%n", result.name(), result.requestsPerSecond(),
+                result.p50Micros(), result.p99Micros(), result.newConnections(), result.requestBytes());
+        }
+    }
+
+    private static Result run(String name, Client client, LongAdder newConnections, ObjectMapper mapper,
+                              String contentType, String baseUrl, ValidationRequest request,
+                              int threads, int requests) throws Exception {
+        RequestInterceptor headers = template -> {
+            template.header("Content-Type", contentType);
+            template.header("Accept", contentType);
+        };
+        ProductApi api = Feign.builder()
+            .client(client)
+            .encoder(new JacksonEncoder(mapper))
+            .decoder(new JacksonDecoder(mapper))
+            .requestInterceptor(headers)
+            .target(ProductApi.class, baseUrl);
+
+        // Warm up JIT and connection pools before measuring
+        measure(api, request, threads, Math.max(requests / 5, threads));
+        if (newConnections != null) {
+            newConnections.reset();
+        }
+
+        long start = System.nanoTime();
+        long[] latencies = measure(api, request, threads, requests);
+        double elapsedSeconds = (System.nanoTime() - start) / 1e9;
+
+        Arrays.sort(latencies);
+        return new Result(name, requests / elapsedSeconds,
+            latencies[(int) (latencies.length * 0.50)] / 1e3,
+            latencies[Math.min((int) (latencies.length * 0.99), latencies.length - 1)] / 1e3,
+            newConnections != null ? Long.toString(newConnections.sum()) : "n/a",
+            mapper.writeValueAsBytes(request).length);
+    }
+
+    private static long[] measure(ProductApi api, ValidationRequest request, int threads, int requests)
+            throws Exception {
+        long[] latencies = new long[requests];
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> futures = new ArrayList<>(threads);
+            for (int t = 0; t < threads; t++) {
+                int thread = t;
+                futures.add(executor.submit(() -> {
+                    for (int i = thread; i < requests; i += threads) {
+                        long begin = System.nanoTime();
+                        ValidationResponse response = api.validate(request);
+                        latencies[i] = System.nanoTime() - begin;
+                        if (!Boolean.TRUE.equals(response.valid())) {
+                            throw new IllegalStateException("Unexpected response: " + response);
+                        }
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+        return latencies;
+    }
+
+    private static CloseableHttpClient pooledHttpClient(int maxConnections, LongAdder newConnections) {
+        return HttpClients.custom()
+            .setConnectionManager(PoolingHttpClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(maxConnections)
+                .setMaxConnPerRoute(maxConnections)
+                .build())
+            .addResponseInterceptorLast((response, entity, context) -> {
+                HttpClientContext clientContext = HttpClientContext.adapt(context);
+                if (clientContext.getEndpointDetails() != null
+                        && clientContext.getEndpointDetails().getRequestCount() == 1) {
+                    newConnections.increment();
+                }
+            })
+            .build();
+    }
+
+    private static ValidationRequest request(int items) {
+        List<Item> lines = new ArrayList<>(items);
+        for (int i = 0; i < items; i++) {
+            lines.add(new Item(UUID.randomUUID().toString(), 1 + i % 3, 9.99 + i));
+        }
+        return new ValidationRequest(lines);
+    }
+}
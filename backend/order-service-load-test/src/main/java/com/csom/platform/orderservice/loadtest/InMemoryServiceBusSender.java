@@ -0,0 +1,52 @@
+package com.csom.platform.orderservice.loadtest;
+
+import com.azure.messaging.servicebus.ServiceBusMessageBatch;
+import com.azure.messaging.servicebus.ServiceBusSenderClient;
+import org.mockito.Mockito;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Service Bus sender that only counts messages, after an optional fixed delay standing in
+ * for the broker round trip. {@link ServiceBusSenderClient} is final, so this is an inline mock.
+ */
+final class InMemoryServiceBusSender {
+
+    private final LongAdder sentMessages = new LongAdder();
+    private final ServiceBusSenderClient client;
+
+    InMemoryServiceBusSender(Duration sendLatency) {
+        long latencyNanos = sendLatency.toNanos();
+        this.client = Mockito.mock(ServiceBusSenderClient.class, invocation -> {
+            if (invocation.getMethod().getName().equals("sendMessage")
+                    || invocation.getMethod().getName().equals("sendMessages")) {
+                if (latencyNanos > 0) {
+                    LockSupport.parkNanos(latencyNanos);
+                }
+                sentMessages.add(count(invocation.getArgument(0)));
+            }
+            return null;
+        });
+    }
+
+    ServiceBusSenderClient getClient() {
+        return client;
+    }
+
+    long getSentMessages() {
+        return sentMessages.sum();
+    }
+
+    private static int count(Object argument) {
+        if (argument instanceof ServiceBusMessageBatch batch) {
+            return batch.getCount();
+        }
+        if (argument instanceof Collection<?> messages) {
+            return messages.size();
+        }
+        return 1;
+    }
+}
@@ -0,0 +1,108 @@
+package com.csom.platform.orderservice.loadtest;
+
+import com.csom.platform.orderservice.OrderServiceApplication;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.BufferedWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Starts order-service against local stand-ins for everything it talks to:
+ * <ul>
+ *   <li>embedded PostgreSQL with infrastructure/database/migrations applied</li>
+ *   <li>WireMock product-service and payment-service with configurable latency</li>
+ *   <li>a counting in-memory Service Bus sender</li>
+ *   <li>a local JWT issuer; one token per simulated customer is written to {@code tokens.csv}</li>
+ * </ul>
+ * The Gatling simulations in this module run against it from a separate JVM, so load
+ * generation does not skew the service's CPU or allocation figures. See run-load-test.sh.
+ */
+@Slf4j
+public final class LoadTestEnvironment {
+
+    private static final String SCOPES = "orders.read orders.write";
+
+    private LoadTestEnvironment() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Path workDirectory = Path.of(System.getProperty("loadtest.work-dir", "target/loadtest"));
+        Path migrations = Path.of(System.getProperty("loadtest.migrations", "../../infrastructure/database/migrations"));
+        int port = Integer.getInteger("loadtest.port", 8080);
+        int customers = Integer.getInteger("loadtest.customers", 1000);
+        int productLatencyMillis = Integer.getInteger("loadtest.product.latency-ms", 20);
+        int paymentLatencyMillis = Integer.getInteger("loadtest.payment.latency-ms", 80);
+        double latencySigma = Double.parseDouble(System.getProperty("loadtest.latency-sigma", "0.3"));
+        int serviceBusLatencyMillis = Integer.getInteger("loadtest.servicebus.latency-ms", 5);
+        Files.createDirectories(workDirectory);
+
+        EmbeddedDatabase database = EmbeddedDatabase.start(migrations, 200);
+        DownstreamStubs stubs = DownstreamStubs.start(productLatencyMillis, paymentLatencyMillis, latencySigma, 200);
+        LocalJwtIssuer issuer = LocalJwtIssuer.start();
+        InMemoryServiceBusSender serviceBus = new InMemoryServiceBusSender(Duration.ofMillis(serviceBusLatencyMillis));
+
+        writeTokens(workDirectory.resolve("tokens.csv"), issuer, customers);
+
+        List<String> arguments = new ArrayList<>(List.of(args));
+        arguments.addAll(List.of(
+            "--server.port=" + port,
+            "--spring.datasource.url=" + database.getJdbcUrl(),
+            "--spring.datasource.username=postgres",
+            "--spring.datasource.password=postgres",
+            "--spring.jpa.hibernate.ddl-auto=none",
+            "--azure.entra.internal.issuer-uri=" + issuer.getIssuerUri(),
+            "--azure.entra.external.issuer-uri=" + issuer.getIssuerUri(),
+            "--azure.keyvault.secret.enabled=false",
+            "--spring.cloud.azure.keyvault.secret.property-source-enabled=false",
+            // The sender below replaces the auto-configured Service Bus clients
+            "--spring.cloud.azure.servicebus.enabled=false",
+            "--orders.stream.source=local",
+            "--orders.inbound.enabled=false",
+            "--orders.inbound.broker=in-memory",
+            "--orders.admission.rate-limit.backend=local",
+            "--orders.audit.spill-directory=" + workDirectory.resolve("audit-spill").toAbsolutePath(),
+            "--product.service.url=" + stubs.getBaseUrl(),
+            "--payment.service.url=" + stubs.getBaseUrl(),
+            "--logging.level.org.springframework.security=INFO"));
+
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(OrderServiceApplication.class)
+            .initializers(applicationContext -> applicationContext.getBeanFactory()
+                .registerSingleton("serviceBusSenderClient", serviceBus.getClient()))
+            .run(arguments.toArray(String[]::new));
+
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            log.info("Service Bus messages sent during run: {}", serviceBus.getSentMessages());
+            context.close();
+            issuer.close();
+            stubs.close();
+            try {
+                database.close();
+            } catch (Exception e) {
+                log.warn("Failed to stop embedded PostgreSQL", e);
+            }
+        }, "load-test-shutdown"));
+
+        log.info("Load test environment ready on port {} ({} customers, product {} ms, payment {} ms)",
+            port, customers, productLatencyMillis, paymentLatencyMillis);
+    }
+
+    private static void writeTokens(Path file, LocalJwtIssuer issuer, int customers) throws Exception {
+        try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            writer.write("customerId,token");
+            writer.newLine();
+            for (int i = 0; i < customers; i++) {
+                UUID customerId = UUID.randomUUID();
+                writer.write(customerId + "," + issuer.issueToken(customerId, SCOPES, Duration.ofHours(24)));
+                writer.newLine();
+            }
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package com.csom.platform.orderservice.loadtest;
+
+import com.github.tomakehurst.wiremock.WireMockServer;
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.JWSSigner;
+import com.nimbusds.jose.crypto.RSASSASigner;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.RSAKey;
+import com.nimbusds.jose.jwk.gen.RSAKeyGenerator;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.SignedJWT;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+import java.util.UUID;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.get;
+import static com.github.tomakehurst.wiremock.client.WireMock.okJson;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlEqualTo;
+import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.options;
+
+/**
+ * Local stand-in for the Entra ID issuer: serves OpenID discovery and the JWKS from WireMock
+ * and signs access tokens with a key generated at startup.
+ */
+final class LocalJwtIssuer implements AutoCloseable {
+
+    private static final String ISSUER_PATH = "/loadtest-issuer/v2.0";
+    private static final String CLIENT_ID = "order-service-load-test";
+
+    private final WireMockServer server;
+    private final RSAKey signingKey;
+    private final JWSSigner signer;
+
+    private LocalJwtIssuer(WireMockServer server, RSAKey signingKey) throws JOSEException {
+        this.server = server;
+        this.signingKey = signingKey;
+        this.signer = new RSASSASigner(signingKey);
+    }
+
+    static LocalJwtIssuer start() throws JOSEException {
+        WireMockServer server = new WireMockServer(options().dynamicPort().disableRequestJournal());
+        server.start();
+        RSAKey signingKey = new RSAKeyGenerator(2048).keyID(UUID.randomUUID().toString()).generate();
+        LocalJwtIssuer issuer = new LocalJwtIssuer(server, signingKey);
+
+        String issuerUri = issuer.getIssuerUri();
+        server.stubFor(get(urlEqualTo(ISSUER_PATH + "/.well-known/openid-configuration"))
+            .willReturn(okJson("{"
+                + "\"issuer\":\"" + issuerUri + "\","
+                + "\"jwks_uri\":\"" + issuerUri + "/discovery/keys\","
+                + "\"authorization_endpoint\":\"" + issuerUri + "/authorize\","
+                + "\"token_endpoint\":\"" + issuerUri + "/token\","
+                + "\"response_types_supported\":[\"code\"],"
+                + "\"subject_types_supported\":[\"public\"],"
+                + "\"id_token_signing_alg_values_supported\":[\"RS256\"]"
+                + "}")));
+        server.stubFor(get(urlEqualTo(ISSUER_PATH + "/discovery/keys"))
+            .willReturn(okJson(new JWKSet(signingKey.toPublicJWK()).toString())));
+        return issuer;
+    }
+
+    String getIssuerUri() {
+        return server.baseUrl() + ISSUER_PATH;
+    }
+
+    /**
+     * Signs an access token for the given customer, shaped like the tokens order-service
+     * receives in production (subject, scopes and calling client).
+     */
+    String issueToken(UUID customerId, String scopes, Duration ttl) throws JOSEException {
+        Instant now = Instant.now();
+        JWTClaimsSet claims = new JWTClaimsSet.Builder()
+            .issuer(getIssuerUri())
+            .subject(customerId.toString())
+            .audience(CLIENT_ID)
+            .claim("azp", CLIENT_ID)
+            .claim("scp", scopes)
+            .issueTime(Date.from(now))
+            .notBeforeTime(Date.from(now))
+            .expirationTime(Date.from(now.plus(ttl)))
+            .jwtID(UUID.randomUUID().toString())
+            .build();
+        SignedJWT jwt = new SignedJWT(
+            new JWSHeader.Builder(JWSAlgorithm.RS256).keyID(signingKey.getKeyID()).build(), claims);
+        jwt.sign(signer);
+        return jwt.serialize();
+    }
+
+    @Override
+    public void close() {
+        server.stop();
+    }
+}
@@ -0,0 +1,102 @@
+package com.csom.platform.orderservice.loadtest;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.apache.logging.log4j.ThreadContext;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Logging cost of one create-order request: the lines Spring Security, OrderService and
+ * OrderEventPublisher write for it, under the previous synchronous pattern setup (security at
+ * DEBUG) and under order-service's asynchronous JSON setup. Each variant runs in its own JVM with
+ * its own Log4j2 configuration; logs go to files under {@code benchmark.log-dir}.
+ * The async variant blocks when its ring buffer is full instead of inheriting order-service's
+ * discard policy, so both variants pay for every line they log.
+ *
+ * <pre>
+ * mvn -q compile exec:exec -Dexec.executable=java \
+ *     -Dexec.args="-cp %classpath org.openjdk.jmh.Main LoggingOverheadBenchmark -prof gc"
+ * </pre>
+ *
+ * Compare the score (time per request on 8 threads) and {@code gc.alloc.rate.norm}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Threads(8)
+public class LoggingOverheadBenchmark {
+
+    private static final String LOG_DIR = "-Dbenchmark.log-dir=target/logging-benchmark";
+
+    private Logger security;
+    private Logger orderService;
+    private Logger eventPublisher;
+    private UUID userId;
+    private UUID orderId;
+
+    @Setup
+    public void setUp() {
+        security = LogManager.getLogger("org.springframework.security.web.FilterChainProxy");
+        orderService = LogManager.getLogger("com.csom.platform.orderservice.service.OrderService");
+        eventPublisher = LogManager.getLogger("com.csom.platform.orderservice.messaging.OrderEventPublisher");
+        userId = UUID.randomUUID();
+        orderId = UUID.randomUUID();
+    }
+
+    @TearDown
+    public void tearDown() {
+        // Drains the async ring buffer, so its backlog is not left out of the last iteration
+        LogManager.shutdown();
+    }
+
+    @Benchmark
+    @Fork(value = 1, jvmArgsAppend = {
+        "-Dlog4j2.contextSelector=org.apache.logging.log4j.core.selector.ClassLoaderContextSelector",
+        "-Dlog4j2.configurationFile=logging-benchmark/synchronous-pattern.xml",
+        LOG_DIR})
+    public void synchronousPattern() {
+        request();
+    }
+
+    @Benchmark
+    @Fork(value = 1, jvmArgsAppend = {
+        "-Dlog4j2.contextSelector=org.apache.logging.log4j.core.async.AsyncLoggerContextSelector",
+        "-Dlog4j2.configurationFile=logging-benchmark/async-json.xml",
+        // Overrides Discard from order-service's log4j2.component.properties; dropped lines would be free
+        "-Dlog4j2.asyncQueueFullPolicy=Default",
+        LOG_DIR})
+    public void asyncJson() {
+        request();
+    }
+
+    private void request() {
+        ThreadContext.put("traceId", "4bf92f3577b34da6a3ce929d0e0e4736");
+        try {
+            security.debug("Securing {} {}", "POST", "/api/v1/orders");
+            security.debug("Set SecurityContextHolder to {}", "JwtAuthenticationToken [Authenticated=true]");
+            security.debug("Authorized filter invocation [{} {}] with attributes [{}]",
+                "POST", "/api/v1/orders", "authenticated");
+            security.debug("Secured {} {}", "POST", "/api/v1/orders");
+            orderService.info("Creating order for user: {}", userId);
+            eventPublisher.info("Published ORDER_CREATED event for order: {}", orderId);
+        } finally {
+            ThreadContext.remove("traceId");
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package com.csom.platform.orderservice.loadtest.simulation;
+
+import io.gatling.javaapi.core.Assertion;
+import io.gatling.javaapi.core.FeederBuilder;
+import io.gatling.javaapi.core.ScenarioBuilder;
+import io.gatling.javaapi.core.Simulation;
+import io.gatling.javaapi.http.HttpProtocolBuilder;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static io.gatling.javaapi.core.CoreDsl.StringBody;
+import static io.gatling.javaapi.core.CoreDsl.csv;
+import static io.gatling.javaapi.core.CoreDsl.exec;
+import static io.gatling.javaapi.core.CoreDsl.global;
+import static io.gatling.javaapi.core.CoreDsl.jsonPath;
+import static io.gatling.javaapi.core.CoreDsl.percent;
+import static io.gatling.javaapi.core.CoreDsl.randomSwitch;
+import static io.gatling.javaapi.core.CoreDsl.scenario;
+import static io.gatling.javaapi.http.HttpDsl.header;
+import static io.gatling.javaapi.http.HttpDsl.http;
+import static io.gatling.javaapi.http.HttpDsl.status;
+
+/**
+ * Order flow shared by the load profiles: create an order, read it, revalidate it with its
+ * ETag and list the customer's orders. Every profile uses an open injection model, so a slow
+ * service builds up concurrency instead of silently lowering the offered load.
+ *
+ * <p>SLO thresholds default to TESTING_STRATEGY.md section 6.5 and can be overridden with
+ * {@code -Dslo.p50Ms}, {@code -Dslo.p95Ms}, {@code -Dslo.p99Ms} and {@code -Dslo.errorPercent}.
+ */
+public abstract class OrderFlowSimulation extends Simulation {
+
+    /** HTTP requests per user in {@link #orderFlow}, for converting user rates into request rates. */
+    protected static final int REQUESTS_PER_USER = 4;
+
+    protected static final String BASE_URL = System.getProperty("loadtest.baseUrl", "http://localhost:8080");
+
+    protected final HttpProtocolBuilder httpProtocol = http
+        .baseUrl(BASE_URL)
+        .acceptHeader("application/json")
+        .contentTypeHeader("application/json")
+        .acceptEncodingHeader("gzip")
+        .shareConnections();
+
+    private final FeederBuilder<String> customers =
+        csv(System.getProperty("loadtest.tokens", "target/loadtest/tokens.csv")).circular();
+
+    protected final ScenarioBuilder orderFlow = scenario("Order flow")
+        .feed(customers)
+        .exec(http("Create order")
+            .post("/api/v1/orders")
+            .header("Authorization", "Bearer #{token}")
+            .body(StringBody(session -> orderRequestBody()))
+            .check(status().is(201), jsonPath("$.id").saveAs("orderId")))
+        .exec(http("Get order")
+            .get("/api/v1/orders/#{orderId}")
+            .header("Authorization", "Bearer #{token}")
+            .check(status().is(200), header("ETag").saveAs("etag")))
+        .exec(http("Revalidate order")
+            .get("/api/v1/orders/#{orderId}")
+            .header("Authorization", "Bearer #{token}")
+            .header("If-None-Match", "#{etag}")
+            .check(status().is(304)))
+        .exec(randomSwitch().on(
+            percent(80.0).then(exec(http("List orders")
+                .get("/api/v1/orders?size=20")
+                .header("Authorization", "Bearer #{token}")
+                .check(status().is(200)))),
+            percent(20.0).then(exec(http("List pending orders")
+                .get("/api/v1/orders?status=PENDING&size=20")
+                .header("Authorization", "Bearer #{token}")
+                .check(status().is(200))))));
+
+    protected static List<Assertion> sloAssertions(double minRequestsPerSecond) {
+        return sloAssertions(minRequestsPerSecond, 0.1);
+    }
+
+    protected static List<Assertion> sloAssertions(double minRequestsPerSecond, double defaultErrorPercent) {
+        return List.of(
+            global().responseTime().percentile(50.0).lt(Integer.getInteger("slo.p50Ms", 50)),
+            global().responseTime().percentile(95.0).lt(Integer.getInteger("slo.p95Ms", 200)),
+            global().responseTime().percentile(99.0).lt(Integer.getInteger("slo.p99Ms", 500)),
+            global().failedRequests().percent().lt(doubleProperty("slo.errorPercent", defaultErrorPercent)),
+            global().requestsPerSec().gte(minRequestsPerSecond));
+    }
+
+    protected static double doubleProperty(String name, double defaultValue) {
+        String value = System.getProperty(name);
+        return value != null ? Double.parseDouble(value) : defaultValue;
+    }
+
+    private static String orderRequestBody() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int itemCount = random.nextInt(1, 6);
+        StringBuilder body = new StringBuilder("{\"items\":[");
+        for (int i = 0; i < itemCount; i++) {
+            if (i > 0) {
+                body.append(',');
+            }
+            body.append("{\"productId\":\"").append(UUID.randomUUID())
+                .append("\",\"quantity\":").append(random.nextInt(1, 4))
+                .append(",\"price\":").append(random.nextInt(100, 10000) / 100.0)
+                .append('}');
+        }
+        return body.append("]}").toString();
+    }
+}
@@ -0,0 +1,21 @@
+package com.csom.platform.orderservice.loadtest.simulation;
+
+import java.time.Duration;
+
+import static io.gatling.javaapi.core.CoreDsl.constantUsersPerSec;
+
+/**
+ * Moderate constant load for hours, to surface leaks, pool exhaustion and latency drift.
+ * Pair with the allocation report and JFR recording written by run-load-test.sh.
+ */
+public class SoakLoadSimulation extends OrderFlowSimulation {
+
+    private final double usersPerSecond = doubleProperty("loadtest.usersPerSec", 150);
+    private final Duration duration = Duration.ofHours(Long.getLong("loadtest.durationHours", 2));
+
+    {
+        setUp(orderFlow.injectOpen(constantUsersPerSec(usersPerSecond).during(duration)))
+            .protocols(httpProtocol)
+            .assertions(sloAssertions(usersPerSecond * REQUESTS_PER_USER * 0.95));
+    }
+}
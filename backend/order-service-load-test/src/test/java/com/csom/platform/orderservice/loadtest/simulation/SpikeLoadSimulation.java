@@ -0,0 +1,26 @@
+package com.csom.platform.orderservice.loadtest.simulation;
+
+import java.time.Duration;
+
+import static io.gatling.javaapi.core.CoreDsl.constantUsersPerSec;
+import static io.gatling.javaapi.core.CoreDsl.stressPeakUsers;
+
+/**
+ * Baseline load with a sudden burst of arrivals on top, then back to baseline to check
+ * that the service recovers (admission control sheds load rather than queueing it).
+ */
+public class SpikeLoadSimulation extends OrderFlowSimulation {
+
+    private final double baselineUsersPerSecond = doubleProperty("loadtest.usersPerSec", 100);
+    private final int spikeUsers = Integer.getInteger("loadtest.spikeUsers", 5000);
+
+    {
+        setUp(orderFlow.injectOpen(
+                constantUsersPerSec(baselineUsersPerSecond).during(Duration.ofMinutes(2)),
+                stressPeakUsers(spikeUsers).during(Duration.ofSeconds(20)),
+                constantUsersPerSec(baselineUsersPerSecond).during(Duration.ofMinutes(3))))
+            .protocols(httpProtocol)
+            // Requests shed with 429/503 during the burst count as failures, so allow a few percent
+            .assertions(sloAssertions(baselineUsersPerSecond * REQUESTS_PER_USER, 5.0));
+    }
+}
@@ -0,0 +1,25 @@
+package com.csom.platform.orderservice.loadtest.simulation;
+
+import java.time.Duration;
+
+import static io.gatling.javaapi.core.CoreDsl.constantUsersPerSec;
+import static io.gatling.javaapi.core.CoreDsl.rampUsersPerSec;
+
+/**
+ * Expected production load: a one-minute ramp, then a constant arrival rate.
+ * Defaults to 250 users/s (1000 req/s), the throughput target in TESTING_STRATEGY.md.
+ */
+public class SteadyLoadSimulation extends OrderFlowSimulation {
+
+    private final double usersPerSecond = doubleProperty("loadtest.usersPerSec", 250);
+    private final Duration duration = Duration.ofMinutes(Long.getLong("loadtest.durationMinutes", 10));
+
+    {
+        setUp(orderFlow.injectOpen(
+                rampUsersPerSec(1).to(usersPerSecond).during(Duration.ofMinutes(1)),
+                constantUsersPerSec(usersPerSecond).during(duration)))
+            .protocols(httpProtocol)
+            // Averaged over the ramp as well, hence the allowance below the target rate
+            .assertions(sloAssertions(usersPerSecond * REQUESTS_PER_USER * 0.9));
+    }
+}
@@ -0,0 +1,71 @@
+package com.csom.platform.orderservice.admission;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * AIMD concurrency limit. The limit grows by roughly one per round trip while requests
+ * complete under the latency threshold and is cut multiplicatively as soon as they do not,
+ * so the service sheds load while latency is still degrading instead of after the
+ * Tomcat and Hikari pools have saturated. As in TCP, the limit is cut at most once per round
+ * trip: slow requests that started before the last cut were admitted under the old limit and
+ * do not cut it again.
+ */
+public class AdaptiveConcurrencyLimiter {
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final int minLimit;
+    private final int maxLimit;
+    private final long latencyThresholdNanos;
+    private final double backoffRatio;
+    private volatile double limit;
+    private long lastDecreaseNanos = System.nanoTime();
+
+    public AdaptiveConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit,
+                                      long latencyThresholdNanos, double backoffRatio) {
+        this.limit = initialLimit;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.latencyThresholdNanos = latencyThresholdNanos;
+        this.backoffRatio = backoffRatio;
+    }
+
+    public boolean tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= (int) limit) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Releases a permit taken by {@link #tryAcquire()} and feeds the observed latency back into the limit.
+     */
+    public void release(long latencyNanos, boolean failed) {
+        int inFlightAtCompletion = inFlight.getAndDecrement();
+        long now = System.nanoTime();
+        synchronized (this) {
+            double current = limit;
+            if (failed || latencyNanos > latencyThresholdNanos) {
+                if (now - latencyNanos - lastDecreaseNanos > 0) {
+                    limit = Math.max(minLimit, current * backoffRatio);
+                    lastDecreaseNanos = now;
+                }
+            } else if (inFlightAtCompletion * 2 >= current) {
+                // Only probe upwards while the current limit is actually being used
+                limit = Math.min(maxLimit, current + 1.0 / current);
+            }
+        }
+    }
+
+    public int getLimit() {
+        return (int) limit;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+}
@@ -0,0 +1,180 @@
+package com.csom.platform.orderservice.admission;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Admission control for the order API. Runs after JWT authentication:
+ * callers over their rate get 429, and requests beyond the adaptive concurrency
+ * limit are shed with 503 before they reach the Tomcat worker and Hikari pools.
+ * Async requests keep their permit until the async request completes.
+ */
+public class AdmissionControlFilter extends OncePerRequestFilter {
+
+    private static final String STREAM_PATH = "/api/v1/orders/stream";
+    private static final String EXPORT_PATH = "/api/v1/admin/orders/export";
+
+    private final RateLimiter rateLimiter;
+    private final AdaptiveConcurrencyLimiter concurrencyLimiter;
+    private final Counter accepted;
+    private final Counter rateLimited;
+    private final Counter shed;
+    private final String rateLimitRetryAfter;
+
+    /**
+     * @param rateLimitRetryAfter time for an empty bucket to refill one token, sent as Retry-After on 429
+     */
+    public AdmissionControlFilter(RateLimiter rateLimiter, AdaptiveConcurrencyLimiter concurrencyLimiter,
+                                  Duration rateLimitRetryAfter, MeterRegistry meterRegistry) {
+        this.rateLimiter = rateLimiter;
+        this.concurrencyLimiter = concurrencyLimiter;
+        // Retry-After is in whole seconds; round up so the retry finds a token
+        this.rateLimitRetryAfter = Long.toString(Math.max(1, (rateLimitRetryAfter.toMillis() + 999) / 1000));
+        this.accepted = decisionCounter(meterRegistry, "accepted");
+        this.rateLimited = decisionCounter(meterRegistry, "rate_limited");
+        this.shed = decisionCounter(meterRegistry, "shed");
+        if (concurrencyLimiter != null) {
+            Gauge.builder("orders.admission.concurrency.limit", concurrencyLimiter, AdaptiveConcurrencyLimiter::getLimit)
+                .description("Current adaptive concurrency limit")
+                .register(meterRegistry);
+            Gauge.builder("orders.admission.concurrency.in_flight", concurrencyLimiter, AdaptiveConcurrencyLimiter::getInFlight)
+                .description("Requests currently holding a concurrency permit")
+                .register(meterRegistry);
+        }
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !request.getRequestURI().startsWith("/api/");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        if (rateLimiter != null && !rateLimiter.tryAcquire(callerKey())) {
+            rateLimited.increment();
+            reject(response, HttpStatus.TOO_MANY_REQUESTS, rateLimitRetryAfter);
+            return;
+        }
+
+        // SSE streams stay open for minutes and streamed exports for hours: they would pin a permit
+        // and feed the limiter latencies far above its threshold, so only rate-limit them. Exports
+        // are bounded by their own orders.export.max-concurrent
+        if (concurrencyLimiter == null || isLongRunning(request.getRequestURI())) {
+            accepted.increment();
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        if (!concurrencyLimiter.tryAcquire()) {
+            shed.increment();
+            reject(response, HttpStatus.SERVICE_UNAVAILABLE, "1");
+            return;
+        }
+
+        accepted.increment();
+        long start = System.nanoTime();
+        boolean failed = true;
+        boolean async = false;
+        try {
+            filterChain.doFilter(request, response);
+            failed = response.getStatus() >= 500;
+            // Async handlers return here at startAsync, before the response is done
+            async = request.isAsyncStarted();
+        } finally {
+            if (async) {
+                request.getAsyncContext().addListener(new PermitReleasingListener(start, response));
+            } else {
+                concurrencyLimiter.release(System.nanoTime() - start, failed);
+            }
+        }
+    }
+
+    private static boolean isLongRunning(String uri) {
+        return uri.equals(STREAM_PATH) || uri.equals(EXPORT_PATH);
+    }
+
+    private String callerKey() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication instanceof JwtAuthenticationToken jwtAuthentication) {
+            var jwt = jwtAuthentication.getToken();
+            // Entra ID puts the client application in azp (v2 tokens) or appid (v1 tokens)
+            String clientId = jwt.hasClaim("azp") ? jwt.getClaimAsString("azp") : jwt.getClaimAsString("appid");
+            return jwt.getSubject() + ":" + clientId;
+        }
+        return "anonymous";
+    }
+
+    private void reject(HttpServletResponse response, HttpStatus status, String retryAfterSeconds) {
+        response.setStatus(status.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, retryAfterSeconds);
+    }
+
+    /**
+     * Holds the permit of an async request until it completes, errors or times out, and feeds
+     * the limiter its full latency and final status. Timeouts are followed by a completion
+     * event, so the permit is released only once.
+     */
+    private final class PermitReleasingListener implements AsyncListener {
+
+        private final long start;
+        private final HttpServletResponse response;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        PermitReleasingListener(long start, HttpServletResponse response) {
+            this.start = start;
+            this.response = response;
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            release(response.getStatus() >= 500);
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            release(true);
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            release(true);
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+            // A new async cycle drops registered listeners; keep this one
+            event.getAsyncContext().addListener(this);
+        }
+
+        private void release(boolean failed) {
+            if (released.compareAndSet(false, true)) {
+                concurrencyLimiter.release(System.nanoTime() - start, failed);
+            }
+        }
+    }
+
+    private static Counter decisionCounter(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("orders.admission.decisions")
+            .description("Admission control decisions for order API requests")
+            .tag("outcome", outcome)
+            .register(meterRegistry);
+    }
+}
@@ -0,0 +1,60 @@
+package com.csom.platform.orderservice.admission;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-process token buckets. Limits are per pod, so the effective cluster-wide limit
+ * scales with the replica count; use the Redis backend when that matters.
+ */
+public class LocalTokenBucketRateLimiter implements RateLimiter {
+
+    private static final long IDLE_EVICTION_NANOS = 10L * 60 * 1_000_000_000L;
+
+    private final ConcurrentHashMap<String, TokenBucket> buckets = new ConcurrentHashMap<>();
+    private final double capacity;
+    private final double refillPerNano;
+    private final int maxKeys;
+
+    public LocalTokenBucketRateLimiter(int capacity, double refillPerSecond, int maxKeys) {
+        this.capacity = capacity;
+        this.refillPerNano = refillPerSecond / 1_000_000_000d;
+        this.maxKeys = maxKeys;
+    }
+
+    @Override
+    public boolean tryAcquire(String key) {
+        long now = System.nanoTime();
+        TokenBucket bucket = buckets.get(key);
+        if (bucket == null) {
+            if (buckets.size() >= maxKeys) {
+                evictIdle(now);
+            }
+            bucket = buckets.computeIfAbsent(key, k -> new TokenBucket(capacity, now));
+        }
+        return bucket.tryConsume(now, capacity, refillPerNano);
+    }
+
+    private void evictIdle(long now) {
+        buckets.values().removeIf(bucket -> now - bucket.lastRefillNanos > IDLE_EVICTION_NANOS);
+    }
+
+    private static final class TokenBucket {
+        private double tokens;
+        private volatile long lastRefillNanos;
+
+        TokenBucket(double tokens, long now) {
+            this.tokens = tokens;
+            this.lastRefillNanos = now;
+        }
+
+        synchronized boolean tryConsume(long now, double capacity, double refillPerNano) {
+            tokens = Math.min(capacity, tokens + (now - lastRefillNanos) * refillPerNano);
+            lastRefillNanos = now;
+            if (tokens >= 1) {
+                tokens -= 1;
+                return true;
+            }
+            return false;
+        }
+    }
+}
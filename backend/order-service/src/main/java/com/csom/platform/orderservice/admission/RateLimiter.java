@@ -0,0 +1,12 @@
+package com.csom.platform.orderservice.admission;
+
+/**
+ * Token-bucket rate limiter keyed by caller identity.
+ */
+public interface RateLimiter {
+
+    /**
+     * Takes one token from the caller's bucket. Returns false if the bucket is empty.
+     */
+    boolean tryAcquire(String key);
+}
@@ -0,0 +1,79 @@
+package com.csom.platform.orderservice.admission;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Token buckets shared by all replicas through Redis. The refill and take run as one
+ * Lua script using the Redis clock, so concurrent pods cannot overdraw a bucket.
+ * If Redis is unavailable it fails over to the in-process limiter rather than rejecting traffic,
+ * and stays on it for {@code cooldown} before trying Redis again, so an outage costs at most one
+ * command timeout per cooldown instead of one per request.
+ */
+@Slf4j
+public class RedisTokenBucketRateLimiter implements RateLimiter {
+
+    private static final RedisScript<Long> TOKEN_BUCKET_SCRIPT = new DefaultRedisScript<>("""
+        local capacity = tonumber(ARGV[1])
+        local refill_per_ms = tonumber(ARGV[2]) / 1000
+        local time = redis.call('TIME')
+        local now = tonumber(time[1]) * 1000 + math.floor(tonumber(time[2]) / 1000)
+        local state = redis.call('HMGET', KEYS[1], 'tokens', 'ts')
+        local tokens = tonumber(state[1]) or capacity
+        local ts = tonumber(state[2]) or now
+        tokens = math.min(capacity, tokens + math.max(0, now - ts) * refill_per_ms)
+        local allowed = 0
+        if tokens >= 1 then
+          tokens = tokens - 1
+          allowed = 1
+        end
+        redis.call('HSET', KEYS[1], 'tokens', tokens, 'ts', now)
+        redis.call('PEXPIRE', KEYS[1], math.ceil(capacity / refill_per_ms) + 1000)
+        return allowed
+        """, Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final RateLimiter fallback;
+    private final String capacity;
+    private final String refillPerSecond;
+    private final long cooldownNanos;
+    private volatile long redisRetryAt;
+    private volatile boolean tripped;
+
+    public RedisTokenBucketRateLimiter(StringRedisTemplate redisTemplate, int capacity, double refillPerSecond,
+                                       RateLimiter fallback, Duration cooldown) {
+        this.redisTemplate = redisTemplate;
+        this.capacity = Integer.toString(capacity);
+        this.refillPerSecond = Double.toString(refillPerSecond);
+        this.fallback = fallback;
+        this.cooldownNanos = cooldown.toNanos();
+    }
+
+    @Override
+    public boolean tryAcquire(String key) {
+        if (tripped && System.nanoTime() - redisRetryAt < 0) {
+            return fallback.tryAcquire(key);
+        }
+        try {
+            Long allowed = redisTemplate.execute(TOKEN_BUCKET_SCRIPT,
+                List.of("order-service:rate-limit:" + key), capacity, refillPerSecond);
+            if (tripped) {
+                tripped = false;
+                log.info("Redis rate limiter available again");
+            }
+            return allowed != null && allowed == 1L;
+        } catch (Exception e) {
+            redisRetryAt = System.nanoTime() + cooldownNanos;
+            if (!tripped) {
+                tripped = true;
+                log.warn("Redis rate limiter unavailable, using local buckets for {} ms", cooldownNanos / 1_000_000, e);
+            }
+            return fallback.tryAcquire(key);
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.csom.platform.orderservice.audit;
+
+/**
+ * Renders audit events in the CSV dialect PostgreSQL {@code COPY ... (FORMAT csv)} reads.
+ * The same format is used for spill files, so they can be replayed with COPY unchanged.
+ */
+final class AuditCsv {
+
+    static final String COLUMNS = "user_id, action, resource_type, resource_id, ip_address, user_agent, created_at, metadata";
+
+    private AuditCsv() {
+    }
+
+    static void append(StringBuilder out, AuditEvent event) {
+        field(out, event.userId() != null ? event.userId().toString() : null).append(',');
+        field(out, event.action()).append(',');
+        field(out, event.resourceType()).append(',');
+        field(out, event.resourceId()).append(',');
+        field(out, event.ipAddress()).append(',');
+        field(out, event.userAgent()).append(',');
+        field(out, event.createdAt() != null ? event.createdAt().toString() : null).append(',');
+        field(out, event.metadata()).append('\n');
+    }
+
+    private static StringBuilder field(StringBuilder out, String value) {
+        // Unquoted empty means NULL in COPY CSV; quoted values may be empty
+        if (value == null) {
+            return out;
+        }
+        out.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"') {
+                out.append('"');
+            }
+            out.append(c);
+        }
+        return out.append('"');
+    }
+}
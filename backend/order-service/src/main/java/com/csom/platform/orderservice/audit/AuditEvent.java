@@ -0,0 +1,24 @@
+package com.csom.platform.orderservice.audit;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * One row of {@code audit.audit_logs}.
+ */
+public record AuditEvent(
+    UUID userId,
+    String action,
+    String resourceType,
+    String resourceId,
+    String ipAddress,
+    String userAgent,
+    LocalDateTime createdAt,
+    String metadata
+) {
+
+    public static AuditEvent of(String userId, String action, String resourceType, Object resourceId) {
+        return new AuditEvent(UUID.fromString(userId), action, resourceType, String.valueOf(resourceId),
+            null, null, LocalDateTime.now(), null);
+    }
+}
@@ -0,0 +1,257 @@
+package com.csom.platform.orderservice.audit;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Asynchronous writer for {@code audit.audit_logs}.
+ *
+ * <p>{@link #record(AuditEvent)} only appends to a lock-free queue; when {@code capacity}
+ * events are already waiting the event is dropped and counted rather than making the request
+ * thread wait. A single flusher thread drains the queue every {@code flush-interval} or as soon
+ * as {@code batch-size} rows are waiting, and loads each batch with one PostgreSQL {@code COPY}.
+ * When a flush fails or is slower than {@code slow-flush-threshold}, batches go to a local spill
+ * file for {@code backoff}. Once the database keeps up again, every flush cycle also replays one
+ * spill file, so the backlog drains under steady traffic too. A spill file PostgreSQL rejects as
+ * malformed is quarantined instead of retried. Delivery of accepted events is at-least-once.
+ */
+@Component
+@Slf4j
+public class AuditLogIngestor {
+
+    private static final String COPY_SQL =
+        "COPY audit.audit_logs (" + AuditCsv.COLUMNS + ") FROM STDIN WITH (FORMAT csv)";
+
+    private final ConcurrentLinkedQueue<AuditEvent> buffer = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger buffered = new AtomicInteger();
+
+    private final DataSource dataSource;
+    private final AuditSpillFile spillFile;
+    private final boolean enabled;
+    private final int capacity;
+    private final int batchSize;
+    private final long flushIntervalNanos;
+    private final long slowFlushNanos;
+    private final long backoffNanos;
+
+    private final Counter written;
+    private final Counter spilled;
+    private final Counter replayed;
+    private final Counter dropped;
+    private final Timer flushTimer;
+
+    private final Thread flusher;
+    private volatile boolean running = true;
+    private long degradedUntil;
+    private long replayRetryAt;
+
+    public AuditLogIngestor(
+            DataSource dataSource,
+            MeterRegistry meterRegistry,
+            @Value("${orders.audit.enabled:true}") boolean enabled,
+            @Value("${orders.audit.capacity:100000}") int capacity,
+            @Value("${orders.audit.batch-size:1000}") int batchSize,
+            @Value("${orders.audit.flush-interval:PT0.2S}") Duration flushInterval,
+            @Value("${orders.audit.slow-flush-threshold:PT2S}") Duration slowFlushThreshold,
+            @Value("${orders.audit.backoff:PT30S}") Duration backoff,
+            @Value("${orders.audit.spill-directory:${java.io.tmpdir}/order-service-audit}") Path spillDirectory)
+            throws IOException {
+        this.dataSource = dataSource;
+        this.spillFile = new AuditSpillFile(spillDirectory);
+        this.enabled = enabled;
+        this.capacity = capacity;
+        this.batchSize = batchSize;
+        this.flushIntervalNanos = flushInterval.toNanos();
+        this.slowFlushNanos = slowFlushThreshold.toNanos();
+        this.backoffNanos = backoff.toNanos();
+        this.degradedUntil = System.nanoTime();
+        this.replayRetryAt = degradedUntil;
+
+        Gauge.builder("orders.audit.buffered", buffered, AtomicInteger::get)
+            .description("Audit events waiting to be flushed")
+            .register(meterRegistry);
+        this.written = Counter.builder("orders.audit.rows").tag("outcome", "written").register(meterRegistry);
+        this.spilled = Counter.builder("orders.audit.rows").tag("outcome", "spilled").register(meterRegistry);
+        this.replayed = Counter.builder("orders.audit.rows").tag("outcome", "replayed").register(meterRegistry);
+        this.dropped = Counter.builder("orders.audit.rows").tag("outcome", "dropped").register(meterRegistry);
+        this.flushTimer = Timer.builder("orders.audit.flush")
+            .description("Time to COPY one audit batch")
+            .register(meterRegistry);
+
+        this.flusher = new Thread(this::runFlusher, "audit-log-flusher");
+        this.flusher.setDaemon(true);
+        if (enabled) {
+            this.flusher.start();
+        }
+    }
+
+    /**
+     * Queues an audit event. Never blocks: no database or file access happens on the caller's
+     * thread, and the event is dropped (counted as {@code outcome=dropped}) if the buffer is full.
+     */
+    public void record(AuditEvent event) {
+        if (!enabled) {
+            return;
+        }
+        int waiting = buffered.incrementAndGet();
+        if (waiting > capacity) {
+            buffered.decrementAndGet();
+            dropped.increment();
+            return;
+        }
+        buffer.offer(event);
+        // >= rather than ==: concurrent callers can step past the exact batch size
+        if (waiting >= batchSize) {
+            LockSupport.unpark(flusher);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException, IOException {
+        running = false;
+        LockSupport.unpark(flusher);
+        flusher.join(TimeUnit.SECONDS.toMillis(10));
+        spillFile.close();
+    }
+
+    private void runFlusher() {
+        while (running || buffered.get() > 0) {
+            if (running && buffered.get() < batchSize) {
+                LockSupport.parkNanos(flushIntervalNanos);
+            }
+            try {
+                flushOnce();
+            } catch (Exception e) {
+                log.error("Unexpected error in audit log flusher", e);
+            }
+        }
+    }
+
+    private void flushOnce() throws IOException {
+        StringBuilder csv = new StringBuilder(batchSize * 160);
+        int rows = 0;
+        AuditEvent event;
+        while (rows < batchSize && (event = buffer.poll()) != null) {
+            buffered.decrementAndGet();
+            AuditCsv.append(csv, event);
+            rows++;
+        }
+
+        if (rows > 0) {
+            if (isDegraded()) {
+                spill(csv, rows);
+                return;
+            }
+            flush(csv, rows);
+        }
+
+        // One bounded file per cycle, so the backlog drains alongside live traffic without starving it
+        if (running && !isDegraded() && System.nanoTime() - replayRetryAt >= 0 && spillFile.hasPending()) {
+            replayNextSpillFile();
+        }
+    }
+
+    private void flush(StringBuilder csv, int rows) {
+        long start = System.nanoTime();
+        try {
+            copy(new StringReader(csv.toString()));
+            written.increment(rows);
+            long elapsed = System.nanoTime() - start;
+            flushTimer.record(elapsed, TimeUnit.NANOSECONDS);
+            if (elapsed > slowFlushNanos) {
+                log.warn("Audit flush of {} rows took {} ms, spilling to disk for {} s",
+                    rows, TimeUnit.NANOSECONDS.toMillis(elapsed), TimeUnit.NANOSECONDS.toSeconds(backoffNanos));
+                degradedUntil = System.nanoTime() + backoffNanos;
+            }
+        } catch (Exception e) {
+            log.warn("Audit flush of {} rows failed, spilling to disk", rows, e);
+            degradedUntil = System.nanoTime() + backoffNanos;
+            spill(csv, rows);
+        }
+    }
+
+    private void replayNextSpillFile() throws IOException {
+        List<Path> files = spillFile.rotate();
+        if (files.isEmpty()) {
+            return;
+        }
+        Path file = files.get(0);
+        try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            long rows = copy(reader);
+            replayed.increment(rows);
+        } catch (Exception e) {
+            if (isDataError(e)) {
+                Path quarantined = spillFile.quarantine(file);
+                log.error("Audit spill file {} cannot be loaded, moved to {}", file, quarantined, e);
+            } else {
+                // Only replay backs off; live batches keep going to the database
+                log.warn("Replaying audit spill file {} failed, will retry in {} s",
+                    file, TimeUnit.NANOSECONDS.toSeconds(backoffNanos), e);
+                replayRetryAt = System.nanoTime() + backoffNanos;
+            }
+            return;
+        }
+        // COPY is all-or-nothing, so a file is either fully loaded or left for the next attempt
+        Files.delete(file);
+    }
+
+    /**
+     * Whether the file itself is bad (malformed CSV, invalid values, undecodable bytes) rather
+     * than the database being unavailable, in which case retrying can never succeed.
+     */
+    private static boolean isDataError(Throwable e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof CharacterCodingException) {
+                return true;
+            }
+            if (cause instanceof SQLException sqlException && sqlException.getSQLState() != null
+                    && (sqlException.getSQLState().startsWith("22") || sqlException.getSQLState().startsWith("23"))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private long copy(Reader csv) throws Exception {
+        try (Connection connection = dataSource.getConnection()) {
+            return connection.unwrap(PGConnection.class).getCopyAPI().copyIn(COPY_SQL, csv);
+        }
+    }
+
+    private void spill(CharSequence csv, int rows) {
+        try {
+            spillFile.append(csv);
+            spilled.increment(rows);
+        } catch (IOException e) {
+            log.error("Failed to spill {} audit rows to disk; rows lost", rows, e);
+        }
+    }
+
+    private boolean isDegraded() {
+        return System.nanoTime() - degradedUntil < 0;
+    }
+}
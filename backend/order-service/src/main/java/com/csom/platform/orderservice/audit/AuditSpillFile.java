@@ -0,0 +1,95 @@
+package com.csom.platform.orderservice.audit;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Local overflow for audit rows that could not be written to the database in time.
+ * Rows are appended to the current file, which is closed once it reaches
+ * {@link #MAX_FILE_CHARS} so each file is a bounded replay unit; {@link #rotate()} closes it
+ * and returns all closed files, oldest first, for replay.
+ */
+class AuditSpillFile {
+
+    static final int MAX_FILE_CHARS = 8 * 1024 * 1024;
+
+    private static final String PREFIX = "audit-spill-";
+    private static final String SUFFIX = ".csv";
+    private static final String QUARANTINE_SUFFIX = ".failed";
+
+    private final Path directory;
+    private Writer current;
+    private Path currentPath;
+    private long currentChars;
+
+    AuditSpillFile(Path directory) throws IOException {
+        this.directory = Files.createDirectories(directory);
+    }
+
+    synchronized void append(CharSequence csv) throws IOException {
+        if (current == null) {
+            // Timestamped names sort oldest first, which is also replay order
+            currentPath = directory.resolve(PREFIX + System.currentTimeMillis() + "-" + System.nanoTime() + SUFFIX);
+            current = Files.newBufferedWriter(currentPath, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+        }
+        current.append(csv);
+        current.flush();
+        currentChars += csv.length();
+        if (currentChars >= MAX_FILE_CHARS) {
+            closeCurrent();
+        }
+    }
+
+    synchronized List<Path> rotate() throws IOException {
+        closeCurrent();
+        try (Stream<Path> files = Files.list(directory)) {
+            return files
+                .filter(AuditSpillFile::isSpillFile)
+                .sorted()
+                .collect(Collectors.toList());
+        }
+    }
+
+    synchronized boolean hasPending() throws IOException {
+        if (current != null) {
+            return true;
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.anyMatch(AuditSpillFile::isSpillFile);
+        }
+    }
+
+    /**
+     * Renames a file that can never be loaded (for example one with a torn last line) so replay
+     * skips it; it stays on disk for manual repair.
+     */
+    Path quarantine(Path file) throws IOException {
+        return Files.move(file, file.resolveSibling(file.getFileName() + QUARANTINE_SUFFIX));
+    }
+
+    synchronized void close() throws IOException {
+        closeCurrent();
+    }
+
+    private void closeCurrent() throws IOException {
+        if (current != null) {
+            current.close();
+            current = null;
+            currentPath = null;
+            currentChars = 0;
+        }
+    }
+
+    private static boolean isSpillFile(Path path) {
+        String name = path.getFileName().toString();
+        return name.startsWith(PREFIX) && name.endsWith(SUFFIX);
+    }
+}
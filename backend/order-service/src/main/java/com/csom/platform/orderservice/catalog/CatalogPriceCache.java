@@ -0,0 +1,154 @@
+package com.csom.platform.orderservice.catalog;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Holds the current {@link PriceSnapshot}. Reads are a single volatile load. Writers queue
+ * their changes and whichever writer holds the update lock folds everything queued into one
+ * new snapshot, so a burst of price events costs one copy rather than one per event. A full
+ * reload replaces the snapshot in one copy as well.
+ */
+@Component
+public class CatalogPriceCache {
+
+    private final AtomicReference<PriceSnapshot> current = new AtomicReference<>(PriceSnapshot.empty());
+    private final ConcurrentLinkedQueue<PriceChange> pending = new ConcurrentLinkedQueue<>();
+    private final ReentrantLock updateLock = new ReentrantLock();
+    private volatile Instant lastRefreshedAt;
+    // Products changed since the running full reload started; null when no reload is running
+    private volatile Set<UUID> changedDuringReload;
+    private final Counter hits;
+    private final Counter misses;
+
+    public CatalogPriceCache(MeterRegistry meterRegistry) {
+        Gauge.builder("orders.catalog.prices.staleness", this, CatalogPriceCache::stalenessSeconds)
+            .description("Seconds since the catalog prices were last fully reloaded from product-service")
+            .baseUnit("seconds")
+            .register(meterRegistry);
+        Gauge.builder("orders.catalog.prices.size", this, cache -> cache.current().size())
+            .description("Number of products in the catalog price snapshot")
+            .register(meterRegistry);
+        Gauge.builder("orders.catalog.prices.version", this, cache -> cache.current().getVersion())
+            .description("Version of the current catalog price snapshot")
+            .register(meterRegistry);
+        this.hits = Counter.builder("orders.catalog.prices.lookups").tag("result", "hit").register(meterRegistry);
+        this.misses = Counter.builder("orders.catalog.prices.lookups").tag("result", "miss").register(meterRegistry);
+    }
+
+    public PriceSnapshot current() {
+        return current.get();
+    }
+
+    /**
+     * Price in cents, or {@link PriceSnapshot#NOT_FOUND} if the product is not cached.
+     */
+    public long getPriceCents(UUID productId) {
+        long cents = current.get().getPriceCents(productId);
+        (cents == PriceSnapshot.NOT_FOUND ? misses : hits).increment();
+        return cents;
+    }
+
+    public void apply(Collection<PriceChange> changes) {
+        if (changes.isEmpty()) {
+            return;
+        }
+        Set<UUID> changed = changedDuringReload;
+        if (changed != null) {
+            for (PriceChange change : changes) {
+                changed.add(change.productId());
+            }
+        }
+        pending.addAll(changes);
+        applyPending();
+    }
+
+    /**
+     * Starts tracking the products changed by {@link #apply}, so that {@link #reload} does not
+     * evict a product the running load read before it was added.
+     */
+    public void beginReload() {
+        changedDuringReload = ConcurrentHashMap.newKeySet();
+    }
+
+    /**
+     * Stops tracking changes for a full load that failed, so the products changed meanwhile are
+     * not collected until the next {@link #beginReload}.
+     */
+    public void abortReload() {
+        changedDuringReload = null;
+    }
+
+    /**
+     * Replaces the snapshot with a full load of the catalog. Products missing from the load are
+     * evicted unless they changed since {@link #beginReload}; changes queued meanwhile are kept.
+     * Events can be lost (the per-pod subscription only exists while the pod does), so the last
+     * full reload bounds how stale any cached price can be.
+     */
+    public void reload(Collection<PriceChange> loaded, Instant reloadStartedAt) {
+        updateLock.lock();
+        try {
+            List<PriceChange> changes = new ArrayList<>(loaded.size() + pending.size());
+            changes.addAll(loaded);
+            PriceChange change;
+            while ((change = pending.poll()) != null) {
+                changes.add(change);
+            }
+            Set<UUID> retained = changedDuringReload;
+            changedDuringReload = null;
+            current.set(current.get().reloaded(changes, retained != null ? retained : Set.of(), Instant.now()));
+        } finally {
+            updateLock.unlock();
+        }
+        lastRefreshedAt = reloadStartedAt;
+        applyPending();
+    }
+
+    /**
+     * Time since the last full reload started, or null if none has completed yet.
+     */
+    public Duration getStaleness() {
+        Instant refreshedAt = lastRefreshedAt;
+        return refreshedAt != null ? Duration.between(refreshedAt, Instant.now()) : null;
+    }
+
+    private void applyPending() {
+        // Re-check after unlocking: changes queued while another writer held the lock are ours to apply
+        while (!pending.isEmpty()) {
+            if (!updateLock.tryLock()) {
+                return;
+            }
+            try {
+                List<PriceChange> batch = new ArrayList<>();
+                PriceChange change;
+                while ((change = pending.poll()) != null) {
+                    batch.add(change);
+                }
+                if (!batch.isEmpty()) {
+                    current.set(current.get().withChanges(batch, Instant.now()));
+                }
+            } finally {
+                updateLock.unlock();
+            }
+        }
+    }
+
+    private double stalenessSeconds() {
+        Duration staleness = getStaleness();
+        return staleness != null ? staleness.toMillis() / 1000.0 : Double.NaN;
+    }
+}
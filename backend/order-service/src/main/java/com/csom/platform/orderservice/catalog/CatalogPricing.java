@@ -0,0 +1,175 @@
+package com.csom.platform.orderservice.catalog;
+
+import com.csom.platform.orderservice.client.ProductServiceClient;
+import com.csom.platform.orderservice.dto.OrderCreateRequest;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Server-side order pricing from the {@link CatalogPriceCache}. Once the application is ready
+ * the price-change subscription (see {@link ServiceBusCatalogPriceRelay}) is started first and
+ * the cache is loaded from product-service second, so a change published during the load is
+ * applied either way; versions keep the older of the two from winning. The full load repeats
+ * every {@code orders.catalog.refresh-interval} to repair any missed events and evict removed
+ * products. Products missing
+ * from the cache are fetched in one call and added. When disabled, orders are priced with the
+ * client-supplied item prices.
+ */
+@Component
+@Slf4j
+public class CatalogPricing {
+
+    private final ProductServiceClient productServiceClient;
+    private final CatalogPriceCache priceCache;
+    private final ObjectProvider<ServiceBusCatalogPriceRelay> priceRelay;
+    private final boolean enabled;
+    private final int warmPageSize;
+    private final Duration refreshInterval;
+    private final ScheduledExecutorService refreshScheduler;
+
+    public CatalogPricing(
+            ProductServiceClient productServiceClient,
+            CatalogPriceCache priceCache,
+            ObjectProvider<ServiceBusCatalogPriceRelay> priceRelay,
+            @Value("${orders.catalog.enabled:false}") boolean enabled,
+            @Value("${orders.catalog.warm-page-size:5000}") int warmPageSize,
+            @Value("${orders.catalog.refresh-interval:PT15M}") Duration refreshInterval) {
+        this.productServiceClient = productServiceClient;
+        this.priceCache = priceCache;
+        this.priceRelay = priceRelay;
+        this.enabled = enabled;
+        this.warmPageSize = warmPageSize;
+        this.refreshInterval = refreshInterval;
+        this.refreshScheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "catalog-price-refresh");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        priceRelay.ifAvailable(ServiceBusCatalogPriceRelay::start);
+        refresh();
+        refreshScheduler.scheduleWithFixedDelay(this::refresh,
+            refreshInterval.toMillis(), refreshInterval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Reloads every catalog price and evicts products no longer in the catalog. The pages are
+     * collected and applied as one snapshot. Entries only move forward by price version, and
+     * products changed by an event while the load was running are kept, so this never undoes a
+     * newer change.
+     */
+    public void refresh() {
+        Instant startedAt = Instant.now();
+        List<PriceChange> loaded = new ArrayList<>();
+        try {
+            priceCache.beginReload();
+            for (int page = 0; ; page++) {
+                List<ProductServiceClient.ProductPrice> prices = productServiceClient.getPrices(page, warmPageSize);
+                loaded.addAll(toChanges(prices));
+                if (prices.size() < warmPageSize) {
+                    break;
+                }
+            }
+            priceCache.reload(loaded, startedAt);
+            log.info("Loaded {} catalog prices in {} ms", loaded.size(),
+                Duration.between(startedAt, Instant.now()).toMillis());
+        } catch (Exception e) {
+            // The cache keeps its current prices; uncached products are fetched on first use
+            priceCache.abortReload();
+            log.error("Catalog price load failed after {} prices", loaded.size(), e);
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        refreshScheduler.shutdownNow();
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Order total in cents from catalog prices.
+     *
+     * @throws ResponseStatusException 400 if product-service does not know one of the products
+     */
+    public long totalCents(List<OrderCreateRequest.OrderItemRequest> items) {
+        long total = 0;
+        Set<UUID> missing = null;
+        for (OrderCreateRequest.OrderItemRequest item : items) {
+            long cents = priceCache.getPriceCents(item.getProductId());
+            if (cents == PriceSnapshot.NOT_FOUND) {
+                if (missing == null) {
+                    missing = new LinkedHashSet<>();
+                }
+                missing.add(item.getProductId());
+            } else {
+                total = Math.addExact(total, Math.multiplyExact(cents, item.getQuantity()));
+            }
+        }
+        if (missing == null) {
+            return total;
+        }
+
+        Map<UUID, Long> fetched = fetch(missing);
+        for (OrderCreateRequest.OrderItemRequest item : items) {
+            Long cents = fetched.get(item.getProductId());
+            if (cents != null) {
+                total = Math.addExact(total, Math.multiplyExact(cents, item.getQuantity()));
+            } else if (missing.contains(item.getProductId())) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Unknown product: " + item.getProductId());
+            }
+        }
+        return total;
+    }
+
+    private Map<UUID, Long> fetch(Set<UUID> productIds) {
+        List<PriceChange> changes = toChanges(productServiceClient.getPricesByIds(productIds));
+        priceCache.apply(changes);
+        Map<UUID, Long> prices = new HashMap<>(changes.size() * 2);
+        for (PriceChange change : changes) {
+            prices.put(change.productId(), change.priceCents());
+        }
+        return prices;
+    }
+
+    private List<PriceChange> toChanges(List<ProductServiceClient.ProductPrice> prices) {
+        List<PriceChange> changes = new ArrayList<>(prices.size());
+        for (ProductServiceClient.ProductPrice price : prices) {
+            if (price.getProductId() == null || price.getPrice() == null) {
+                log.warn("Skipping catalog price without product ID or price: {}", price.getProductId());
+                continue;
+            }
+            changes.add(PriceChange.of(price.getProductId(), price.getPrice(),
+                price.getPriceVersion() != null ? price.getPriceVersion() : 0L));
+        }
+        return changes;
+    }
+}
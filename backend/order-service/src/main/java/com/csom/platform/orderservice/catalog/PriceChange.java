@@ -0,0 +1,16 @@
+package com.csom.platform.orderservice.catalog;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.UUID;
+
+/**
+ * A product's price at a given price version, as published by product-service.
+ */
+public record PriceChange(UUID productId, long priceCents, long priceVersion) {
+
+    public static PriceChange of(UUID productId, BigDecimal price, long priceVersion) {
+        return new PriceChange(productId, price.setScale(2, RoundingMode.HALF_UP).unscaledValue().longValueExact(),
+            priceVersion);
+    }
+}
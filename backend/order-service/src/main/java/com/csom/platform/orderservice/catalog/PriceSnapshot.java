@@ -0,0 +1,167 @@
+package com.csom.platform.orderservice.catalog;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Immutable catalog prices (product ID to price in cents, plus the product's price version).
+ * Backed by an open-addressing table over primitive arrays so lookups do not allocate and
+ * readers never need a lock. Updates produce a new snapshot with the next snapshot version.
+ */
+public final class PriceSnapshot {
+
+    public static final long NOT_FOUND = -1;
+
+    private static final PriceSnapshot EMPTY = new Builder(0).build(0, Instant.EPOCH);
+
+    private final long[] mostSigBits;
+    private final long[] leastSigBits;
+    private final long[] priceCents;
+    private final long[] priceVersions;
+    private final int mask;
+    private final int size;
+    private final long version;
+    private final Instant updatedAt;
+
+    private PriceSnapshot(long[] mostSigBits, long[] leastSigBits, long[] priceCents, long[] priceVersions,
+                          int size, long version, Instant updatedAt) {
+        this.mostSigBits = mostSigBits;
+        this.leastSigBits = leastSigBits;
+        this.priceCents = priceCents;
+        this.priceVersions = priceVersions;
+        this.mask = priceCents.length - 1;
+        this.size = size;
+        this.version = version;
+        this.updatedAt = updatedAt;
+    }
+
+    public static PriceSnapshot empty() {
+        return EMPTY;
+    }
+
+    /**
+     * Returns a new snapshot with the given changes applied on top of this one. A change only
+     * replaces a price with an equal or lower price version, so replays and out-of-order
+     * deliveries never roll a price back.
+     */
+    public PriceSnapshot withChanges(Collection<PriceChange> changes, Instant updatedAt) {
+        Builder builder = new Builder(size + changes.size());
+        for (int i = 0; i < priceCents.length; i++) {
+            if (mostSigBits[i] != 0 || leastSigBits[i] != 0) {
+                builder.put(mostSigBits[i], leastSigBits[i], priceCents[i], priceVersions[i]);
+            }
+        }
+        for (PriceChange change : changes) {
+            builder.put(change.productId().getMostSignificantBits(), change.productId().getLeastSignificantBits(),
+                change.priceCents(), change.priceVersion());
+        }
+        return builder.build(version + 1, updatedAt);
+    }
+
+    /**
+     * Returns a new snapshot holding only the loaded prices, so products dropped from the catalog
+     * are evicted. Products in {@code retained} (changed while the load was running) also keep
+     * their entry from this snapshot; where both have one, the higher price version wins.
+     */
+    public PriceSnapshot reloaded(Collection<PriceChange> loaded, Set<UUID> retained, Instant updatedAt) {
+        Builder builder = new Builder(loaded.size() + retained.size());
+        for (UUID productId : retained) {
+            int slot = indexOf(productId.getMostSignificantBits(), productId.getLeastSignificantBits());
+            if (slot >= 0) {
+                builder.put(mostSigBits[slot], leastSigBits[slot], priceCents[slot], priceVersions[slot]);
+            }
+        }
+        for (PriceChange change : loaded) {
+            builder.put(change.productId().getMostSignificantBits(), change.productId().getLeastSignificantBits(),
+                change.priceCents(), change.priceVersion());
+        }
+        return builder.build(version + 1, updatedAt);
+    }
+
+    /**
+     * Price in cents, or {@link #NOT_FOUND} if the product is not in the snapshot.
+     */
+    public long getPriceCents(UUID productId) {
+        int slot = indexOf(productId.getMostSignificantBits(), productId.getLeastSignificantBits());
+        return slot >= 0 ? priceCents[slot] : NOT_FOUND;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public Instant getUpdatedAt() {
+        return updatedAt;
+    }
+
+    private int indexOf(long msb, long lsb) {
+        int slot = slot(msb, lsb, mask);
+        while (mostSigBits[slot] != 0 || leastSigBits[slot] != 0) {
+            if (mostSigBits[slot] == msb && leastSigBits[slot] == lsb) {
+                return slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+
+    private static int slot(long msb, long lsb, int mask) {
+        long h = msb ^ lsb;
+        h ^= (h >>> 33);
+        h *= 0xff51afd7ed558ccdL;
+        h ^= (h >>> 33);
+        return (int) h & mask;
+    }
+
+    private static final class Builder {
+        private final long[] mostSigBits;
+        private final long[] leastSigBits;
+        private final long[] priceCents;
+        private final long[] priceVersions;
+        private final int mask;
+        private int size;
+
+        Builder(int expectedSize) {
+            // Keep the load factor at or below 0.5 so probe sequences stay short
+            int capacity = Integer.highestOneBit(Math.max(expectedSize, 1) * 2 - 1) << 1;
+            this.mostSigBits = new long[capacity];
+            this.leastSigBits = new long[capacity];
+            this.priceCents = new long[capacity];
+            this.priceVersions = new long[capacity];
+            this.mask = capacity - 1;
+        }
+
+        void put(long msb, long lsb, long cents, long priceVersion) {
+            if (msb == 0 && lsb == 0) {
+                // The nil UUID marks empty slots and is never a valid product ID
+                return;
+            }
+            int slot = slot(msb, lsb, mask);
+            while (mostSigBits[slot] != 0 || leastSigBits[slot] != 0) {
+                if (mostSigBits[slot] == msb && leastSigBits[slot] == lsb) {
+                    if (priceVersion >= priceVersions[slot]) {
+                        priceCents[slot] = cents;
+                        priceVersions[slot] = priceVersion;
+                    }
+                    return;
+                }
+                slot = (slot + 1) & mask;
+            }
+            mostSigBits[slot] = msb;
+            leastSigBits[slot] = lsb;
+            priceCents[slot] = cents;
+            priceVersions[slot] = priceVersion;
+            size++;
+        }
+
+        PriceSnapshot build(long version, Instant updatedAt) {
+            return new PriceSnapshot(mostSigBits, leastSigBits, priceCents, priceVersions, size, version, updatedAt);
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package com.csom.platform.orderservice.catalog;
+
+import com.azure.messaging.servicebus.ServiceBusClientBuilder;
+import com.azure.messaging.servicebus.ServiceBusErrorContext;
+import com.azure.messaging.servicebus.ServiceBusReceivedMessage;
+import com.azure.messaging.servicebus.ServiceBusReceivedMessageContext;
+import com.azure.messaging.servicebus.ServiceBusProcessorClient;
+import com.azure.messaging.servicebus.administration.ServiceBusAdministrationClient;
+import com.azure.messaging.servicebus.administration.ServiceBusAdministrationClientBuilder;
+import com.azure.messaging.servicebus.administration.models.CorrelationRuleFilter;
+import com.azure.messaging.servicebus.administration.models.CreateRuleOptions;
+import com.azure.messaging.servicebus.administration.models.CreateSubscriptionOptions;
+import com.azure.messaging.servicebus.models.ServiceBusReceiveMode;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Applies product price changes to the {@link CatalogPriceCache}. Every replica needs every
+ * change, so each pod reads the product-events topic through its own short-lived subscription
+ * that only passes {@code PRODUCT_PRICE_CHANGED} messages. Started by {@link CatalogPricing}
+ * before it loads the cache, so no change published during the load is missed.
+ */
+@Component
+@ConditionalOnProperty(name = "orders.catalog.enabled", havingValue = "true")
+@Slf4j
+public class ServiceBusCatalogPriceRelay {
+
+    private static final String SUBJECT = "PRODUCT_PRICE_CHANGED";
+
+    private final CatalogPriceCache priceCache;
+    private final ObjectMapper objectMapper;
+    private final String connectionString;
+    private final String topicName;
+    private final String subscriptionName;
+    private final Timer lag;
+    private ServiceBusProcessorClient processorClient;
+
+    public ServiceBusCatalogPriceRelay(
+            CatalogPriceCache priceCache,
+            ObjectMapper objectMapper,
+            MeterRegistry meterRegistry,
+            @Value("${azure.servicebus.connection-string}") String connectionString,
+            @Value("${orders.catalog.topic:product-events}") String topicName,
+            @Value("${orders.catalog.subscription-name:catalog-prices-${HOSTNAME:local}}") String subscriptionName) {
+        this.priceCache = priceCache;
+        this.objectMapper = objectMapper;
+        this.connectionString = connectionString;
+        this.topicName = topicName;
+        this.subscriptionName = subscriptionName;
+        this.lag = Timer.builder("orders.catalog.prices.lag")
+            .description("Time from a price change being published to it reaching the price cache")
+            .register(meterRegistry);
+    }
+
+    /**
+     * Creates the subscription if needed and starts receiving. Changes published from here on
+     * reach the cache, including ones that race with the initial load.
+     */
+    public void start() {
+        ServiceBusAdministrationClient adminClient = new ServiceBusAdministrationClientBuilder()
+            .connectionString(connectionString)
+            .buildClient();
+        if (!adminClient.getSubscriptionExists(topicName, subscriptionName)) {
+            // Per-pod subscriptions clean themselves up once the pod is gone
+            adminClient.createSubscription(topicName, subscriptionName, "price-changes",
+                new CreateSubscriptionOptions()
+                    .setAutoDeleteOnIdle(Duration.ofHours(1))
+                    .setDefaultMessageTimeToLive(Duration.ofHours(1)),
+                new CreateRuleOptions().setFilter(new CorrelationRuleFilter().setLabel(SUBJECT)));
+            log.info("Created catalog price subscription {}/{}", topicName, subscriptionName);
+        }
+
+        processorClient = new ServiceBusClientBuilder()
+            .connectionString(connectionString)
+            .processor()
+            .topicName(topicName)
+            .subscriptionName(subscriptionName)
+            .receiveMode(ServiceBusReceiveMode.RECEIVE_AND_DELETE)
+            .prefetchCount(500)
+            .maxConcurrentCalls(4)
+            .processMessage(this::onMessage)
+            .processError(this::onError)
+            .buildProcessorClient();
+        processorClient.start();
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (processorClient != null) {
+            processorClient.close();
+        }
+    }
+
+    private void onMessage(ServiceBusReceivedMessageContext context) {
+        ServiceBusReceivedMessage message = context.getMessage();
+        try {
+            JsonNode body = objectMapper.readTree(message.getBody().toBytes());
+            priceCache.apply(List.of(PriceChange.of(
+                UUID.fromString(body.path("productId").asText()),
+                new BigDecimal(body.path("price").asText()),
+                body.path("priceVersion").asLong())));
+            OffsetDateTime enqueuedAt = message.getEnqueuedTime();
+            if (enqueuedAt != null) {
+                lag.record(Duration.between(enqueuedAt, OffsetDateTime.now()));
+            }
+        } catch (Exception e) {
+            log.warn("Skipping unreadable price change {} on catalog subscription", message.getMessageId(), e);
+        }
+    }
+
+    private void onError(ServiceBusErrorContext context) {
+        log.warn("Catalog price subscription error from {}", context.getErrorSource(), context.getException());
+    }
+}
@@ -1,10 +1,15 @@
 package com.csom.platform.orderservice.client;
 
 import org.springframework.cloud.openfeign.FeignClient;
+import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestParam;
 
+import java.math.BigDecimal;
+import java.util.Collection;
 import java.util.List;
+import java.util.UUID;
 
 @FeignClient(name = "product-service", url = "${product.service.url:http://product-service}")
 public interface ProductServiceClient {
@@ -12,6 +17,13 @@ public interface ProductServiceClient {
     @PostMapping("/api/v1/products/validate")
     ValidationResponse validateProducts(@RequestBody ValidationRequest request);
 
+    // Current prices, one page of the catalog ordered by product ID
+    @GetMapping("/api/v1/products/prices")
+    List<ProductPrice> getPrices(@RequestParam("page") int page, @RequestParam("size") int size);
+
+    @GetMapping("/api/v1/products/prices")
+    List<ProductPrice> getPricesByIds(@RequestParam("ids") Collection<UUID> ids);
+
     class ValidationRequest {
         private List<ProductItem> items;
 
@@ -41,5 +53,18 @@ public interface ProductServiceClient {
         public String getMessage() { return message; }
         public void setMessage(String message) { this.message = message; }
     }
-}
 
+    class ProductPrice {
+        private UUID productId;
+        private BigDecimal price;
+        private Long priceVersion;
+
+        // Getters and setters
+        public UUID getProductId() { return productId; }
+        public void setProductId(UUID productId) { this.productId = productId; }
+        public BigDecimal getPrice() { return price; }
+        public void setPrice(BigDecimal price) { this.price = price; }
+        public Long getPriceVersion() { return priceVersion; }
+        public void setPriceVersion(Long priceVersion) { this.priceVersion = priceVersion; }
+    }
+}
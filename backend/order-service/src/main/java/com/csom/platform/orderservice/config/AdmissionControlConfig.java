@@ -0,0 +1,86 @@
+package com.csom.platform.orderservice.config;
+
+import com.csom.platform.orderservice.admission.AdaptiveConcurrencyLimiter;
+import com.csom.platform.orderservice.admission.AdmissionControlFilter;
+import com.csom.platform.orderservice.admission.LocalTokenBucketRateLimiter;
+import com.csom.platform.orderservice.admission.RateLimiter;
+import com.csom.platform.orderservice.admission.RedisTokenBucketRateLimiter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.time.Duration;
+
+@Configuration
+public class AdmissionControlConfig {
+
+    @Value("${orders.admission.rate-limit.enabled:true}")
+    private boolean rateLimitEnabled;
+
+    @Value("${orders.admission.rate-limit.backend:local}")
+    private String rateLimitBackend;
+
+    @Value("${orders.admission.rate-limit.capacity:50}")
+    private int capacity;
+
+    @Value("${orders.admission.rate-limit.refill-per-second:20}")
+    private double refillPerSecond;
+
+    @Value("${orders.admission.rate-limit.redis-cooldown:PT30S}")
+    private Duration redisCooldown;
+
+    @Value("${orders.admission.rate-limit.max-keys:100000}")
+    private int maxKeys;
+
+    @Value("${orders.admission.concurrency.enabled:true}")
+    private boolean concurrencyEnabled;
+
+    @Value("${orders.admission.concurrency.initial-limit:50}")
+    private int initialLimit;
+
+    @Value("${orders.admission.concurrency.min-limit:10}")
+    private int minLimit;
+
+    @Value("${orders.admission.concurrency.max-limit:200}")
+    private int maxLimit;
+
+    @Value("${orders.admission.concurrency.latency-threshold:PT0.5S}")
+    private Duration latencyThreshold;
+
+    @Value("${orders.admission.concurrency.backoff-ratio:0.9}")
+    private double backoffRatio;
+
+    @Bean
+    public AdmissionControlFilter admissionControlFilter(ObjectProvider<StringRedisTemplate> redisTemplate,
+                                                         MeterRegistry meterRegistry) {
+        RateLimiter rateLimiter = null;
+        if (rateLimitEnabled) {
+            rateLimiter = new LocalTokenBucketRateLimiter(capacity, refillPerSecond, maxKeys);
+            if ("redis".equalsIgnoreCase(rateLimitBackend)) {
+                rateLimiter = new RedisTokenBucketRateLimiter(
+                    redisTemplate.getObject(), capacity, refillPerSecond, rateLimiter, redisCooldown);
+            }
+        }
+        AdaptiveConcurrencyLimiter concurrencyLimiter = concurrencyEnabled
+            ? new AdaptiveConcurrencyLimiter(initialLimit, minLimit, maxLimit, latencyThreshold.toNanos(), backoffRatio)
+            : null;
+        Duration refillOneToken = Duration.ofNanos((long) Math.ceil(1_000_000_000d / refillPerSecond));
+        return new AdmissionControlFilter(rateLimiter, concurrencyLimiter, refillOneToken, meterRegistry);
+    }
+
+    /**
+     * The filter needs the authenticated JWT, so it is added to the security chain
+     * in {@link SecurityConfig} rather than registered as a plain servlet filter.
+     */
+    @Bean
+    public FilterRegistrationBean<AdmissionControlFilter> admissionControlFilterRegistration(
+            AdmissionControlFilter admissionControlFilter) {
+        FilterRegistrationBean<AdmissionControlFilter> registration = new FilterRegistrationBean<>(admissionControlFilter);
+        registration.setEnabled(false);
+        return registration;
+    }
+}
@@ -0,0 +1,130 @@
+package com.csom.platform.orderservice.config;
+
+import feign.RequestInterceptor;
+import feign.RequestTemplate;
+import feign.codec.Encoder;
+import feign.form.spring.SpringFormEncoder;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.httpcomponents.hc5.PoolingHttpClientConnectionManagerMetricsBinder;
+import org.apache.hc.client5.http.impl.DefaultConnectionKeepAliveStrategy;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.io.HttpClientConnectionManager;
+import org.apache.hc.client5.http.protocol.HttpClientContext;
+import org.apache.hc.core5.http.EndpointDetails;
+import org.apache.hc.core5.http.HttpHeaders;
+import org.apache.hc.core5.util.TimeValue;
+import org.springframework.beans.factory.ObjectFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.http.HttpMessageConverters;
+import org.springframework.cloud.openfeign.clientconfig.HttpClient5FeignConfiguration.HttpClientBuilderCustomizer;
+import org.springframework.cloud.openfeign.support.FeignEncoderProperties;
+import org.springframework.cloud.openfeign.support.HttpMessageConverterCustomizer;
+import org.springframework.cloud.openfeign.support.SpringEncoder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.lang.reflect.Type;
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Transport tuning for the Feign service clients. The client itself (pooled Apache HttpClient 5,
+ * or the JDK client with HTTP/2) and compression are selected with the
+ * {@code spring.cloud.openfeign.*} properties in application.yml; this class adds:
+ * <ul>
+ *   <li>a keep-alive shorter than the servers' idle timeout, so pooled connections are not
+ *       reused just as the server closes them</li>
+ *   <li>pool and connection-reuse metrics for HttpClient 5</li>
+ *   <li>optional Smile (binary JSON) bodies for the clients listed in
+ *       {@code orders.clients.compact-encoding.clients}; responses are decoded by content type,
+ *       so a server without Smile support simply keeps answering JSON</li>
+ * </ul>
+ */
+@Configuration
+public class FeignTransportConfig {
+
+    private static final String SMILE = "application/x-jackson-smile";
+
+    @Value("${orders.clients.keep-alive:PT15S}")
+    private Duration keepAlive;
+
+    @Value("${orders.clients.compact-encoding.clients:}")
+    private Set<String> compactEncodingClients;
+
+    @Bean
+    public HttpClientBuilderCustomizer feignHttpClientCustomizer(MeterRegistry meterRegistry) {
+        ConcurrentHashMap<String, Counter> newConnections = new ConcurrentHashMap<>();
+        ConcurrentHashMap<String, Counter> reusedConnections = new ConcurrentHashMap<>();
+        return builder -> builder
+            .setKeepAliveStrategy((response, context) -> {
+                // Honour a shorter Keep-Alive advertised by the server
+                TimeValue advertised = DefaultConnectionKeepAliveStrategy.INSTANCE.getKeepAliveDuration(response, context);
+                TimeValue max = TimeValue.of(keepAlive);
+                return TimeValue.isPositive(advertised) && advertised.compareTo(max) < 0 ? advertised : max;
+            })
+            .addResponseInterceptorLast((response, entity, context) -> {
+                // The first exchange on a connection paid for its setup; later ones reused it
+                HttpClientContext clientContext = HttpClientContext.adapt(context);
+                EndpointDetails endpoint = clientContext.getEndpointDetails();
+                if (endpoint == null || clientContext.getHttpRoute() == null) {
+                    return;
+                }
+                String host = clientContext.getHttpRoute().getTargetHost().getHostName();
+                boolean reused = endpoint.getRequestCount() > 1;
+                (reused ? reusedConnections : newConnections)
+                    .computeIfAbsent(host, h -> Counter.builder("orders.clients.requests")
+                        .description("Outbound service client requests by connection reuse")
+                        .tag("host", h)
+                        .tag("connection", reused ? "reused" : "new")
+                        .register(meterRegistry))
+                    .increment();
+            });
+    }
+
+    @Bean
+    public MeterBinder feignConnectionPoolMetrics(ObjectProvider<HttpClientConnectionManager> connectionManager) {
+        return registry -> {
+            if (connectionManager.getIfAvailable() instanceof PoolingHttpClientConnectionManager pool) {
+                new PoolingHttpClientConnectionManagerMetricsBinder(pool, "feign").bindTo(registry);
+            }
+        };
+    }
+
+    /**
+     * The default Spring encoder, but with a Smile content type for compact-encoding clients,
+     * which makes it pick the Smile message converter.
+     */
+    @Bean
+    public Encoder feignEncoder(ObjectFactory<HttpMessageConverters> messageConverters,
+                                FeignEncoderProperties encoderProperties,
+                                ObjectProvider<HttpMessageConverterCustomizer> customizers) {
+        Encoder delegate = new SpringEncoder(new SpringFormEncoder(), messageConverters, encoderProperties, customizers);
+        return (Object object, Type bodyType, RequestTemplate template) -> {
+            if (object != null && usesCompactEncoding(template)) {
+                template.removeHeader(HttpHeaders.CONTENT_TYPE);
+                template.header(HttpHeaders.CONTENT_TYPE, SMILE);
+            }
+            delegate.encode(object, bodyType, template);
+        };
+    }
+
+    @Bean
+    public RequestInterceptor compactEncodingAcceptInterceptor() {
+        return template -> {
+            if (usesCompactEncoding(template)) {
+                template.removeHeader(HttpHeaders.ACCEPT);
+                template.header(HttpHeaders.ACCEPT, SMILE, "application/json;q=0.9");
+            }
+        };
+    }
+
+    private boolean usesCompactEncoding(RequestTemplate template) {
+        return !compactEncodingClients.isEmpty()
+            && template.feignTarget() != null
+            && compactEncodingClients.contains(template.feignTarget().name());
+    }
+}
@@ -0,0 +1,31 @@
+package com.csom.platform.orderservice.config;
+
+import com.csom.platform.orderservice.messaging.inbound.InMemoryInboundBrokerFactory;
+import com.csom.platform.orderservice.messaging.inbound.InboundBrokerFactory;
+import com.csom.platform.orderservice.messaging.inbound.ServiceBusInboundBrokerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Broker for {@link com.csom.platform.orderservice.messaging.inbound.InboundMessagingRunner};
+ * only created when inbound consumption is enabled, like the runner itself.
+ */
+@Configuration
+@ConditionalOnProperty(name = "orders.inbound.enabled", havingValue = "true")
+public class InboundMessagingConfig {
+
+    @Bean
+    @ConditionalOnProperty(name = "orders.inbound.broker", havingValue = "servicebus", matchIfMissing = true)
+    public InboundBrokerFactory serviceBusInboundBrokerFactory(
+            @Value("${azure.servicebus.connection-string}") String connectionString) {
+        return new ServiceBusInboundBrokerFactory(connectionString);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "orders.inbound.broker", havingValue = "in-memory")
+    public InMemoryInboundBrokerFactory inMemoryInboundBrokerFactory() {
+        return new InMemoryInboundBrokerFactory();
+    }
+}
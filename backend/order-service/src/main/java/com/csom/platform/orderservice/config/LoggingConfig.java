@@ -0,0 +1,50 @@
+package com.csom.platform.orderservice.config;
+
+import com.csom.platform.orderservice.logging.TraceIdCallableInterceptor;
+import com.csom.platform.orderservice.logging.TraceIdFilter;
+import feign.RequestInterceptor;
+import org.slf4j.MDC;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Trace-ID correlation for the JSON logs configured in log4j2-spring.xml.
+ */
+@Configuration
+public class LoggingConfig implements WebMvcConfigurer {
+
+    /**
+     * Ahead of the security chain, so authentication and admission logs carry the trace ID too.
+     */
+    @Bean
+    public FilterRegistrationBean<TraceIdFilter> traceIdFilterRegistration() {
+        FilterRegistrationBean<TraceIdFilter> registration = new FilterRegistrationBean<>(new TraceIdFilter());
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registration;
+    }
+
+    /**
+     * Async handlers run on a task executor thread; give it the request's trace ID.
+     */
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        configurer.registerCallableInterceptors(new TraceIdCallableInterceptor());
+    }
+
+    /**
+     * Continues the current trace on calls to other services.
+     */
+    @Bean
+    public RequestInterceptor traceparentRequestInterceptor() {
+        return template -> {
+            String traceId = MDC.get(TraceIdFilter.MDC_KEY);
+            if (traceId != null) {
+                template.header(TraceIdFilter.TRACEPARENT, TraceIdFilter.traceparent(traceId));
+            }
+        };
+    }
+}
@@ -0,0 +1,49 @@
+package com.csom.platform.orderservice.controller;
+
+import com.csom.platform.orderservice.dto.OrderBulkStatusRequest;
+import com.csom.platform.orderservice.dto.OrderBulkStatusResponse;
+import com.csom.platform.orderservice.service.OrderBulkStatusService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.UUID;
+
+/**
+ * Bulk status changes for fulfillment integrations, across customers (requires {@code orders.fulfillment}).
+ */
+@RestController
+@RequestMapping("/api/v1/orders/bulk")
+@RequiredArgsConstructor
+public class OrderBulkStatusController {
+
+    private final OrderBulkStatusService orderBulkStatusService;
+
+    @PostMapping("/status")
+    public ResponseEntity<OrderBulkStatusResponse> transitionStatus(
+            @Valid @RequestBody OrderBulkStatusRequest request,
+            @AuthenticationPrincipal Jwt jwt) {
+        return ResponseEntity.ok(orderBulkStatusService.transitionStatus(request, callerId(jwt)));
+    }
+
+    /**
+     * The calling application's client ID (Entra v2 azp, v1 appid), recorded as changed_by in status history.
+     */
+    private UUID callerId(Jwt jwt) {
+        String clientId = jwt.getClaimAsString("azp");
+        if (clientId == null) {
+            clientId = jwt.getClaimAsString("appid");
+        }
+        try {
+            return clientId != null ? UUID.fromString(clientId) : null;
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+}
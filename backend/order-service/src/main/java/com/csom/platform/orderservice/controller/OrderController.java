@@ -2,14 +2,22 @@ package com.csom.platform.orderservice.controller;
 
 import com.csom.platform.orderservice.dto.OrderCreateRequest;
 import com.csom.platform.orderservice.dto.OrderResponse;
+import com.csom.platform.orderservice.dto.OrderStatsResponse;
 import com.csom.platform.orderservice.service.OrderService;
+import com.csom.platform.orderservice.streaming.OrderStreamHub;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ProblemDetail;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.oauth2.jwt.Jwt;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.List;
 import java.util.UUID;
@@ -20,6 +28,7 @@ import java.util.UUID;
 public class OrderController {
 
     private final OrderService orderService;
+    private final OrderStreamHub orderStreamHub;
 
     @PostMapping
     public ResponseEntity<OrderResponse> createOrder(
@@ -33,10 +42,20 @@ public class OrderController {
     @GetMapping("/{id}")
     public ResponseEntity<OrderResponse> getOrder(
             @PathVariable UUID id,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
             @AuthenticationPrincipal Jwt jwt) {
         String userId = jwt.getClaimAsString("sub");
+        // The ETag is computed before the body is loaded, so a concurrent update can only make
+        // the body newer than its tag, which forces a refetch on the next poll rather than a miss
+        String etag = orderService.getOrderETag(id, userId);
+        if (etag != null && matchesETag(ifNoneMatch, etag)) {
+            return notModified(etag);
+        }
         OrderResponse order = orderService.getOrder(id, userId);
-        return ResponseEntity.ok(order);
+        return ResponseEntity.ok()
+            .eTag(etag)
+            .cacheControl(CacheControl.noCache().cachePrivate())
+            .body(order);
     }
 
     @GetMapping
@@ -44,10 +63,34 @@ public class OrderController {
             @RequestParam(required = false) String status,
             @RequestParam(required = false) Integer page,
             @RequestParam(required = false) Integer size,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
             @AuthenticationPrincipal Jwt jwt) {
         String userId = jwt.getClaimAsString("sub");
+        String etag = orderService.getOrdersETag(userId, status, page, size);
+        if (matchesETag(ifNoneMatch, etag)) {
+            return notModified(etag);
+        }
         List<OrderResponse> orders = orderService.getOrders(userId, status, page, size);
-        return ResponseEntity.ok(orders);
+        return ResponseEntity.ok()
+            .eTag(etag)
+            .cacheControl(CacheControl.noCache().cachePrivate())
+            .body(orders);
+    }
+
+    @GetMapping("/stats")
+    public ResponseEntity<OrderStatsResponse> getOrderStats(@AuthenticationPrincipal Jwt jwt) {
+        String userId = jwt.getClaimAsString("sub");
+        return ResponseEntity.ok()
+            .cacheControl(CacheControl.noCache().cachePrivate())
+            .body(orderService.getOrderStats(userId));
+    }
+
+    @GetMapping(path = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamOrders(
+            @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId,
+            @AuthenticationPrincipal Jwt jwt) {
+        String userId = jwt.getClaimAsString("sub");
+        return orderStreamHub.subscribe(UUID.fromString(userId), parseLastEventId(lastEventId));
     }
 
     @PutMapping("/{id}/status")
@@ -68,5 +111,50 @@ public class OrderController {
         orderService.deleteOrder(id, userId);
         return ResponseEntity.noContent().build();
     }
-}
 
+    /**
+     * A concurrent update to the same order won the version check and this transaction rolled
+     * back; the client should reload the order and retry.
+     */
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<ProblemDetail> handleConcurrentUpdate(OptimisticLockingFailureException e) {
+        return ResponseEntity.status(HttpStatus.CONFLICT)
+            .body(ProblemDetail.forStatusAndDetail(HttpStatus.CONFLICT,
+                "The order was changed by another request; reload it and retry"));
+    }
+
+    private <T> ResponseEntity<T> notModified(String etag) {
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+            .eTag(etag)
+            .cacheControl(CacheControl.noCache().cachePrivate())
+            .build();
+    }
+
+    private boolean matchesETag(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        // If-None-Match uses weak comparison, and compression may have weakened our tag in transit
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+            if (tag.equals("*") || tag.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private Long parseLastEventId(String lastEventId) {
+        if (lastEventId == null || lastEventId.isBlank()) {
+            return null;
+        }
+        try {
+            return Long.parseLong(lastEventId.trim());
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
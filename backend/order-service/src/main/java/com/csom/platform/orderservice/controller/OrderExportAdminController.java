@@ -0,0 +1,136 @@
+package com.csom.platform.orderservice.controller;
+
+import com.csom.platform.orderservice.export.OrderCsvExporter;
+import com.csom.platform.orderservice.export.OrderExportJobs;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.async.WebAsyncTask;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.OutputStream;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Bulk order exports for finance reconciliation: orders joined with their items, created in
+ * {@code [from, to)}, as CSV.
+ */
+@RestController
+@RequestMapping("/api/v1/admin/orders")
+@Slf4j
+public class OrderExportAdminController {
+
+    private final OrderCsvExporter exporter;
+    private final OrderExportJobs exportJobs;
+    private final long streamTimeoutMillis;
+
+    public OrderExportAdminController(
+            OrderCsvExporter exporter,
+            OrderExportJobs exportJobs,
+            @Value("${orders.export.stream-timeout:PT4H}") Duration streamTimeout) {
+        this.exporter = exporter;
+        this.exportJobs = exportJobs;
+        this.streamTimeoutMillis = streamTimeout.toMillis();
+    }
+
+    /**
+     * Streams the export in the response body, on an async dispatch with its own timeout
+     * ({@code orders.export.stream-timeout}) rather than the application-wide async timeout.
+     * On timeout or error the export is cancelled, so it stops writing to the finished response.
+     * The export slot is released once, by whichever of the task and the async request ends first,
+     * so it is not lost if the task never runs.
+     */
+    @GetMapping("/export")
+    public WebAsyncTask<Void> export(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(defaultValue = "false") boolean gzip,
+            HttpServletResponse response) {
+        validateRange(from, to);
+        OrderCsvExporter.ExportPermit permit = exporter.acquirePermit();
+        AtomicBoolean released = new AtomicBoolean();
+        Runnable releasePermit = () -> {
+            if (released.compareAndSet(false, true)) {
+                permit.close();
+            }
+        };
+        AtomicBoolean cancelled = new AtomicBoolean();
+        String fileName = "orders-" + from.toLocalDate() + "-" + to.toLocalDate() + (gzip ? ".csv.gz" : ".csv");
+        response.setStatus(HttpStatus.OK.value());
+        response.setContentType(gzip ? MediaType.APPLICATION_OCTET_STREAM_VALUE : "text/csv");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + fileName + "\"");
+
+        WebAsyncTask<Void> task = new WebAsyncTask<>(streamTimeoutMillis, () -> {
+            try {
+                if (cancelled.get()) {
+                    return null;
+                }
+                OutputStream body = response.getOutputStream();
+                if (gzip) {
+                    // finish() rather than close(): a cancelled export must not write the gzip trailer
+                    GZIPOutputStream out = new GZIPOutputStream(body, 64 * 1024);
+                    exporter.export(from, to, out, cancelled::get);
+                    out.finish();
+                } else {
+                    exporter.export(from, to, body, cancelled::get);
+                }
+                body.flush();
+            } catch (SQLException e) {
+                throw new IllegalStateException("Order export failed", e);
+            } finally {
+                releasePermit.run();
+            }
+            return null;
+        });
+        task.onTimeout(() -> {
+            cancelled.set(true);
+            log.warn("Order export {} to {} timed out after {} ms", from, to, streamTimeoutMillis);
+            return null;
+        });
+        task.onError(() -> {
+            cancelled.set(true);
+            releasePermit.run();
+            return null;
+        });
+        // Also runs when the executor rejected the task, which then never releases the permit itself
+        task.onCompletion(() -> {
+            cancelled.set(true);
+            releasePermit.run();
+        });
+        return task;
+    }
+
+    /**
+     * Writes the export to the export directory in the background.
+     */
+    @PostMapping("/exports")
+    public ResponseEntity<Map<String, String>> startExport(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(defaultValue = "true") boolean gzip) {
+        validateRange(from, to);
+        String file = exportJobs.start(from, to, gzip);
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(Map.of("file", file));
+    }
+
+    private static void validateRange(LocalDateTime from, LocalDateTime to) {
+        if (!from.isBefore(to)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "from must be before to");
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.csom.platform.orderservice.controller;
+
+import com.csom.platform.orderservice.projection.OrderSummaryProjector;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/v1/admin/order-summaries")
+@RequiredArgsConstructor
+public class OrderProjectionAdminController {
+
+    private final OrderSummaryProjector orderSummaryProjector;
+
+    /**
+     * Starts a rebuild in the background; a full replay can outlive any HTTP timeout.
+     */
+    @PostMapping("/rebuild")
+    public ResponseEntity<Map<String, Boolean>> rebuild() {
+        if (!orderSummaryProjector.startRebuild()) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "Order summary rebuild already running");
+        }
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(Map.of("rebuilding", true));
+    }
+
+    @GetMapping("/rebuild")
+    public Map<String, Boolean> rebuildStatus() {
+        return Map.of("rebuilding", orderSummaryProjector.isRebuilding());
+    }
+}
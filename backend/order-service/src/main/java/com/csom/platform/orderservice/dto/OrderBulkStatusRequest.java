@@ -0,0 +1,37 @@
+package com.csom.platform.orderservice.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Moves many orders to one status. Exactly one of {@code orderIds} or {@code filter} selects the orders.
+ */
+@Data
+public class OrderBulkStatusRequest {
+
+    @NotBlank(message = "Target status is required")
+    private String status;
+
+    @Size(max = 10000, message = "At most 10000 order IDs per request")
+    private List<UUID> orderIds;
+
+    @Valid
+    private Filter filter;
+
+    @Size(max = 500, message = "Notes cannot exceed 500 characters")
+    private String notes;
+
+    @Data
+    public static class Filter {
+        /** Defaults to every status the target status may be reached from. */
+        private List<String> currentStatuses;
+        private LocalDateTime createdAfter;
+        private LocalDateTime createdBefore;
+    }
+}
@@ -0,0 +1,16 @@
+package com.csom.platform.orderservice.dto;
+
+import lombok.Data;
+
+import java.util.List;
+import java.util.UUID;
+
+@Data
+public class OrderBulkStatusResponse {
+    private String status;
+    private Integer updatedCount;
+    /** Requested IDs that were not updated: unknown, deleted or not in an allowed current status. */
+    private List<UUID> skippedOrderIds;
+    /** False if a filter matched more orders than one request may update; repeat the request to continue. */
+    private Boolean complete;
+}
@@ -0,0 +1,21 @@
+package com.csom.platform.orderservice.dto;
+
+import lombok.Data;
+
+import java.util.Map;
+import java.util.UUID;
+
+@Data
+public class OrderStatsResponse {
+    private UUID customerId;
+    private Long totalOrders;
+    /** Sum over orders that were paid and not cancelled or refunded. */
+    private Double lifetimeSpend;
+    private Map<String, StatusStats> byStatus;
+
+    @Data
+    public static class StatusStats {
+        private Long orderCount;
+        private Double totalAmount;
+    }
+}
@@ -1,5 +1,8 @@
 package com.csom.platform.orderservice.entity;
 
+import java.util.EnumSet;
+import java.util.Set;
+
 public enum OrderStatus {
     PENDING,
     CONFIRMED,
@@ -7,6 +10,20 @@ public enum OrderStatus {
     SHIPPED,
     DELIVERED,
     CANCELLED,
-    REFUNDED
-}
+    REFUNDED;
 
+    /**
+     * Statuses an order may be moved to this status from by a fulfillment update.
+     * PENDING and CONFIRMED are only set by the order and payment flows.
+     */
+    public Set<OrderStatus> fulfillmentPredecessors() {
+        return switch (this) {
+            case PROCESSING -> EnumSet.of(CONFIRMED);
+            case SHIPPED -> EnumSet.of(CONFIRMED, PROCESSING);
+            case DELIVERED -> EnumSet.of(SHIPPED);
+            case CANCELLED -> EnumSet.of(PENDING, CONFIRMED, PROCESSING);
+            case REFUNDED -> EnumSet.of(SHIPPED, DELIVERED);
+            default -> EnumSet.noneOf(OrderStatus.class);
+        };
+    }
+}
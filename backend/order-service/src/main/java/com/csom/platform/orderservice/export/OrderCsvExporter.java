@@ -0,0 +1,285 @@
+package com.csom.platform.orderservice.export;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+
+import javax.sql.DataSource;
+import java.io.BufferedWriter;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.Semaphore;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Streams orders joined with their items for a creation-date range as CSV, one line per item
+ * (orders without items get one line with empty item columns).
+ *
+ * <p>The last line is a trailer, {@code #complete,orders=<n>,rows=<n>}. An export that fails
+ * part-way ends with {@code #error} if the stream is still writable, and without a trailer
+ * otherwise, so a consumer can tell a truncated file from a complete one.
+ *
+ * <p>Rows come from a server-side cursor ({@code fetchSize} rows per round trip) in a read-only
+ * repeatable-read transaction, and each row is written straight to the output stream, so heap
+ * use does not depend on the size of the range. Runs against the read replica when
+ * {@code orders.export.replica.url} is set, through a small pool of its own, and against the
+ * primary otherwise. At most {@code max-concurrent} exports run at a time.
+ *
+ * <p>A caller can stop an export by setting its cancellation flag; the export then stops between
+ * rows with {@link ExportCancelledException} and writes nothing more to the stream.
+ */
+@Component
+@Slf4j
+public class OrderCsvExporter {
+
+    private static final String QUERY = """
+        SELECT o.id, o.customer_id, o.status, o.total_amount, o.created_at, o.updated_at, o.deleted,
+               i.product_id, i.quantity, i.price
+        FROM orders.orders o
+        LEFT JOIN orders.order_items i ON i.order_id = o.id
+        WHERE o.created_at >= ? AND o.created_at < ?
+        ORDER BY o.created_at, o.id
+        """;
+
+    private static final String HEADER =
+        "order_id,customer_id,status,total_amount,created_at,updated_at,deleted,product_id,quantity,price\n";
+
+    private final HikariDataSource replica;
+    private final DataSource dataSource;
+    private final String source;
+    private final int fetchSize;
+    private final long progressInterval;
+    private final Semaphore permits;
+    private final Counter exportedRows;
+
+    public OrderCsvExporter(
+            DataSource primary,
+            MeterRegistry meterRegistry,
+            @Value("${orders.export.replica.url:}") String replicaUrl,
+            @Value("${orders.export.replica.username:}") String replicaUsername,
+            @Value("${orders.export.replica.password:}") String replicaPassword,
+            @Value("${orders.export.fetch-size:10000}") int fetchSize,
+            @Value("${orders.export.max-concurrent:2}") int maxConcurrent,
+            @Value("${orders.export.progress-interval:100000}") long progressInterval) {
+        if (replicaUrl.isBlank()) {
+            this.replica = null;
+            this.dataSource = primary;
+            this.source = "primary";
+        } else {
+            HikariConfig config = new HikariConfig();
+            config.setPoolName("order-export-replica");
+            config.setJdbcUrl(replicaUrl);
+            config.setUsername(replicaUsername);
+            config.setPassword(replicaPassword);
+            config.setReadOnly(true);
+            config.setMaximumPoolSize(maxConcurrent);
+            config.setMinimumIdle(0);
+            this.replica = new HikariDataSource(config);
+            this.dataSource = replica;
+            this.source = "replica";
+        }
+        this.fetchSize = fetchSize;
+        this.progressInterval = progressInterval;
+        this.permits = new Semaphore(maxConcurrent);
+        this.exportedRows = Counter.builder("orders.export.rows")
+            .description("Order export lines written")
+            .tag("source", source)
+            .register(meterRegistry);
+        Gauge.builder("orders.export.active", permits, p -> maxConcurrent - p.availablePermits())
+            .description("Order exports in progress")
+            .register(meterRegistry);
+    }
+
+    @PreDestroy
+    public void close() {
+        if (replica != null) {
+            replica.close();
+        }
+    }
+
+    /**
+     * Reserves an export slot; the caller must close the permit when the export ends.
+     * Fails with 429 when {@code maxConcurrent} exports are already running.
+     */
+    public ExportPermit acquirePermit() {
+        if (!permits.tryAcquire()) {
+            throw new ResponseStatusException(HttpStatus.TOO_MANY_REQUESTS, "Too many order exports in progress");
+        }
+        return permits::release;
+    }
+
+    public ExportResult export(LocalDateTime from, LocalDateTime to, OutputStream out) throws IOException, SQLException {
+        return export(from, to, out, () -> false);
+    }
+
+    public ExportResult export(LocalDateTime from, LocalDateTime to, OutputStream out, BooleanSupplier cancelled)
+            throws IOException, SQLException {
+        long start = System.nanoTime();
+        CountingOutputStream counting = new CountingOutputStream(out);
+        Writer writer = new BufferedWriter(new OutputStreamWriter(counting, StandardCharsets.UTF_8), 64 * 1024);
+        long rows = 0;
+        long orders = 0;
+
+        log.info("Order export {} to {} started (source: {})", from, to, source);
+        try (Connection connection = dataSource.getConnection()) {
+            // PostgreSQL only streams with a cursor inside a transaction; repeatable read gives one snapshot
+            connection.setAutoCommit(false);
+            connection.setReadOnly(true);
+            connection.setTransactionIsolation(Connection.TRANSACTION_REPEATABLE_READ);
+            try (PreparedStatement statement = connection.prepareStatement(
+                    QUERY, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+                statement.setFetchSize(fetchSize);
+                statement.setObject(1, from);
+                statement.setObject(2, to);
+                writer.write(HEADER);
+                UUID previousOrder = null;
+                try (ResultSet rs = statement.executeQuery()) {
+                    while (rs.next()) {
+                        if (cancelled.getAsBoolean()) {
+                            throw new ExportCancelledException();
+                        }
+                        UUID orderId = rs.getObject(1, UUID.class);
+                        if (!orderId.equals(previousOrder)) {
+                            orders++;
+                            previousOrder = orderId;
+                        }
+                        writeRow(writer, rs);
+                        rows++;
+                        if (rows % progressInterval == 0) {
+                            exportedRows.increment(progressInterval);
+                            logProgress(rows, orders, counting.count, start);
+                        }
+                    }
+                }
+            } finally {
+                connection.rollback();
+                connection.setAutoCommit(true);
+            }
+        } catch (ExportCancelledException e) {
+            log.warn("Order export {} to {} cancelled after {} rows", from, to, rows);
+            throw e;
+        } catch (IOException | SQLException | RuntimeException e) {
+            writeErrorTrailer(writer);
+            throw e;
+        }
+        writer.write("#complete,orders=" + orders + ",rows=" + rows + "\n");
+        writer.flush();
+        exportedRows.increment(rows % progressInterval);
+
+        ExportResult result = new ExportResult(orders, rows, counting.count, Duration.ofNanos(System.nanoTime() - start));
+        log.info("Order export {} to {} finished: {} orders, {} rows, {} bytes in {} ms", from, to,
+            result.orders(), result.rows(), result.bytes(), result.elapsed().toMillis());
+        return result;
+    }
+
+    private static void writeErrorTrailer(Writer writer) {
+        try {
+            writer.write("#error\n");
+            writer.flush();
+        } catch (IOException ignored) {
+            // The stream itself failed; the missing trailer still marks the export as incomplete
+        }
+    }
+
+    private void logProgress(long rows, long orders, long bytes, long start) {
+        double seconds = (System.nanoTime() - start) / 1e9;
+        log.info("Order export progress: {} orders, {} rows, {} MB, {} rows/s",
+            orders, rows, bytes / (1024 * 1024), Math.round(rows / seconds));
+    }
+
+    private static void writeRow(Writer writer, ResultSet rs) throws SQLException, IOException {
+        writer.write(rs.getString(1));
+        writer.write(',');
+        writer.write(rs.getString(2));
+        writer.write(',');
+        writeQuoted(writer, rs.getString(3));
+        writer.write(',');
+        writeDecimal(writer, rs.getBigDecimal(4));
+        writer.write(',');
+        writer.write(Objects.toString(rs.getObject(5, LocalDateTime.class), ""));
+        writer.write(',');
+        writer.write(Objects.toString(rs.getObject(6, LocalDateTime.class), ""));
+        writer.write(',');
+        writer.write(rs.getBoolean(7) ? "true" : "false");
+        writer.write(',');
+        writer.write(Objects.toString(rs.getString(8), ""));
+        writer.write(',');
+        writer.write(Objects.toString(rs.getObject(9, Integer.class), ""));
+        writer.write(',');
+        writeDecimal(writer, rs.getBigDecimal(10));
+        writer.write('\n');
+    }
+
+    private static void writeDecimal(Writer writer, BigDecimal value) throws IOException {
+        if (value != null) {
+            writer.write(value.toPlainString());
+        }
+    }
+
+    private static void writeQuoted(Writer writer, String value) throws IOException {
+        if (value == null) {
+            return;
+        }
+        writer.write('"');
+        writer.write(value.replace("\"", "\"\""));
+        writer.write('"');
+    }
+
+    public interface ExportPermit extends AutoCloseable {
+        @Override
+        void close();
+    }
+
+    /**
+     * Thrown when an export is cancelled. Nothing, not even the error trailer, is written after it.
+     */
+    public static class ExportCancelledException extends RuntimeException {
+        public ExportCancelledException() {
+            super("Order export cancelled");
+        }
+    }
+
+    public record ExportResult(long orders, long rows, long bytes, Duration elapsed) {
+    }
+
+    private static final class CountingOutputStream extends FilterOutputStream {
+        private long count;
+
+        CountingOutputStream(OutputStream out) {
+            super(out);
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+            count += len;
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package com.csom.platform.orderservice.export;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Runs order exports in the background into {@code orders.export.directory}, a local stand-in
+ * for blob storage. Each export is written to a {@code .part} file and renamed on success, so
+ * readers of the directory only ever see complete files.
+ */
+@Component
+@Slf4j
+public class OrderExportJobs {
+
+    private static final DateTimeFormatter FILE_TIME = DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmss");
+
+    private final OrderCsvExporter exporter;
+    private final Path directory;
+    private final ExecutorService executor;
+
+    public OrderExportJobs(
+            OrderCsvExporter exporter,
+            @Value("${orders.export.directory:${java.io.tmpdir}/order-service-exports}") Path directory,
+            @Value("${orders.export.max-concurrent:2}") int maxConcurrent) {
+        this.exporter = exporter;
+        this.directory = directory;
+        this.executor = Executors.newFixedThreadPool(maxConcurrent, runnable -> {
+            Thread thread = new Thread(runnable, "order-export");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Starts an export and returns the name of the file it will produce.
+     */
+    public String start(LocalDateTime from, LocalDateTime to, boolean gzip) {
+        OrderCsvExporter.ExportPermit permit = exporter.acquirePermit();
+        // The random suffix keeps identical requests in the same second from sharing a file
+        String fileName = "orders-" + FILE_TIME.format(from) + "-" + FILE_TIME.format(to) + "-"
+            + FILE_TIME.format(LocalDateTime.now()) + "-" + UUID.randomUUID().toString().substring(0, 8)
+            + (gzip ? ".csv.gz" : ".csv");
+        try {
+            executor.execute(() -> {
+                try (permit) {
+                    write(from, to, gzip, fileName);
+                }
+            });
+        } catch (RuntimeException e) {
+            permit.close();
+            throw e;
+        }
+        return fileName;
+    }
+
+    private void write(LocalDateTime from, LocalDateTime to, boolean gzip, String fileName) {
+        Path target = directory.resolve(fileName);
+        Path part = directory.resolve(fileName + ".part");
+        OutputStream file;
+        try {
+            Files.createDirectories(directory);
+            // CREATE_NEW fails rather than truncating a file another export is still writing
+            file = Files.newOutputStream(part, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+        } catch (IOException e) {
+            log.error("Order export to {} could not be started", target, e);
+            return;
+        }
+        try {
+            try (file; OutputStream out = gzip ? new GZIPOutputStream(file, 64 * 1024) : file) {
+                exporter.export(from, to, out);
+            }
+            Files.move(part, target, StandardCopyOption.ATOMIC_MOVE);
+            log.info("Order export written to {}", target);
+        } catch (Exception e) {
+            log.error("Order export to {} failed", target, e);
+            try {
+                Files.deleteIfExists(part);
+            } catch (IOException ignored) {
+                // Nothing more to do; the next export uses a new file name
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
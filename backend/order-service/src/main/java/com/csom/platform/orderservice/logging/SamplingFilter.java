@@ -0,0 +1,171 @@
+package com.csom.platform.orderservice.logging;
+
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.Marker;
+import org.apache.logging.log4j.core.Filter;
+import org.apache.logging.log4j.core.LogEvent;
+import org.apache.logging.log4j.core.Logger;
+import org.apache.logging.log4j.core.config.Node;
+import org.apache.logging.log4j.core.config.plugins.Plugin;
+import org.apache.logging.log4j.core.config.plugins.PluginAttribute;
+import org.apache.logging.log4j.core.config.plugins.PluginFactory;
+import org.apache.logging.log4j.core.filter.AbstractFilter;
+import org.apache.logging.log4j.message.Message;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Log4j2 filter that keeps one in {@code rate} events at or below {@code level} (INFO by default)
+ * and passes more severe events untouched. Meant for per-operation messages on hot paths.
+ *
+ * <p>Install it as a context-wide filter, directly under {@code <Configuration>}, with
+ * {@code loggers} naming the sampled loggers (and their children), e.g.
+ * {@code <Sampling rate="10" loggers="com.example.OrderService"/>}. There it runs in the
+ * logger's enabled check on the calling thread, so a sampled-out line never builds a message or
+ * takes a slot in the async logger's ring buffer. Other loggers are left to their levels.
+ * On a logger or appender it filters complete events instead, which with async loggers happens
+ * on the background thread and only saves formatting and I/O.
+ */
+@Plugin(name = "Sampling", category = Node.CATEGORY, elementType = Filter.ELEMENT_TYPE, printObject = true)
+public final class SamplingFilter extends AbstractFilter {
+
+    private final Level level;
+    private final long rate;
+    // Empty: every logger
+    private final List<String> loggers;
+    private final AtomicLong seen = new AtomicLong();
+
+    private SamplingFilter(Level level, long rate, List<String> loggers, Result onMatch, Result onMismatch) {
+        super(onMatch, onMismatch);
+        this.level = level;
+        this.rate = Math.max(1, rate);
+        this.loggers = loggers;
+    }
+
+    @Override
+    public Result filter(LogEvent event) {
+        return filter(event.getLoggerName(), event.getLevel());
+    }
+
+    @Override
+    public Result filter(Logger logger, Level level, Marker marker, Message msg, Throwable t) {
+        return filter(logger.getName(), level);
+    }
+
+    @Override
+    public Result filter(Logger logger, Level level, Marker marker, Object msg, Throwable t) {
+        return filter(logger.getName(), level);
+    }
+
+    @Override
+    public Result filter(Logger logger, Level level, Marker marker, String msg, Object... params) {
+        return filter(logger.getName(), level);
+    }
+
+    // The fixed-arity overloads avoid the varargs array of the garbage-free logging path
+
+    @Override
+    public Result filter(Logger logger, Level level, Marker marker, String msg, Object p0) {
+        return filter(logger.getName(), level);
+    }
+
+    @Override
+    public Result filter(Logger logger, Level level, Marker marker, String msg, Object p0, Object p1) {
+        return filter(logger.getName(), level);
+    }
+
+    @Override
+    public Result filter(Logger logger, Level level, Marker marker, String msg, Object p0, Object p1, Object p2) {
+        return filter(logger.getName(), level);
+    }
+
+    @Override
+    public Result filter(Logger logger, Level level, Marker marker, String msg, Object p0, Object p1, Object p2,
+                         Object p3) {
+        return filter(logger.getName(), level);
+    }
+
+    @Override
+    public Result filter(Logger logger, Level level, Marker marker, String msg, Object p0, Object p1, Object p2,
+                         Object p3, Object p4) {
+        return filter(logger.getName(), level);
+    }
+
+    @Override
+    public Result filter(Logger logger, Level level, Marker marker, String msg, Object p0, Object p1, Object p2,
+                         Object p3, Object p4, Object p5) {
+        return filter(logger.getName(), level);
+    }
+
+    @Override
+    public Result filter(Logger logger, Level level, Marker marker, String msg, Object p0, Object p1, Object p2,
+                         Object p3, Object p4, Object p5, Object p6) {
+        return filter(logger.getName(), level);
+    }
+
+    @Override
+    public Result filter(Logger logger, Level level, Marker marker, String msg, Object p0, Object p1, Object p2,
+                         Object p3, Object p4, Object p5, Object p6, Object p7) {
+        return filter(logger.getName(), level);
+    }
+
+    @Override
+    public Result filter(Logger logger, Level level, Marker marker, String msg, Object p0, Object p1, Object p2,
+                         Object p3, Object p4, Object p5, Object p6, Object p7, Object p8) {
+        return filter(logger.getName(), level);
+    }
+
+    @Override
+    public Result filter(Logger logger, Level level, Marker marker, String msg, Object p0, Object p1, Object p2,
+                         Object p3, Object p4, Object p5, Object p6, Object p7, Object p8, Object p9) {
+        return filter(logger.getName(), level);
+    }
+
+    private Result filter(String loggerName, Level eventLevel) {
+        if (!isSampled(loggerName)) {
+            // Context-wide filters must not decide for loggers they do not sample
+            return Result.NEUTRAL;
+        }
+        if (!eventLevel.isLessSpecificThan(level)) {
+            return onMatch;
+        }
+        return seen.getAndIncrement() % rate == 0 ? onMatch : onMismatch;
+    }
+
+    private boolean isSampled(String loggerName) {
+        if (loggers.isEmpty()) {
+            return true;
+        }
+        for (String name : loggers) {
+            if (loggerName.startsWith(name)
+                    && (loggerName.length() == name.length() || loggerName.charAt(name.length()) == '.')) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public String toString() {
+        return "level=" + level + ", rate=" + rate + ", loggers=" + loggers;
+    }
+
+    @PluginFactory
+    public static SamplingFilter createFilter(
+            @PluginAttribute(value = "level") Level level,
+            @PluginAttribute(value = "rate", defaultLong = 10) long rate,
+            @PluginAttribute(value = "loggers") String loggers,
+            @PluginAttribute(value = "onMatch") Result onMatch,
+            @PluginAttribute(value = "onMismatch") Result onMismatch) {
+        return new SamplingFilter(
+            level != null ? level : Level.INFO,
+            rate,
+            loggers != null
+                ? Arrays.stream(loggers.split(",")).map(String::trim).filter(name -> !name.isEmpty()).toList()
+                : List.of(),
+            onMatch != null ? onMatch : Result.NEUTRAL,
+            onMismatch != null ? onMismatch : Result.DENY);
+    }
+}
@@ -0,0 +1,29 @@
+package com.csom.platform.orderservice.logging;
+
+import org.slf4j.MDC;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.async.CallableProcessingInterceptor;
+
+import java.util.concurrent.Callable;
+
+/**
+ * Puts the request's trace ID in the logging context of the thread that runs an async handler
+ * ({@code Callable}, {@code WebAsyncTask}, {@code StreamingResponseBody}), which does not inherit
+ * the request thread's MDC.
+ */
+public class TraceIdCallableInterceptor implements CallableProcessingInterceptor {
+
+    @Override
+    public <T> void preProcess(NativeWebRequest request, Callable<T> task) {
+        Object traceId = request.getAttribute(TraceIdFilter.REQUEST_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        if (traceId != null) {
+            MDC.put(TraceIdFilter.MDC_KEY, traceId.toString());
+        }
+    }
+
+    @Override
+    public <T> void postProcess(NativeWebRequest request, Callable<T> task, Object concurrentResult) {
+        MDC.remove(TraceIdFilter.MDC_KEY);
+    }
+}
@@ -0,0 +1,101 @@
+package com.csom.platform.orderservice.logging;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.MDC;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Puts the request's trace ID in the logging context as {@code traceId}, so every line logged
+ * while handling the request can be correlated. The ID comes from a W3C {@code traceparent}
+ * header when the caller sent one and is generated otherwise; it is echoed in {@code X-Trace-Id}.
+ * The ID is also kept as a request attribute, so async dispatches (SSE, streamed exports) log
+ * under the same ID and {@link TraceIdCallableInterceptor} can carry it onto async worker threads.
+ */
+public class TraceIdFilter extends OncePerRequestFilter {
+
+    public static final String MDC_KEY = "traceId";
+    public static final String TRACEPARENT = "traceparent";
+    public static final String RESPONSE_HEADER = "X-Trace-Id";
+    public static final String REQUEST_ATTRIBUTE = TraceIdFilter.class.getName() + ".traceId";
+
+    private static final int TRACE_ID_LENGTH = 32;
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String traceId = (String) request.getAttribute(REQUEST_ATTRIBUTE);
+        if (traceId == null) {
+            traceId = traceIdFrom(request.getHeader(TRACEPARENT));
+            if (traceId == null) {
+                traceId = newTraceId();
+            }
+            request.setAttribute(REQUEST_ATTRIBUTE, traceId);
+            response.setHeader(RESPONSE_HEADER, traceId);
+        }
+        MDC.put(MDC_KEY, traceId);
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            MDC.remove(MDC_KEY);
+        }
+    }
+
+    @Override
+    protected boolean shouldNotFilterAsyncDispatch() {
+        return false;
+    }
+
+    /**
+     * The trace-id field of a {@code version-traceid-parentid-flags} header, or null if malformed.
+     */
+    static String traceIdFrom(String traceparent) {
+        if (traceparent == null || traceparent.length() < 3 + TRACE_ID_LENGTH || traceparent.charAt(2) != '-') {
+            return null;
+        }
+        String traceId = traceparent.substring(3, 3 + TRACE_ID_LENGTH);
+        boolean allZero = true;
+        for (int i = 0; i < TRACE_ID_LENGTH; i++) {
+            char c = traceId.charAt(i);
+            if ((c < '0' || c > '9') && (c < 'a' || c > 'f')) {
+                return null;
+            }
+            allZero &= c == '0';
+        }
+        return allZero ? null : traceId;
+    }
+
+    /**
+     * A {@code traceparent} header continuing the given trace with a new, sampled span.
+     */
+    public static String traceparent(String traceId) {
+        char[] header = new char[55];
+        "00-".getChars(0, 3, header, 0);
+        traceId.getChars(0, TRACE_ID_LENGTH, header, 3);
+        header[35] = '-';
+        writeHex(ThreadLocalRandom.current().nextLong(), header, 36);
+        "-01".getChars(0, 3, header, 52);
+        return new String(header);
+    }
+
+    static String newTraceId() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        char[] id = new char[TRACE_ID_LENGTH];
+        writeHex(random.nextLong(), id, 0);
+        writeHex(random.nextLong(), id, 16);
+        return new String(id);
+    }
+
+    private static void writeHex(long value, char[] target, int offset) {
+        for (int i = 15; i >= 0; i--) {
+            target[offset + i] = HEX[(int) value & 0xF];
+            value >>>= 4;
+        }
+    }
+}
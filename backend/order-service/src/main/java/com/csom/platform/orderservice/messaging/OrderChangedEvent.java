@@ -0,0 +1,16 @@
+package com.csom.platform.orderservice.messaging;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * In-process notification raised alongside every order event sent to Service Bus.
+ */
+public record OrderChangedEvent(
+    String eventType,
+    UUID orderId,
+    UUID customerId,
+    String status,
+    LocalDateTime updatedAt
+) {
+}
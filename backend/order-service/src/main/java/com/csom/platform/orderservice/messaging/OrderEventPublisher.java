@@ -2,61 +2,119 @@ package com.csom.platform.orderservice.messaging;
 
 import com.csom.platform.orderservice.entity.Order;
 import com.azure.messaging.servicebus.ServiceBusMessage;
+import com.azure.messaging.servicebus.ServiceBusMessageBatch;
 import com.azure.messaging.servicebus.ServiceBusSenderClient;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Component;
 
+import java.util.List;
+
 @Component
 @RequiredArgsConstructor
 @Slf4j
 public class OrderEventPublisher {
 
     private final ServiceBusSenderClient serviceBusSenderClient;
+    private final ApplicationEventPublisher applicationEventPublisher;
 
     public void publishOrderCreated(Order order) {
         try {
             String messageBody = String.format(
-                "{\"eventType\":\"ORDER_CREATED\",\"orderId\":\"%s\",\"customerId\":\"%s\",\"totalAmount\":%f}",
-                order.getId(), order.getCustomerId(), order.getTotalAmount()
+                "{\"eventType\":\"ORDER_CREATED\",\"orderId\":\"%s\",\"customerId\":\"%s\",\"status\":\"%s\",\"totalAmount\":%f,\"itemCount\":%d,\"createdAt\":\"%s\",\"updatedAt\":\"%s\",\"version\":%d}",
+                order.getId(), order.getCustomerId(), order.getStatus(), order.getTotalAmount(),
+                order.getItems() != null ? order.getItems().size() : 0, order.getCreatedAt(), order.getUpdatedAt(), order.getVersion()
             );
             ServiceBusMessage message = new ServiceBusMessage(messageBody);
-            message.setMessageId(order.getId().toString());
+            message.setMessageId(messageId(order));
             serviceBusSenderClient.sendMessage(message);
             log.info("Published ORDER_CREATED event for order: {}", order.getId());
         } catch (Exception e) {
             log.error("Failed to publish ORDER_CREATED event", e);
         }
+        publishLocally("ORDER_CREATED", order);
     }
 
     public void publishOrderStatusUpdated(Order order) {
         try {
-            String messageBody = String.format(
-                "{\"eventType\":\"ORDER_STATUS_UPDATED\",\"orderId\":\"%s\",\"status\":\"%s\"}",
-                order.getId(), order.getStatus()
-            );
-            ServiceBusMessage message = new ServiceBusMessage(messageBody);
-            message.setMessageId(order.getId().toString());
-            serviceBusSenderClient.sendMessage(message);
+            serviceBusSenderClient.sendMessage(statusUpdatedMessage(order));
             log.info("Published ORDER_STATUS_UPDATED event for order: {}", order.getId());
         } catch (Exception e) {
             log.error("Failed to publish ORDER_STATUS_UPDATED event", e);
         }
+        publishLocally("ORDER_STATUS_UPDATED", order);
+    }
+
+    /**
+     * Publishes ORDER_STATUS_UPDATED for many orders in as few Service Bus batches as fit.
+     */
+    public void publishOrderStatusUpdates(List<Order> orders) {
+        if (orders.isEmpty()) {
+            return;
+        }
+        try {
+            ServiceBusMessageBatch batch = serviceBusSenderClient.createMessageBatch();
+            int batches = 0;
+            for (Order order : orders) {
+                ServiceBusMessage message = statusUpdatedMessage(order);
+                if (!batch.tryAddMessage(message)) {
+                    serviceBusSenderClient.sendMessages(batch);
+                    batches++;
+                    batch = serviceBusSenderClient.createMessageBatch();
+                    if (!batch.tryAddMessage(message)) {
+                        throw new IllegalStateException("ORDER_STATUS_UPDATED event for order " + order.getId()
+                            + " exceeds the maximum batch size");
+                    }
+                }
+            }
+            if (batch.getCount() > 0) {
+                serviceBusSenderClient.sendMessages(batch);
+                batches++;
+            }
+            log.info("Published {} ORDER_STATUS_UPDATED events in {} batches", orders.size(), batches);
+        } catch (Exception e) {
+            log.error("Failed to publish ORDER_STATUS_UPDATED events for {} orders", orders.size(), e);
+        }
+        orders.forEach(order -> publishLocally("ORDER_STATUS_UPDATED", order));
     }
 
     public void publishOrderDeleted(Order order) {
         try {
             String messageBody = String.format(
-                "{\"eventType\":\"ORDER_DELETED\",\"orderId\":\"%s\",\"customerId\":\"%s\"}",
-                order.getId(), order.getCustomerId()
+                "{\"eventType\":\"ORDER_DELETED\",\"orderId\":\"%s\",\"customerId\":\"%s\",\"status\":\"%s\",\"updatedAt\":\"%s\",\"version\":%d}",
+                order.getId(), order.getCustomerId(), order.getStatus(), order.getUpdatedAt(), order.getVersion()
             );
             ServiceBusMessage message = new ServiceBusMessage(messageBody);
-            message.setMessageId(order.getId().toString());
+            message.setMessageId(messageId(order));
             serviceBusSenderClient.sendMessage(message);
             log.info("Published ORDER_DELETED event for order: {}", order.getId());
         } catch (Exception e) {
             log.error("Failed to publish ORDER_DELETED event", e);
         }
+        publishLocally("ORDER_DELETED", order);
+    }
+
+    private ServiceBusMessage statusUpdatedMessage(Order order) {
+        String messageBody = String.format(
+            "{\"eventType\":\"ORDER_STATUS_UPDATED\",\"orderId\":\"%s\",\"customerId\":\"%s\",\"status\":\"%s\",\"updatedAt\":\"%s\",\"version\":%d}",
+            order.getId(), order.getCustomerId(), order.getStatus(), order.getUpdatedAt(), order.getVersion()
+        );
+        ServiceBusMessage message = new ServiceBusMessage(messageBody);
+        message.setMessageId(messageId(order));
+        return message;
+    }
+
+    /**
+     * One message ID per order version, so broker duplicate detection only drops true retries.
+     */
+    private String messageId(Order order) {
+        return order.getId() + ":" + order.getVersion();
+    }
+
+    private void publishLocally(String eventType, Order order) {
+        applicationEventPublisher.publishEvent(new OrderChangedEvent(
+            eventType, order.getId(), order.getCustomerId(), order.getStatus().name(), order.getUpdatedAt()));
     }
 }
 
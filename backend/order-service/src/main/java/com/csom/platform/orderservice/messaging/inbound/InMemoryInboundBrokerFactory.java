@@ -0,0 +1,157 @@
+package com.csom.platform.orderservice.messaging.inbound;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Broker stand-in with Service Bus session semantics (exclusive session locks, in-order
+ * delivery, abandon/redeliver, dead-letter queue) for local runs and tests.
+ */
+public class InMemoryInboundBrokerFactory implements InboundBrokerFactory {
+
+    private final Map<String, InMemoryInboundBroker> brokers = new ConcurrentHashMap<>();
+
+    @Override
+    public InboundBroker create(String topicName, String subscriptionName, int prefetchCount) {
+        return broker(topicName);
+    }
+
+    public InMemoryInboundBroker broker(String topicName) {
+        return brokers.computeIfAbsent(topicName, name -> new InMemoryInboundBroker());
+    }
+
+    public static class InMemoryInboundBroker implements InboundBroker {
+
+        private final Map<String, Deque<InboundMessage>> sessions = new LinkedHashMap<>();
+        private final Map<String, Boolean> locked = new HashMap<>();
+        private final List<InboundMessage> deadLetters = new ArrayList<>();
+
+        public synchronized void send(String sessionId, String subject, byte[] body) {
+            send(UUID.randomUUID().toString(), sessionId, subject, body);
+        }
+
+        public synchronized void send(String messageId, String sessionId, String subject, byte[] body) {
+            sessions.computeIfAbsent(sessionId, id -> new ArrayDeque<>())
+                .addLast(new InboundMessage(messageId, sessionId, subject, body, OffsetDateTime.now(), 0, null));
+            notifyAll();
+        }
+
+        public synchronized List<InboundMessage> getDeadLetters() {
+            return new ArrayList<>(deadLetters);
+        }
+
+        public synchronized int getPendingCount() {
+            return sessions.values().stream().mapToInt(Deque::size).sum();
+        }
+
+        @Override
+        public synchronized InboundSession acceptNextSession(Duration timeout) {
+            long deadline = System.nanoTime() + timeout.toNanos();
+            while (true) {
+                for (Map.Entry<String, Deque<InboundMessage>> entry : sessions.entrySet()) {
+                    if (!entry.getValue().isEmpty() && !locked.getOrDefault(entry.getKey(), false)) {
+                        locked.put(entry.getKey(), true);
+                        return new InMemorySession(entry.getKey());
+                    }
+                }
+                long remaining = deadline - System.nanoTime();
+                if (remaining <= 0) {
+                    return null;
+                }
+                try {
+                    wait(Math.max(1, remaining / 1_000_000));
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return null;
+                }
+            }
+        }
+
+        @Override
+        public void close() {
+        }
+
+        private final class InMemorySession implements InboundSession {
+
+            private final String sessionId;
+            private final Deque<InboundMessage> inFlight = new ArrayDeque<>();
+
+            private InMemorySession(String sessionId) {
+                this.sessionId = sessionId;
+            }
+
+            @Override
+            public String getSessionId() {
+                return sessionId;
+            }
+
+            @Override
+            public List<InboundMessage> receive(int maxMessages, Duration maxWait) {
+                synchronized (InMemoryInboundBroker.this) {
+                    Deque<InboundMessage> queue = sessions.get(sessionId);
+                    List<InboundMessage> messages = new ArrayList<>();
+                    while (messages.size() < maxMessages && queue != null && !queue.isEmpty()) {
+                        InboundMessage message = queue.pollFirst();
+                        InboundMessage delivered = new InboundMessage(message.messageId(), message.sessionId(),
+                            message.subject(), message.body(), message.enqueuedTime(), message.deliveryCount() + 1,
+                            UUID.randomUUID().toString());
+                        inFlight.addLast(delivered);
+                        messages.add(delivered);
+                    }
+                    return messages;
+                }
+            }
+
+            @Override
+            public void complete(InboundMessage message) {
+                synchronized (InMemoryInboundBroker.this) {
+                    inFlight.remove(message);
+                }
+            }
+
+            @Override
+            public void abandon(InboundMessage message) {
+                synchronized (InMemoryInboundBroker.this) {
+                    if (inFlight.remove(message)) {
+                        requeue(message);
+                    }
+                }
+            }
+
+            @Override
+            public void deadLetter(InboundMessage message, String reason, String description) {
+                synchronized (InMemoryInboundBroker.this) {
+                    if (inFlight.remove(message)) {
+                        deadLetters.add(message);
+                    }
+                }
+            }
+
+            @Override
+            public void close() {
+                synchronized (InMemoryInboundBroker.this) {
+                    // Unsettled messages go back to the front of the session, preserving order
+                    while (!inFlight.isEmpty()) {
+                        requeue(inFlight.pollLast());
+                    }
+                    locked.remove(sessionId);
+                    InMemoryInboundBroker.this.notifyAll();
+                }
+            }
+
+            private void requeue(InboundMessage message) {
+                // Abandons happen newest-first (see InboundMessageProcessor), so pushing to the front keeps order
+                sessions.computeIfAbsent(sessionId, id -> new ArrayDeque<>()).addFirst(message);
+            }
+        }
+    }
+}
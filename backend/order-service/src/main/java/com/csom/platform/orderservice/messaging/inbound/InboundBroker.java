@@ -0,0 +1,17 @@
+package com.csom.platform.orderservice.messaging.inbound;
+
+import java.time.Duration;
+
+/**
+ * Source of sessions for one topic subscription.
+ */
+public interface InboundBroker extends AutoCloseable {
+
+    /**
+     * Locks the next session that has messages, or returns null if none became available within {@code timeout}.
+     */
+    InboundSession acceptNextSession(Duration timeout);
+
+    @Override
+    void close();
+}
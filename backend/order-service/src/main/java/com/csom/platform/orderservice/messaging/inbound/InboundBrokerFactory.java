@@ -0,0 +1,6 @@
+package com.csom.platform.orderservice.messaging.inbound;
+
+public interface InboundBrokerFactory {
+
+    InboundBroker create(String topicName, String subscriptionName, int prefetchCount);
+}
@@ -0,0 +1,20 @@
+package com.csom.platform.orderservice.messaging.inbound;
+
+import java.time.OffsetDateTime;
+
+/**
+ * Broker-neutral view of a received message. {@code subject} selects the handler;
+ * {@code sessionId} is the ordering key (order ID or customer ID). {@code lockToken} identifies
+ * this delivery for settlement; unlike {@code messageId} it is unique even when the same
+ * message is delivered twice.
+ */
+public record InboundMessage(
+    String messageId,
+    String sessionId,
+    String subject,
+    byte[] body,
+    OffsetDateTime enqueuedTime,
+    int deliveryCount,
+    String lockToken
+) {
+}
@@ -0,0 +1,31 @@
+package com.csom.platform.orderservice.messaging.inbound;
+
+import com.csom.platform.orderservice.entity.Order;
+
+import java.util.List;
+
+/**
+ * Handles one message type from one inbound topic.
+ */
+public interface InboundMessageHandler {
+
+    String topic();
+
+    String subject();
+
+    /**
+     * Processes a batch in a single transaction, ideally with set-based writes. Messages are in
+     * session order, so when a batch holds several messages for the same key the later one wins.
+     * Throwing rolls back the whole batch, after which messages are retried one at a time.
+     * Must not publish events itself: the transaction may still roll back.
+     *
+     * @return the orders the batch changed, handed to {@link #publish} after commit
+     */
+    List<Order> handle(List<InboundMessage> messages) throws Exception;
+
+    /**
+     * Publishes events for the orders a batch changed, once its transaction has committed.
+     * Not called for batches that rolled back.
+     */
+    void publish(List<Order> changed);
+}
@@ -0,0 +1,382 @@
+package com.csom.platform.orderservice.messaging.inbound;
+
+import com.csom.platform.orderservice.entity.Order;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.Builder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Consumes one session-enabled topic subscription.
+ *
+ * <p>Each pump thread holds up to {@code sessionsPerPump} sessions and receives from all of them.
+ * Every session's messages are applied strictly in receive order: each round takes the next run
+ * of same-subject messages from every session, and the runs of one subject are handled together
+ * in one transaction, so writes stay set-based across many orders (one session each). Pumps run
+ * in parallel, and other replicas pick up the remaining sessions.
+ *
+ * <p>If a combined batch fails, its runs are retried message by message. The first failing
+ * message stops its session: it and everything after it are held for a backoff that grows with
+ * the delivery count and then abandoned for redelivery. After {@code maxDeliveryAttempts} the
+ * message is dead-lettered instead and the session moves on.
+ *
+ * <p>Message IDs are recorded in the deduplication window as soon as their transaction commits,
+ * so a message that is redelivered because settling it failed is not applied twice.
+ */
+@Slf4j
+public class InboundMessageProcessor {
+
+    private final String topicName;
+    private final InboundBroker broker;
+    private final Map<String, InboundMessageHandler> handlers;
+    private final TransactionTemplate transactionTemplate;
+    private final MessageDeduplicationWindow deduplicationWindow;
+    private final int pumps;
+    private final int sessionsPerPump;
+    private final int maxBatchSize;
+    private final int maxDeliveryAttempts;
+    private final Duration receiveWait;
+    private final Duration sessionAcceptTimeout;
+    private final Duration retryBackoff;
+    private final Duration maxRetryBackoff;
+
+    private final MeterRegistry meterRegistry;
+    private final Map<String, Counter> counters = new ConcurrentHashMap<>();
+    private final Timer lag;
+    private final Timer batchTimer;
+
+    private final List<Thread> threads = new ArrayList<>();
+    private volatile boolean running;
+
+    @Builder
+    private InboundMessageProcessor(String topicName, InboundBroker broker, Collection<InboundMessageHandler> handlers,
+                                    TransactionTemplate transactionTemplate, MessageDeduplicationWindow deduplicationWindow,
+                                    int pumps, int sessionsPerPump, int maxBatchSize, int maxDeliveryAttempts,
+                                    Duration receiveWait, Duration sessionAcceptTimeout, Duration retryBackoff,
+                                    Duration maxRetryBackoff, MeterRegistry meterRegistry) {
+        this.topicName = topicName;
+        this.broker = broker;
+        this.handlers = new LinkedHashMap<>();
+        handlers.forEach(handler -> this.handlers.put(handler.subject(), handler));
+        this.transactionTemplate = transactionTemplate;
+        this.deduplicationWindow = deduplicationWindow;
+        this.pumps = pumps;
+        this.sessionsPerPump = sessionsPerPump;
+        this.maxBatchSize = maxBatchSize;
+        this.maxDeliveryAttempts = maxDeliveryAttempts;
+        this.receiveWait = receiveWait;
+        this.sessionAcceptTimeout = sessionAcceptTimeout;
+        this.retryBackoff = retryBackoff != null ? retryBackoff : Duration.ofSeconds(1);
+        this.maxRetryBackoff = maxRetryBackoff != null ? maxRetryBackoff : Duration.ofSeconds(30);
+        this.meterRegistry = meterRegistry;
+        this.lag = Timer.builder("orders.inbound.lag")
+            .description("Time from enqueue to processing for inbound messages")
+            .tag("topic", topicName)
+            .publishPercentiles(0.5, 0.95, 0.99)
+            .register(meterRegistry);
+        this.batchTimer = Timer.builder("orders.inbound.batch")
+            .description("Time to process one combined inbound batch")
+            .tag("topic", topicName)
+            .register(meterRegistry);
+    }
+
+    public synchronized void start() {
+        if (running) {
+            return;
+        }
+        running = true;
+        for (int i = 0; i < pumps; i++) {
+            Thread thread = new Thread(this::pump, "inbound-" + topicName + "-" + i);
+            thread.setDaemon(true);
+            thread.start();
+            threads.add(thread);
+        }
+        log.info("Started {} inbound pumps for topic {} with handlers {}", pumps, topicName, handlers.keySet());
+    }
+
+    public synchronized void stop() {
+        running = false;
+        threads.forEach(Thread::interrupt);
+        for (Thread thread : threads) {
+            try {
+                thread.join(TimeUnit.SECONDS.toMillis(10));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        threads.clear();
+        broker.close();
+    }
+
+    private void pump() {
+        List<InboundSession> sessions = new ArrayList<>();
+        // Sessions stopped by a failure, with the messages to abandon once their backoff ends
+        Map<InboundSession, HeldMessages> held = new HashMap<>();
+        long nextTopUp = 0;
+        try {
+            while (running) {
+                try {
+                    abandonDue(held);
+                    // Once the broker runs out of ready sessions, stop asking until the interval
+                    // passes, since an unanswered accept can block for the full timeout
+                    if (sessions.isEmpty() || System.nanoTime() >= nextTopUp) {
+                        if (!acceptSessions(sessions)) {
+                            nextTopUp = System.nanoTime() + sessionAcceptTimeout.toNanos();
+                        }
+                    }
+                    if (sessions.isEmpty()) {
+                        continue;
+                    }
+                    Map<InboundSession, List<InboundMessage>> batch = receiveBatch(sessions, held);
+                    if (!batch.isEmpty()) {
+                        batchTimer.record(() -> process(batch, held));
+                    } else if (!held.isEmpty()) {
+                        // Every session is backing off
+                        LockSupport.parkNanos(Math.min(receiveWait.toNanos(), untilNextAbandon(held)));
+                    }
+                } catch (Exception e) {
+                    if (running) {
+                        log.error("Inbound pump for topic {} failed, releasing its sessions", topicName, e);
+                        sessions.forEach(InboundSession::close);
+                        sessions.clear();
+                        held.clear();
+                    }
+                }
+            }
+        } finally {
+            sessions.forEach(InboundSession::close);
+        }
+    }
+
+    /**
+     * Fills the pump up to {@code sessionsPerPump}. Returns false if the broker had no more ready sessions.
+     */
+    private boolean acceptSessions(List<InboundSession> sessions) {
+        while (running && sessions.size() < sessionsPerPump) {
+            // Wait only when idle; otherwise just top up with sessions that are ready now
+            InboundSession session = broker.acceptNextSession(sessions.isEmpty() ? sessionAcceptTimeout : Duration.ZERO);
+            if (session == null) {
+                return false;
+            }
+            sessions.add(session);
+        }
+        return true;
+    }
+
+    private Map<InboundSession, List<InboundMessage>> receiveBatch(List<InboundSession> sessions,
+                                                                   Map<InboundSession, HeldMessages> held) {
+        Map<InboundSession, List<InboundMessage>> batch = new LinkedHashMap<>();
+        int perSession = Math.max(1, maxBatchSize / sessions.size());
+        for (InboundSession session : new ArrayList<>(sessions)) {
+            if (held.containsKey(session)) {
+                // Nothing may overtake the held messages
+                continue;
+            }
+            List<InboundMessage> messages = session.receive(perSession, receiveWait);
+            if (messages.isEmpty()) {
+                // Drained: release the lock so the session can be picked up wherever new messages land
+                session.close();
+                sessions.remove(session);
+            } else {
+                batch.put(session, messages);
+            }
+        }
+        return batch;
+    }
+
+    private void process(Map<InboundSession, List<InboundMessage>> batch, Map<InboundSession, HeldMessages> held) {
+        OffsetDateTime now = OffsetDateTime.now();
+        Map<InboundSession, Deque<InboundMessage>> queues = new LinkedHashMap<>();
+
+        Set<String> received = new HashSet<>();
+        batch.forEach((session, messages) -> {
+            Deque<InboundMessage> queue = new ArrayDeque<>(messages.size());
+            for (InboundMessage message : messages) {
+                lag.record(Duration.between(message.enqueuedTime(), now));
+                // A second delivery of an ID in the same batch is a duplicate too; it settles on its own lock token
+                if (deduplicationWindow.contains(message.messageId()) || !received.add(message.messageId())) {
+                    session.complete(message);
+                    count(message.subject(), "duplicate");
+                } else if (!handlers.containsKey(message.subject())) {
+                    session.deadLetter(message, "NoHandler", "No handler for subject " + message.subject());
+                    count(message.subject(), "dead_lettered");
+                } else {
+                    queue.addLast(message);
+                }
+            }
+            if (!queue.isEmpty()) {
+                queues.put(session, queue);
+            }
+        });
+
+        while (!queues.isEmpty()) {
+            // The next run of same-subject messages from every session, grouped by subject
+            Map<String, Map<InboundSession, List<InboundMessage>>> round = new LinkedHashMap<>();
+            queues.forEach((session, queue) -> {
+                String subject = queue.peekFirst().subject();
+                List<InboundMessage> run = new ArrayList<>();
+                while (!queue.isEmpty() && Objects.equals(queue.peekFirst().subject(), subject)) {
+                    run.add(queue.pollFirst());
+                }
+                round.computeIfAbsent(subject, s -> new LinkedHashMap<>()).put(session, run);
+            });
+            round.forEach((subject, runs) -> handleRuns(handlers.get(subject), runs, queues, held));
+            queues.values().removeIf(Deque::isEmpty);
+        }
+    }
+
+    private void handleRuns(InboundMessageHandler handler, Map<InboundSession, List<InboundMessage>> runs,
+                            Map<InboundSession, Deque<InboundMessage>> queues,
+                            Map<InboundSession, HeldMessages> held) {
+        List<InboundMessage> messages = new ArrayList<>();
+        runs.values().forEach(messages::addAll);
+        List<Order> changed;
+        try {
+            changed = transactionTemplate.execute(status -> handleUnchecked(handler, messages));
+        } catch (Exception e) {
+            log.warn("Batch of {} {} messages failed, retrying individually", messages.size(), handler.subject(), e);
+            runs.forEach((session, run) -> retryIndividually(handler, session, run, queues, held));
+            return;
+        }
+        recordProcessed(messages);
+        publish(handler, changed);
+        runs.forEach((session, run) -> run.forEach(message -> complete(session, message)));
+    }
+
+    private void retryIndividually(InboundMessageHandler handler, InboundSession session, List<InboundMessage> run,
+                                   Map<InboundSession, Deque<InboundMessage>> queues,
+                                   Map<InboundSession, HeldMessages> held) {
+        for (int i = 0; i < run.size(); i++) {
+            InboundMessage message = run.get(i);
+            List<Order> changed;
+            try {
+                changed = transactionTemplate.execute(status -> handleUnchecked(handler, List.of(message)));
+            } catch (Exception e) {
+                if (message.deliveryCount() >= maxDeliveryAttempts) {
+                    session.deadLetter(message, "ProcessingFailed", String.valueOf(e.getMessage()));
+                    count(message.subject(), "dead_lettered");
+                    log.error("Dead-lettered {} message {} after {} attempts",
+                        message.subject(), message.messageId(), message.deliveryCount(), e);
+                    continue;
+                }
+                // Stop the session: hold this message and everything after it, then abandon after a backoff
+                List<InboundMessage> stopped = new ArrayList<>(run.subList(i, run.size()));
+                Deque<InboundMessage> rest = queues.remove(session);
+                if (rest != null) {
+                    stopped.addAll(rest);
+                }
+                Duration backoff = backoff(message.deliveryCount());
+                held.put(session, new HeldMessages(stopped, System.nanoTime() + backoff.toNanos()));
+                log.warn("{} message {} failed (attempt {}), pausing session {} for {} ms", message.subject(),
+                    message.messageId(), message.deliveryCount(), session.getSessionId(), backoff.toMillis(), e);
+                return;
+            }
+            recordProcessed(List.of(message));
+            publish(handler, changed);
+            complete(session, message);
+        }
+    }
+
+    private void abandonDue(Map<InboundSession, HeldMessages> held) {
+        long now = System.nanoTime();
+        Iterator<Map.Entry<InboundSession, HeldMessages>> entries = held.entrySet().iterator();
+        while (entries.hasNext()) {
+            Map.Entry<InboundSession, HeldMessages> entry = entries.next();
+            if (entry.getValue().abandonAt() - now > 0) {
+                continue;
+            }
+            entries.remove();
+            List<InboundMessage> messages = entry.getValue().messages();
+            // Newest first, so brokers that requeue at the head keep the original order
+            for (int i = messages.size() - 1; i >= 0; i--) {
+                entry.getKey().abandon(messages.get(i));
+                count(messages.get(i).subject(), "abandoned");
+            }
+        }
+    }
+
+    private long untilNextAbandon(Map<InboundSession, HeldMessages> held) {
+        long now = System.nanoTime();
+        long next = Long.MAX_VALUE;
+        for (HeldMessages messages : held.values()) {
+            next = Math.min(next, Math.max(0, messages.abandonAt() - now));
+        }
+        return next;
+    }
+
+    private Duration backoff(int deliveryCount) {
+        Duration backoff = retryBackoff.multipliedBy(1L << Math.min(Math.max(deliveryCount - 1, 0), 16));
+        return backoff.compareTo(maxRetryBackoff) > 0 ? maxRetryBackoff : backoff;
+    }
+
+    /**
+     * Called right after the transaction commits and before settling, so a message redelivered
+     * because completing it failed is recognised as a duplicate.
+     */
+    private void recordProcessed(List<InboundMessage> messages) {
+        messages.forEach(message -> deduplicationWindow.record(message.messageId()));
+    }
+
+    private void complete(InboundSession session, InboundMessage message) {
+        session.complete(message);
+        count(message.subject(), "completed");
+    }
+
+    /**
+     * After commit, so events never describe changes that rolled back; a failure to publish does
+     * not make the committed batch fail.
+     */
+    private void publish(InboundMessageHandler handler, List<Order> changed) {
+        if (changed == null || changed.isEmpty()) {
+            return;
+        }
+        try {
+            handler.publish(changed);
+        } catch (RuntimeException e) {
+            log.error("Publishing events for {} orders changed by {} messages failed",
+                changed.size(), handler.subject(), e);
+        }
+    }
+
+    private List<Order> handleUnchecked(InboundMessageHandler handler, List<InboundMessage> messages) {
+        try {
+            return handler.handle(messages);
+        } catch (RuntimeException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private void count(String subject, String outcome) {
+        counters.computeIfAbsent(subject + ":" + outcome, key -> Counter.builder("orders.inbound.messages")
+            .description("Inbound messages by outcome")
+            .tag("topic", topicName)
+            .tag("subject", String.valueOf(subject))
+            .tag("outcome", outcome)
+            .register(meterRegistry)).increment();
+    }
+
+    private record HeldMessages(List<InboundMessage> messages, long abandonAt) {
+    }
+}
@@ -0,0 +1,77 @@
+package com.csom.platform.orderservice.messaging.inbound;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Starts one {@link InboundMessageProcessor} per topic that has handlers.
+ */
+@Component
+@ConditionalOnProperty(name = "orders.inbound.enabled", havingValue = "true")
+@Slf4j
+public class InboundMessagingRunner {
+
+    private final List<InboundMessageProcessor> processors;
+
+    public InboundMessagingRunner(
+            List<InboundMessageHandler> handlers,
+            InboundBrokerFactory brokerFactory,
+            TransactionTemplate transactionTemplate,
+            MeterRegistry meterRegistry,
+            @Value("${orders.inbound.subscription-name:order-service}") String subscriptionName,
+            @Value("${orders.inbound.pumps:4}") int pumps,
+            @Value("${orders.inbound.sessions-per-pump:16}") int sessionsPerPump,
+            @Value("${orders.inbound.max-batch-size:256}") int maxBatchSize,
+            @Value("${orders.inbound.prefetch:512}") int prefetch,
+            @Value("${orders.inbound.max-delivery-attempts:5}") int maxDeliveryAttempts,
+            @Value("${orders.inbound.receive-wait:PT0.2S}") Duration receiveWait,
+            @Value("${orders.inbound.session-accept-timeout:PT5S}") Duration sessionAcceptTimeout,
+            @Value("${orders.inbound.retry-backoff:PT1S}") Duration retryBackoff,
+            @Value("${orders.inbound.max-retry-backoff:PT30S}") Duration maxRetryBackoff,
+            @Value("${orders.inbound.dedup.max-size:100000}") int dedupMaxSize,
+            @Value("${orders.inbound.dedup.ttl:PT10M}") Duration dedupTtl) {
+        Map<String, List<InboundMessageHandler>> handlersByTopic = handlers.stream()
+            .collect(Collectors.groupingBy(InboundMessageHandler::topic));
+
+        this.processors = handlersByTopic.entrySet().stream()
+            .map(entry -> InboundMessageProcessor.builder()
+                .topicName(entry.getKey())
+                .broker(brokerFactory.create(entry.getKey(), subscriptionName, prefetch))
+                .handlers(entry.getValue())
+                .transactionTemplate(transactionTemplate)
+                .deduplicationWindow(new MessageDeduplicationWindow(dedupMaxSize, dedupTtl))
+                .pumps(pumps)
+                .sessionsPerPump(sessionsPerPump)
+                .maxBatchSize(maxBatchSize)
+                .maxDeliveryAttempts(maxDeliveryAttempts)
+                .receiveWait(receiveWait)
+                .sessionAcceptTimeout(sessionAcceptTimeout)
+                .retryBackoff(retryBackoff)
+                .maxRetryBackoff(maxRetryBackoff)
+                .meterRegistry(meterRegistry)
+                .build())
+            .collect(Collectors.toList());
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        processors.forEach(InboundMessageProcessor::start);
+    }
+
+    @PreDestroy
+    public void stop() {
+        processors.forEach(InboundMessageProcessor::stop);
+    }
+}
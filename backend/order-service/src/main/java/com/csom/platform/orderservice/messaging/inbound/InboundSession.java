@@ -0,0 +1,27 @@
+package com.csom.platform.orderservice.messaging.inbound;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * An exclusively locked session. Messages of one session are delivered in order and
+ * only to the holder of the lock.
+ */
+public interface InboundSession extends AutoCloseable {
+
+    String getSessionId();
+
+    /**
+     * Returns up to {@code maxMessages}, waiting at most {@code maxWait}; empty if the session is drained.
+     */
+    List<InboundMessage> receive(int maxMessages, Duration maxWait);
+
+    void complete(InboundMessage message);
+
+    void abandon(InboundMessage message);
+
+    void deadLetter(InboundMessage message, String reason, String description);
+
+    @Override
+    void close();
+}
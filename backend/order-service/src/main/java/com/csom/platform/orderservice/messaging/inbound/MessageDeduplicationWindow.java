@@ -0,0 +1,44 @@
+package com.csom.platform.orderservice.messaging.inbound;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Remembers recently processed message IDs, bounded by both count and age, to drop
+ * redeliveries that arrive after a message was processed but before it was settled.
+ */
+public class MessageDeduplicationWindow {
+
+    private final LinkedHashMap<String, Long> seen = new LinkedHashMap<>();
+    private final int maxSize;
+    private final long ttlNanos;
+
+    public MessageDeduplicationWindow(int maxSize, Duration ttl) {
+        this.maxSize = maxSize;
+        this.ttlNanos = ttl.toNanos();
+    }
+
+    public synchronized boolean contains(String messageId) {
+        Long recordedAt = seen.get(messageId);
+        return recordedAt != null && System.nanoTime() - recordedAt < ttlNanos;
+    }
+
+    public synchronized void record(String messageId) {
+        long now = System.nanoTime();
+        seen.put(messageId, now);
+        Iterator<Map.Entry<String, Long>> oldest = seen.entrySet().iterator();
+        while (oldest.hasNext()) {
+            Map.Entry<String, Long> entry = oldest.next();
+            if (seen.size() <= maxSize && now - entry.getValue() < ttlNanos) {
+                break;
+            }
+            oldest.remove();
+        }
+    }
+
+    public synchronized int size() {
+        return seen.size();
+    }
+}
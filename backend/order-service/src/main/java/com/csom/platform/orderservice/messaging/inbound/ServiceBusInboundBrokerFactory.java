@@ -0,0 +1,170 @@
+package com.csom.platform.orderservice.messaging.inbound;
+
+import com.azure.messaging.servicebus.ServiceBusClientBuilder;
+import com.azure.messaging.servicebus.ServiceBusReceivedMessage;
+import com.azure.messaging.servicebus.ServiceBusReceiverClient;
+import com.azure.messaging.servicebus.ServiceBusSessionReceiverClient;
+import com.azure.messaging.servicebus.models.DeadLetterOptions;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Session-enabled Service Bus topic subscriptions in peek-lock mode.
+ */
+@RequiredArgsConstructor
+@Slf4j
+public class ServiceBusInboundBrokerFactory implements InboundBrokerFactory {
+
+    private final String connectionString;
+
+    @Override
+    public InboundBroker create(String topicName, String subscriptionName, int prefetchCount) {
+        ServiceBusSessionReceiverClient sessionReceiver = new ServiceBusClientBuilder()
+            .connectionString(connectionString)
+            .sessionReceiver()
+            .topicName(topicName)
+            .subscriptionName(subscriptionName)
+            .prefetchCount(prefetchCount)
+            .disableAutoComplete()
+            .buildClient();
+        return new ServiceBusInboundBroker(sessionReceiver);
+    }
+
+    /**
+     * The SDK's acceptNextSession has no per-call timeout (only the client-wide try timeout, which
+     * would also cut settlement retries short), so accepts run on a background thread and callers
+     * wait for them with their own timeout. An accept that outlives its caller is handed to the
+     * next caller rather than dropped, so no session lock is leaked.
+     */
+    private static final class ServiceBusInboundBroker implements InboundBroker {
+
+        private final ServiceBusSessionReceiverClient sessionReceiver;
+        private final ExecutorService acceptor;
+        private CompletableFuture<ServiceBusReceiverClient> pendingAccept;
+        private boolean closed;
+
+        ServiceBusInboundBroker(ServiceBusSessionReceiverClient sessionReceiver) {
+            this.sessionReceiver = sessionReceiver;
+            this.acceptor = Executors.newSingleThreadExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "inbound-session-acceptor");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+
+        @Override
+        public InboundSession acceptNextSession(Duration timeout) {
+            CompletableFuture<ServiceBusReceiverClient> accept;
+            synchronized (this) {
+                if (closed) {
+                    return null;
+                }
+                if (pendingAccept == null) {
+                    pendingAccept = CompletableFuture.supplyAsync(sessionReceiver::acceptNextSession, acceptor);
+                }
+                accept = pendingAccept;
+            }
+            try {
+                accept.get(timeout.toNanos(), TimeUnit.NANOSECONDS);
+            } catch (TimeoutException e) {
+                return null;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return null;
+            } catch (ExecutionException e) {
+                // Handled below once this caller owns the result
+            }
+            synchronized (this) {
+                if (pendingAccept != accept) {
+                    // Another pump took this result
+                    return null;
+                }
+                pendingAccept = null;
+            }
+            try {
+                return new ServiceBusInboundSession(accept.join());
+            } catch (CompletionException e) {
+                // The SDK reports "no session available" as a timeout
+                log.trace("No session available", e.getCause());
+                return null;
+            }
+        }
+
+        @Override
+        public void close() {
+            synchronized (this) {
+                closed = true;
+                if (pendingAccept != null) {
+                    pendingAccept.thenAccept(ServiceBusReceiverClient::close);
+                }
+            }
+            acceptor.shutdown();
+            sessionReceiver.close();
+        }
+    }
+
+    @RequiredArgsConstructor
+    private static final class ServiceBusInboundSession implements InboundSession {
+
+        private final ServiceBusReceiverClient receiver;
+        // By lock token: two deliveries of one message ID in a single receive must settle separately
+        private final Map<String, ServiceBusReceivedMessage> pending = new HashMap<>();
+
+        @Override
+        public String getSessionId() {
+            return receiver.getSessionId();
+        }
+
+        @Override
+        public List<InboundMessage> receive(int maxMessages, Duration maxWait) {
+            List<InboundMessage> messages = new ArrayList<>();
+            for (ServiceBusReceivedMessage received : receiver.receiveMessages(maxMessages, maxWait)) {
+                pending.put(received.getLockToken(), received);
+                messages.add(new InboundMessage(
+                    received.getMessageId(),
+                    received.getSessionId(),
+                    received.getSubject(),
+                    received.getBody().toBytes(),
+                    received.getEnqueuedTime(),
+                    (int) received.getDeliveryCount(),
+                    received.getLockToken()));
+            }
+            return messages;
+        }
+
+        @Override
+        public void complete(InboundMessage message) {
+            receiver.complete(pending.remove(message.lockToken()));
+        }
+
+        @Override
+        public void abandon(InboundMessage message) {
+            receiver.abandon(pending.remove(message.lockToken()));
+        }
+
+        @Override
+        public void deadLetter(InboundMessage message, String reason, String description) {
+            receiver.deadLetter(pending.remove(message.lockToken()), new DeadLetterOptions()
+                .setDeadLetterReason(reason)
+                .setDeadLetterErrorDescription(description));
+        }
+
+        @Override
+        public void close() {
+            receiver.close();
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.csom.platform.orderservice.messaging.inbound.handler;
+
+import com.csom.platform.orderservice.entity.Order;
+import com.csom.platform.orderservice.messaging.OrderEventPublisher;
+import com.csom.platform.orderservice.messaging.inbound.InboundMessage;
+import com.csom.platform.orderservice.messaging.inbound.InboundMessageHandler;
+import com.csom.platform.orderservice.repository.OrderBulkRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * GDPR erasure commands from customer-service: soft-deletes all orders of the customer.
+ */
+@Component
+@RequiredArgsConstructor
+public class GdprErasureHandler implements InboundMessageHandler {
+
+    private final OrderBulkRepository orderBulkRepository;
+    private final OrderEventPublisher eventPublisher;
+    private final ObjectMapper objectMapper;
+
+    @Override
+    public String topic() {
+        return "gdpr-events";
+    }
+
+    @Override
+    public String subject() {
+        return "GDPR_ERASURE";
+    }
+
+    @Override
+    public List<Order> handle(List<InboundMessage> messages) throws IOException {
+        Set<UUID> customerIds = new LinkedHashSet<>();
+        for (InboundMessage message : messages) {
+            customerIds.add(UUID.fromString(objectMapper.readTree(message.body()).path("customerId").asText()));
+        }
+        return orderBulkRepository.softDeleteByCustomerIds(customerIds);
+    }
+
+    @Override
+    public void publish(List<Order> changed) {
+        changed.forEach(eventPublisher::publishOrderDeleted);
+    }
+}
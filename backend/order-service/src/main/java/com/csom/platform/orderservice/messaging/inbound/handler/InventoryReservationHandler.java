@@ -0,0 +1,104 @@
+package com.csom.platform.orderservice.messaging.inbound.handler;
+
+import com.csom.platform.orderservice.entity.Order;
+import com.csom.platform.orderservice.entity.OrderStatus;
+import com.csom.platform.orderservice.messaging.OrderEventPublisher;
+import com.csom.platform.orderservice.messaging.inbound.InboundMessage;
+import com.csom.platform.orderservice.messaging.inbound.InboundMessageHandler;
+import com.csom.platform.orderservice.repository.OrderBulkRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Inventory reservation outcomes from product-service: confirmed orders move to processing
+ * once stock is reserved, and orders whose reservation failed are cancelled.
+ *
+ * <p>Payment results arrive on another topic, so a reservation can overtake the payment that
+ * confirms its order. A reservation for an order still pending payment fails the message, and
+ * the processor redelivers it after a backoff (dead-lettering it after the maximum attempts)
+ * instead of completing it as a no-op. Reservations for orders that are past that point
+ * (cancelled, deleted, already processing) are completed and counted.
+ */
+@Component
+@Slf4j
+public class InventoryReservationHandler implements InboundMessageHandler {
+
+    private final OrderBulkRepository orderBulkRepository;
+    private final OrderEventPublisher eventPublisher;
+    private final ObjectMapper objectMapper;
+    private final Counter ignoredReservations;
+
+    public InventoryReservationHandler(OrderBulkRepository orderBulkRepository, OrderEventPublisher eventPublisher,
+                                       ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        this.orderBulkRepository = orderBulkRepository;
+        this.eventPublisher = eventPublisher;
+        this.objectMapper = objectMapper;
+        this.ignoredReservations = Counter.builder("orders.inbound.reservations.ignored")
+            .description("Successful inventory reservations for orders no longer awaiting them")
+            .register(meterRegistry);
+    }
+
+    @Override
+    public String topic() {
+        return "inventory-events";
+    }
+
+    @Override
+    public String subject() {
+        return "INVENTORY_RESERVATION";
+    }
+
+    @Override
+    public List<Order> handle(List<InboundMessage> messages) throws IOException {
+        Map<UUID, Boolean> reservedByOrder = new LinkedHashMap<>();
+        for (InboundMessage message : messages) {
+            JsonNode body = objectMapper.readTree(message.body());
+            reservedByOrder.put(UUID.fromString(body.path("orderId").asText()), body.path("reserved").asBoolean());
+        }
+
+        List<UUID> reserved = new ArrayList<>();
+        List<UUID> rejected = new ArrayList<>();
+        reservedByOrder.forEach((orderId, ok) -> (ok ? reserved : rejected).add(orderId));
+
+        List<Order> updated = new ArrayList<>();
+        List<Order> processing = orderBulkRepository.transitionStatus(
+            reserved, Set.of(OrderStatus.CONFIRMED), OrderStatus.PROCESSING);
+        if (processing.size() < reserved.size()) {
+            checkNotAwaitingPayment(reserved, processing);
+        }
+        updated.addAll(processing);
+        updated.addAll(orderBulkRepository.transitionStatus(
+            rejected, Set.of(OrderStatus.PENDING, OrderStatus.CONFIRMED), OrderStatus.CANCELLED));
+        return updated;
+    }
+
+    private void checkNotAwaitingPayment(List<UUID> reserved, List<Order> processing) {
+        Set<UUID> unchanged = new LinkedHashSet<>(reserved);
+        processing.forEach(order -> unchanged.remove(order.getId()));
+        Set<UUID> awaitingPayment = orderBulkRepository.findIdsInStatus(unchanged, OrderStatus.PENDING);
+        if (!awaitingPayment.isEmpty()) {
+            // Rolls back the batch; the processor retries its messages one by one and holds this one
+            throw new IllegalStateException("Inventory reserved before payment confirmed orders " + awaitingPayment);
+        }
+        ignoredReservations.increment(unchanged.size());
+        log.info("Ignoring inventory reservations for {} orders not awaiting them: {}", unchanged.size(), unchanged);
+    }
+
+    @Override
+    public void publish(List<Order> changed) {
+        eventPublisher.publishOrderStatusUpdates(changed);
+    }
+}
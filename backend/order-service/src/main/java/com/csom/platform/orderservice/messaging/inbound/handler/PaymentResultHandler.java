@@ -0,0 +1,67 @@
+package com.csom.platform.orderservice.messaging.inbound.handler;
+
+import com.csom.platform.orderservice.entity.Order;
+import com.csom.platform.orderservice.entity.OrderStatus;
+import com.csom.platform.orderservice.messaging.OrderEventPublisher;
+import com.csom.platform.orderservice.messaging.inbound.InboundMessage;
+import com.csom.platform.orderservice.messaging.inbound.InboundMessageHandler;
+import com.csom.platform.orderservice.repository.OrderBulkRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Payment results from payment-service: confirms or cancels pending orders.
+ */
+@Component
+@RequiredArgsConstructor
+public class PaymentResultHandler implements InboundMessageHandler {
+
+    private final OrderBulkRepository orderBulkRepository;
+    private final OrderEventPublisher eventPublisher;
+    private final ObjectMapper objectMapper;
+
+    @Override
+    public String topic() {
+        return "payment-events";
+    }
+
+    @Override
+    public String subject() {
+        return "PAYMENT_RESULT";
+    }
+
+    @Override
+    public List<Order> handle(List<InboundMessage> messages) throws IOException {
+        // Later results for the same order supersede earlier ones
+        Map<UUID, Boolean> succeededByOrder = new LinkedHashMap<>();
+        for (InboundMessage message : messages) {
+            JsonNode body = objectMapper.readTree(message.body());
+            succeededByOrder.put(UUID.fromString(body.path("orderId").asText()),
+                "SUCCEEDED".equals(body.path("status").asText()));
+        }
+
+        List<UUID> succeeded = new ArrayList<>();
+        List<UUID> failed = new ArrayList<>();
+        succeededByOrder.forEach((orderId, ok) -> (ok ? succeeded : failed).add(orderId));
+
+        List<Order> updated = new ArrayList<>();
+        updated.addAll(orderBulkRepository.transitionStatus(succeeded, Set.of(OrderStatus.PENDING), OrderStatus.CONFIRMED));
+        updated.addAll(orderBulkRepository.transitionStatus(failed, Set.of(OrderStatus.PENDING), OrderStatus.CANCELLED));
+        return updated;
+    }
+
+    @Override
+    public void publish(List<Order> changed) {
+        eventPublisher.publishOrderStatusUpdates(changed);
+    }
+}
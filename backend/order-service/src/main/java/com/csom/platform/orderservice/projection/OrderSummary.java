@@ -0,0 +1,19 @@
+package com.csom.platform.orderservice.projection;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Row of the denormalized order listing read model.
+ */
+public record OrderSummary(
+    UUID orderId,
+    UUID customerId,
+    String status,
+    Double totalAmount,
+    int itemCount,
+    LocalDateTime createdAt,
+    LocalDateTime updatedAt,
+    long version
+) {
+}
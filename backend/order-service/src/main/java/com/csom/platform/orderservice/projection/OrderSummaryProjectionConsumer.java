@@ -0,0 +1,86 @@
+package com.csom.platform.orderservice.projection;
+
+import com.azure.messaging.servicebus.ServiceBusClientBuilder;
+import com.azure.messaging.servicebus.ServiceBusErrorContext;
+import com.azure.messaging.servicebus.ServiceBusProcessorClient;
+import com.azure.messaging.servicebus.ServiceBusReceivedMessageContext;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+
+/**
+ * Consumes the order-events topic through the shared order-summary-projection subscription,
+ * so each event is applied once across all replicas. Messages that fail are abandoned and
+ * redelivered by the broker until its max delivery count dead-letters them.
+ */
+@Component
+@ConditionalOnProperty(name = "orders.read-model.enabled", havingValue = "true")
+@Slf4j
+public class OrderSummaryProjectionConsumer {
+
+    private final OrderSummaryProjector projector;
+    private final ObjectMapper objectMapper;
+    private final String connectionString;
+    private final String topicName;
+    private final String subscriptionName;
+    private final int maxConcurrentCalls;
+    private ServiceBusProcessorClient processorClient;
+
+    public OrderSummaryProjectionConsumer(
+            OrderSummaryProjector projector,
+            ObjectMapper objectMapper,
+            @Value("${azure.servicebus.connection-string}") String connectionString,
+            @Value("${orders.read-model.topic:order-events}") String topicName,
+            @Value("${orders.read-model.subscription-name:order-summary-projection}") String subscriptionName,
+            @Value("${orders.read-model.max-concurrent-calls:8}") int maxConcurrentCalls) {
+        this.projector = projector;
+        this.objectMapper = objectMapper;
+        this.connectionString = connectionString;
+        this.topicName = topicName;
+        this.subscriptionName = subscriptionName;
+        this.maxConcurrentCalls = maxConcurrentCalls;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        processorClient = new ServiceBusClientBuilder()
+            .connectionString(connectionString)
+            .processor()
+            .topicName(topicName)
+            .subscriptionName(subscriptionName)
+            .maxConcurrentCalls(maxConcurrentCalls)
+            .prefetchCount(maxConcurrentCalls * 20)
+            .processMessage(this::onMessage)
+            .processError(this::onError)
+            .buildProcessorClient();
+        processorClient.start();
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (processorClient != null) {
+            processorClient.close();
+        }
+    }
+
+    private void onMessage(ServiceBusReceivedMessageContext context) {
+        try {
+            projector.apply(objectMapper.readTree(context.getMessage().getBody().toBytes()));
+        } catch (IOException e) {
+            // Unparseable events will never succeed; dead-letter instead of retrying
+            context.deadLetter();
+            log.warn("Dead-lettered unreadable order event {}", context.getMessage().getMessageId(), e);
+        }
+    }
+
+    private void onError(ServiceBusErrorContext context) {
+        log.warn("Order summary projection error from {}", context.getErrorSource(), context.getException());
+    }
+}
@@ -0,0 +1,118 @@
+package com.csom.platform.orderservice.projection;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Applies order events to the order summary read model and rebuilds it from the write tables.
+ * Events are idempotent and may arrive in any order; the version on each row decides.
+ */
+@Component
+@Slf4j
+public class OrderSummaryProjector {
+
+    private static final UUID REBUILD_START = new UUID(0L, 0L);
+    private static final int REBUILD_CHUNK_SIZE = 5000;
+
+    private final OrderSummaryRepository orderSummaryRepository;
+    private final ExecutorService rebuildExecutor;
+    private final AtomicBoolean rebuilding = new AtomicBoolean();
+
+    public OrderSummaryProjector(OrderSummaryRepository orderSummaryRepository) {
+        this.orderSummaryRepository = orderSummaryRepository;
+        this.rebuildExecutor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "order-summary-rebuild");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public void apply(JsonNode event) {
+        String eventType = event.path("eventType").asText();
+        UUID orderId = UUID.fromString(event.path("orderId").asText());
+        UUID customerId = UUID.fromString(event.path("customerId").asText());
+        long version = event.path("version").asLong();
+
+        switch (eventType) {
+            case "ORDER_CREATED" -> orderSummaryRepository.upsertCreated(
+                orderId, customerId,
+                event.path("status").asText(),
+                event.path("totalAmount").asDouble(),
+                event.path("itemCount").asInt(),
+                timestamp(event, "createdAt"),
+                timestamp(event, "updatedAt"),
+                version);
+            case "ORDER_STATUS_UPDATED" -> orderSummaryRepository.upsertStatus(
+                orderId, customerId, event.path("status").asText(), timestamp(event, "updatedAt"), version, false);
+            case "ORDER_DELETED" -> orderSummaryRepository.upsertStatus(
+                orderId, customerId, event.path("status").asText(), timestamp(event, "updatedAt"), version, true);
+            default -> log.debug("Ignoring event type {} for order summaries", eventType);
+        }
+    }
+
+    /**
+     * Starts {@link #rebuild()} in the background. Returns false if a rebuild is already running.
+     */
+    public boolean startRebuild() {
+        if (!rebuilding.compareAndSet(false, true)) {
+            return false;
+        }
+        try {
+            rebuildExecutor.execute(() -> {
+                try {
+                    rebuild();
+                } catch (RuntimeException e) {
+                    log.error("Order summary rebuild failed", e);
+                } finally {
+                    rebuilding.set(false);
+                }
+            });
+        } catch (RuntimeException e) {
+            rebuilding.set(false);
+            throw e;
+        }
+        return true;
+    }
+
+    public boolean isRebuilding() {
+        return rebuilding.get();
+    }
+
+    /**
+     * Replays the write tables into the read model in primary-key chunks. Safe to run while
+     * events are still being applied, since both sides only ever move a row forward by version.
+     */
+    public int rebuild() {
+        int rows = 0;
+        UUID after = REBUILD_START;
+        UUID upTo;
+        while ((upTo = orderSummaryRepository.findRebuildChunkEnd(after, REBUILD_CHUNK_SIZE)) != null) {
+            rows += orderSummaryRepository.rebuildRange(after, upTo);
+            after = upTo;
+        }
+        int orphans = orderSummaryRepository.deleteOrphans();
+        log.info("Rebuilt order summaries: {} rows upserted, {} orphans removed", rows, orphans);
+        return rows;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        rebuildExecutor.shutdownNow();
+    }
+
+    private LocalDateTime timestamp(JsonNode event, String field) {
+        JsonNode value = event.path(field);
+        if (!value.isTextual() || "null".equals(value.asText())) {
+            return null;
+        }
+        return LocalDateTime.parse(value.asText());
+    }
+}
@@ -0,0 +1,179 @@
+package com.csom.platform.orderservice.projection;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * JDBC access to {@code orders.order_summaries}. Every write is an upsert guarded by the
+ * order version, so replaying or reordering events can never move a row backwards.
+ */
+@Repository
+@RequiredArgsConstructor
+public class OrderSummaryRepository {
+
+    private static final String UPSERT_CREATED = """
+        INSERT INTO orders.order_summaries
+            (order_id, customer_id, status, total_amount, item_count, created_at, updated_at, version, deleted)
+        VALUES (:orderId, :customerId, :status, :totalAmount, :itemCount, :createdAt, :updatedAt, :version, false)
+        ON CONFLICT (order_id) DO UPDATE SET
+            total_amount = EXCLUDED.total_amount,
+            item_count = EXCLUDED.item_count,
+            created_at = EXCLUDED.created_at,
+            status = CASE WHEN order_summaries.version < EXCLUDED.version
+                          THEN EXCLUDED.status ELSE order_summaries.status END,
+            updated_at = CASE WHEN order_summaries.version < EXCLUDED.version
+                              THEN EXCLUDED.updated_at ELSE order_summaries.updated_at END,
+            version = GREATEST(order_summaries.version, EXCLUDED.version)
+        """;
+
+    // A status change can overtake ORDER_CREATED; the partial row stays hidden until creation fills it in
+    private static final String UPSERT_STATUS = """
+        INSERT INTO orders.order_summaries
+            (order_id, customer_id, status, updated_at, version, deleted)
+        VALUES (:orderId, :customerId, :status, :updatedAt, :version, :deleted)
+        ON CONFLICT (order_id) DO UPDATE SET
+            status = EXCLUDED.status,
+            updated_at = EXCLUDED.updated_at,
+            version = EXCLUDED.version,
+            deleted = order_summaries.deleted OR EXCLUDED.deleted
+        WHERE order_summaries.version < EXCLUDED.version
+        """;
+
+    // A row still missing its creation columns gets them even from an older snapshot: its
+    // ORDER_CREATED event was applied before the rebuild started and will not come again
+    private static final String REBUILD_RANGE = """
+        INSERT INTO orders.order_summaries
+            (order_id, customer_id, status, total_amount, item_count, created_at, updated_at, version, deleted)
+        SELECT o.id, o.customer_id, o.status, o.total_amount,
+               (SELECT count(*) FROM orders.order_items i WHERE i.order_id = o.id),
+               o.created_at, o.updated_at, o.version, COALESCE(o.deleted, false)
+        FROM orders.orders o
+        WHERE o.id > :after AND o.id <= :upTo
+        ON CONFLICT (order_id) DO UPDATE SET
+            customer_id = EXCLUDED.customer_id,
+            total_amount = EXCLUDED.total_amount,
+            item_count = EXCLUDED.item_count,
+            created_at = EXCLUDED.created_at,
+            status = CASE WHEN order_summaries.version <= EXCLUDED.version
+                          THEN EXCLUDED.status ELSE order_summaries.status END,
+            updated_at = CASE WHEN order_summaries.version <= EXCLUDED.version
+                              THEN EXCLUDED.updated_at ELSE order_summaries.updated_at END,
+            deleted = CASE WHEN order_summaries.version <= EXCLUDED.version
+                           THEN EXCLUDED.deleted ELSE order_summaries.deleted END,
+            version = GREATEST(order_summaries.version, EXCLUDED.version)
+        WHERE order_summaries.version <= EXCLUDED.version OR order_summaries.created_at IS NULL
+        """;
+
+    private static final RowMapper<OrderSummary> ROW_MAPPER = (rs, rowNum) -> new OrderSummary(
+        rs.getObject("order_id", UUID.class),
+        rs.getObject("customer_id", UUID.class),
+        rs.getString("status"),
+        toDouble(rs.getBigDecimal("total_amount")),
+        rs.getInt("item_count"),
+        rs.getObject("created_at", LocalDateTime.class),
+        rs.getObject("updated_at", LocalDateTime.class),
+        rs.getLong("version")
+    );
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    public void upsertCreated(UUID orderId, UUID customerId, String status, Double totalAmount, int itemCount,
+                              LocalDateTime createdAt, LocalDateTime updatedAt, long version) {
+        jdbcTemplate.update(UPSERT_CREATED, new MapSqlParameterSource()
+            .addValue("orderId", orderId)
+            .addValue("customerId", customerId)
+            .addValue("status", status)
+            .addValue("totalAmount", totalAmount)
+            .addValue("itemCount", itemCount)
+            .addValue("createdAt", createdAt)
+            .addValue("updatedAt", updatedAt)
+            .addValue("version", version));
+    }
+
+    public void upsertStatus(UUID orderId, UUID customerId, String status, LocalDateTime updatedAt,
+                             long version, boolean deleted) {
+        jdbcTemplate.update(UPSERT_STATUS, new MapSqlParameterSource()
+            .addValue("orderId", orderId)
+            .addValue("customerId", customerId)
+            .addValue("status", status)
+            .addValue("updatedAt", updatedAt)
+            .addValue("version", version)
+            .addValue("deleted", deleted));
+    }
+
+    /**
+     * Upper bound of the next rebuild chunk, or null when no orders remain after {@code after}.
+     */
+    public UUID findRebuildChunkEnd(UUID after, int chunkSize) {
+        // PostgreSQL has no max(uuid) aggregate
+        return jdbcTemplate.query(
+            "SELECT id FROM (SELECT id FROM orders.orders WHERE id > :after ORDER BY id LIMIT :limit) chunk " +
+            "ORDER BY id DESC LIMIT 1",
+            new MapSqlParameterSource().addValue("after", after).addValue("limit", chunkSize),
+            rs -> rs.next() ? rs.getObject(1, UUID.class) : null);
+    }
+
+    public int rebuildRange(UUID after, UUID upTo) {
+        return jdbcTemplate.update(REBUILD_RANGE,
+            new MapSqlParameterSource().addValue("after", after).addValue("upTo", upTo));
+    }
+
+    public int deleteOrphans() {
+        return jdbcTemplate.update("""
+            DELETE FROM orders.order_summaries s
+            WHERE NOT EXISTS (SELECT 1 FROM orders.orders o WHERE o.id = s.order_id)
+            """, new MapSqlParameterSource());
+    }
+
+    /**
+     * Fingerprint of a customer's visible summaries, over the same rows {@link #findByCustomer} pages through.
+     */
+    public ListVersion findListVersion(UUID customerId, String status) {
+        MapSqlParameterSource params = new MapSqlParameterSource().addValue("customerId", customerId);
+        String sql = "SELECT count(*) AS order_count, max(updated_at) AS last_updated_at, sum(version) AS version_sum " +
+                     "FROM orders.order_summaries " +
+                     "WHERE customer_id = :customerId AND deleted = false AND created_at IS NOT NULL ";
+        if (status != null) {
+            sql += "AND status = :status";
+            params.addValue("status", status);
+        }
+        return jdbcTemplate.queryForObject(sql, params, (rs, rowNum) -> new ListVersion(
+            rs.getLong("order_count"),
+            rs.getObject("last_updated_at", LocalDateTime.class),
+            rs.getObject("version_sum", Long.class)));
+    }
+
+    /**
+     * Newest-first page of a customer's visible orders, served by the partial listing indexes.
+     */
+    public List<OrderSummary> findByCustomer(UUID customerId, String status, int page, int size) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+            .addValue("customerId", customerId)
+            .addValue("limit", size)
+            .addValue("offset", (long) page * size);
+        String sql = "SELECT * FROM orders.order_summaries " +
+                     "WHERE customer_id = :customerId AND deleted = false AND created_at IS NOT NULL ";
+        if (status != null) {
+            sql += "AND status = :status ";
+            params.addValue("status", status);
+        }
+        sql += "ORDER BY created_at DESC LIMIT :limit OFFSET :offset";
+        return jdbcTemplate.query(sql, params, ROW_MAPPER);
+    }
+
+    // pgjdbc only converts floating point columns to Double; total_amount is DECIMAL
+    private static Double toDouble(BigDecimal value) {
+        return value != null ? value.doubleValue() : null;
+    }
+
+    public record ListVersion(long orderCount, LocalDateTime lastUpdatedAt, Long versionSum) {
+    }
+}
@@ -0,0 +1,45 @@
+package com.csom.platform.orderservice.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Reads {@code orders.customer_order_stats}. The counters are written by database triggers in the
+ * same transaction as the order change (see migration 006), so there is no write path here.
+ */
+@Repository
+@RequiredArgsConstructor
+public class CustomerOrderStatsRepository {
+
+    private static final String FIND_BY_CUSTOMER = """
+        SELECT status, sum(order_count) AS order_count, sum(total_amount) AS total_amount
+        FROM orders.customer_order_stats
+        WHERE customer_id = :customerId
+        GROUP BY status
+        HAVING sum(order_count) <> 0
+        """;
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    /**
+     * Counters by status, summed over the customer's shards. Cost depends on the number of
+     * statuses and shards, not on the number of orders.
+     */
+    public List<StatusCount> findByCustomer(UUID customerId) {
+        return jdbcTemplate.query(FIND_BY_CUSTOMER,
+            new MapSqlParameterSource().addValue("customerId", customerId),
+            (rs, rowNum) -> new StatusCount(
+                rs.getString("status"),
+                rs.getLong("order_count"),
+                rs.getBigDecimal("total_amount")));
+    }
+
+    public record StatusCount(String status, long orderCount, BigDecimal totalAmount) {
+    }
+}
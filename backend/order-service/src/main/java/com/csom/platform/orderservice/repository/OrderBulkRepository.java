@@ -0,0 +1,153 @@
+package com.csom.platform.orderservice.repository;
+
+import com.csom.platform.orderservice.entity.Order;
+import com.csom.platform.orderservice.entity.OrderStatus;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Set-based order updates for integrations that change many orders at once. Each call is a
+ * single UPDATE ... RETURNING, and the returned orders carry the new version for event publishing.
+ */
+@Repository
+@RequiredArgsConstructor
+public class OrderBulkRepository {
+
+    private static final String RETURNING =
+        " RETURNING id, customer_id, status, total_amount, created_at, updated_at, version, deleted";
+
+    private static final RowMapper<Order> ORDER_MAPPER = (rs, rowNum) -> Order.builder()
+        .id(rs.getObject("id", UUID.class))
+        .customerId(rs.getObject("customer_id", UUID.class))
+        .status(OrderStatus.valueOf(rs.getString("status")))
+        .totalAmount(rs.getDouble("total_amount"))
+        .createdAt(rs.getObject("created_at", LocalDateTime.class))
+        .updatedAt(rs.getObject("updated_at", LocalDateTime.class))
+        .version(rs.getLong("version"))
+        .deleted(rs.getBoolean("deleted"))
+        .build();
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    /**
+     * Moves the given orders to {@code toStatus}, skipping any that are deleted or not currently in one of {@code fromStatuses}.
+     */
+    public List<Order> transitionStatus(Collection<UUID> orderIds, Collection<OrderStatus> fromStatuses,
+                                        OrderStatus toStatus) {
+        if (orderIds.isEmpty() || fromStatuses.isEmpty()) {
+            return List.of();
+        }
+        return jdbcTemplate.query(
+            "UPDATE orders.orders SET status = :toStatus, version = version + 1, updated_at = now() " +
+            "WHERE id IN (:orderIds) AND status IN (:fromStatuses) AND deleted = false" + RETURNING,
+            new MapSqlParameterSource()
+                .addValue("toStatus", toStatus.name())
+                .addValue("orderIds", orderIds)
+                .addValue("fromStatuses", fromStatuses.stream().map(OrderStatus::name).toList()),
+            ORDER_MAPPER);
+    }
+
+    /**
+     * Moves up to {@code limit} orders matching the filter to {@code toStatus}. Rows locked by
+     * concurrent updates are skipped rather than waited for, so a short result does not mean
+     * nothing else matches; see {@link #existsMatching}.
+     */
+    public List<Order> transitionStatusMatching(Collection<OrderStatus> fromStatuses, LocalDateTime createdAfter,
+                                                LocalDateTime createdBefore, OrderStatus toStatus, int limit) {
+        if (fromStatuses.isEmpty()) {
+            return List.of();
+        }
+        MapSqlParameterSource params = new MapSqlParameterSource()
+            .addValue("toStatus", toStatus.name())
+            .addValue("limit", limit);
+        String match = matchFilter(fromStatuses, createdAfter, createdBefore, params);
+        return jdbcTemplate.query(
+            "UPDATE orders.orders SET status = :toStatus, version = version + 1, updated_at = now() " +
+            "WHERE id IN (SELECT id FROM orders.orders WHERE " + match +
+            " ORDER BY id LIMIT :limit FOR UPDATE SKIP LOCKED) AND " + match + RETURNING,
+            params,
+            ORDER_MAPPER);
+    }
+
+    /**
+     * Whether any order still matches the filter, including rows currently locked by other transactions.
+     */
+    public boolean existsMatching(Collection<OrderStatus> fromStatuses, LocalDateTime createdAfter,
+                                  LocalDateTime createdBefore) {
+        if (fromStatuses.isEmpty()) {
+            return false;
+        }
+        MapSqlParameterSource params = new MapSqlParameterSource();
+        String match = matchFilter(fromStatuses, createdAfter, createdBefore, params);
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject(
+            "SELECT EXISTS (SELECT 1 FROM orders.orders WHERE " + match + ")", params, Boolean.class));
+    }
+
+    private static String matchFilter(Collection<OrderStatus> fromStatuses, LocalDateTime createdAfter,
+                                      LocalDateTime createdBefore, MapSqlParameterSource params) {
+        params.addValue("fromStatuses", fromStatuses.stream().map(OrderStatus::name).toList());
+        StringBuilder match = new StringBuilder("status IN (:fromStatuses) AND deleted = false");
+        if (createdAfter != null) {
+            match.append(" AND created_at >= :createdAfter");
+            params.addValue("createdAfter", createdAfter);
+        }
+        if (createdBefore != null) {
+            match.append(" AND created_at < :createdBefore");
+            params.addValue("createdBefore", createdBefore);
+        }
+        return match.toString();
+    }
+
+    /**
+     * The IDs among {@code orderIds} of orders that exist, are not deleted and are currently in {@code status}.
+     */
+    public Set<UUID> findIdsInStatus(Collection<UUID> orderIds, OrderStatus status) {
+        if (orderIds.isEmpty()) {
+            return Set.of();
+        }
+        return new HashSet<>(jdbcTemplate.queryForList(
+            "SELECT id FROM orders.orders WHERE id IN (:orderIds) AND status = :status AND deleted = false",
+            new MapSqlParameterSource()
+                .addValue("orderIds", orderIds)
+                .addValue("status", status.name()),
+            UUID.class));
+    }
+
+    /**
+     * Sets who and why for the status history rows written by this transaction's updates
+     * (read by the orders.log_order_status_changes trigger). Must run inside a transaction.
+     */
+    public void setStatusChangeContext(UUID changedBy, String notes) {
+        jdbcTemplate.query(
+            "SELECT set_config('orders.status_changed_by', :changedBy, true), " +
+            "set_config('orders.status_change_notes', :notes, true)",
+            new MapSqlParameterSource()
+                .addValue("changedBy", changedBy != null ? changedBy.toString() : "")
+                .addValue("notes", notes != null ? notes : ""),
+            rs -> null);
+    }
+
+    /**
+     * Soft-deletes every order of the given customers (GDPR erasure).
+     */
+    public List<Order> softDeleteByCustomerIds(Collection<UUID> customerIds) {
+        if (customerIds.isEmpty()) {
+            return List.of();
+        }
+        return jdbcTemplate.query(
+            "UPDATE orders.orders SET deleted = true, version = version + 1, updated_at = now() " +
+            "WHERE customer_id IN (:customerIds) AND deleted = false" + RETURNING,
+            new MapSqlParameterSource().addValue("customerIds", customerIds),
+            ORDER_MAPPER);
+    }
+}
@@ -3,8 +3,11 @@ package com.csom.platform.orderservice.repository;
 import com.csom.platform.orderservice.entity.Order;
 import com.csom.platform.orderservice.entity.OrderStatus;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -14,5 +17,21 @@ public interface OrderRepository extends JpaRepository<Order, UUID> {
     Optional<Order> findByIdAndCustomerId(UUID id, UUID customerId);
     List<Order> findByCustomerId(UUID customerId);
     List<Order> findByCustomerIdAndStatus(UUID customerId, OrderStatus status);
+
+    @Query("select o.version from Order o where o.id = :id and o.customerId = :customerId")
+    Optional<Long> findVersionByIdAndCustomerId(@Param("id") UUID id, @Param("customerId") UUID customerId);
+
+    @Query("select count(o) as orderCount, max(o.updatedAt) as lastUpdatedAt, sum(o.version) as versionSum " +
+           "from Order o where o.customerId = :customerId and (:status is null or o.status = :status)")
+    OrderListVersion findListVersion(@Param("customerId") UUID customerId, @Param("status") OrderStatus status);
+
+    /**
+     * Cheap fingerprint of a customer's order list; any insert or update changes at least one field.
+     */
+    interface OrderListVersion {
+        long getOrderCount();
+        LocalDateTime getLastUpdatedAt();
+        Long getVersionSum();
+    }
 }
 
@@ -0,0 +1,145 @@
+package com.csom.platform.orderservice.service;
+
+import com.csom.platform.orderservice.dto.OrderBulkStatusRequest;
+import com.csom.platform.orderservice.dto.OrderBulkStatusResponse;
+import com.csom.platform.orderservice.entity.Order;
+import com.csom.platform.orderservice.entity.OrderStatus;
+import com.csom.platform.orderservice.messaging.OrderEventPublisher;
+import com.csom.platform.orderservice.repository.OrderBulkRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Status changes for many orders at once (warehouse and fulfillment integrations).
+ *
+ * <p>Orders are updated with set-based UPDATE ... RETURNING statements of at most
+ * {@code chunk-size} rows; status history is written per statement by the
+ * {@code orders.log_order_status_changes} trigger, and events go out as Service Bus batches
+ * once the transaction has committed, so consumers never see a change that was rolled back.
+ * An ID list is applied in one transaction. A filter is applied one chunk per transaction,
+ * up to {@code max-orders} per request, so a large match never holds locks on every row at once.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class OrderBulkStatusService {
+
+    private final OrderBulkRepository orderBulkRepository;
+    private final OrderEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${orders.bulk-status.chunk-size:1000}")
+    private int chunkSize;
+
+    @Value("${orders.bulk-status.max-orders:50000}")
+    private int maxOrders;
+
+    public OrderBulkStatusResponse transitionStatus(OrderBulkStatusRequest request, UUID changedBy) {
+        boolean byIds = request.getOrderIds() != null && !request.getOrderIds().isEmpty();
+        if (byIds == (request.getFilter() != null)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Specify either orderIds or filter");
+        }
+        OrderStatus toStatus = parseStatus(request.getStatus());
+        Set<OrderStatus> fromStatuses = toStatus.fulfillmentPredecessors();
+        if (fromStatuses.isEmpty()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                "Orders cannot be moved to " + toStatus + " in bulk");
+        }
+
+        OrderBulkStatusResponse response = byIds
+            ? transitionByIds(new LinkedHashSet<>(request.getOrderIds()), fromStatuses, toStatus, changedBy, request.getNotes())
+            : transitionByFilter(request.getFilter(), fromStatuses, toStatus, changedBy, request.getNotes());
+        response.setStatus(toStatus.name());
+        log.info("Bulk status transition to {}: {} orders updated", toStatus, response.getUpdatedCount());
+        return response;
+    }
+
+    private OrderBulkStatusResponse transitionByIds(Set<UUID> orderIds, Set<OrderStatus> fromStatuses,
+                                                    OrderStatus toStatus, UUID changedBy, String notes) {
+        List<Order> updated = transactionTemplate.execute(status -> {
+            orderBulkRepository.setStatusChangeContext(changedBy, notes);
+            List<UUID> ids = new ArrayList<>(orderIds);
+            List<Order> orders = new ArrayList<>(ids.size());
+            for (int from = 0; from < ids.size(); from += chunkSize) {
+                orders.addAll(orderBulkRepository.transitionStatus(
+                    ids.subList(from, Math.min(from + chunkSize, ids.size())), fromStatuses, toStatus));
+            }
+            return orders;
+        });
+        eventPublisher.publishOrderStatusUpdates(updated);
+
+        Set<UUID> updatedIds = new HashSet<>(updated.size() * 2);
+        updated.forEach(order -> updatedIds.add(order.getId()));
+        List<UUID> skipped = orderIds.stream().filter(id -> !updatedIds.contains(id)).toList();
+
+        OrderBulkStatusResponse response = new OrderBulkStatusResponse();
+        response.setUpdatedCount(updated.size());
+        response.setSkippedOrderIds(skipped);
+        response.setComplete(true);
+        return response;
+    }
+
+    private OrderBulkStatusResponse transitionByFilter(OrderBulkStatusRequest.Filter filter,
+                                                       Set<OrderStatus> allowedFromStatuses, OrderStatus toStatus,
+                                                       UUID changedBy, String notes) {
+        Set<OrderStatus> fromStatuses = allowedFromStatuses;
+        if (filter.getCurrentStatuses() != null && !filter.getCurrentStatuses().isEmpty()) {
+            fromStatuses = EnumSet.noneOf(OrderStatus.class);
+            for (String currentStatus : filter.getCurrentStatuses()) {
+                OrderStatus status = parseStatus(currentStatus);
+                if (!allowedFromStatuses.contains(status)) {
+                    throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                        "Orders cannot be moved from " + status + " to " + toStatus);
+                }
+                fromStatuses.add(status);
+            }
+        }
+
+        Set<OrderStatus> matchStatuses = fromStatuses;
+        int updatedCount = 0;
+        boolean complete = false;
+        while (updatedCount < maxOrders) {
+            int limit = Math.min(chunkSize, maxOrders - updatedCount);
+            List<Order> chunk = transactionTemplate.execute(status -> {
+                orderBulkRepository.setStatusChangeContext(changedBy, notes);
+                return orderBulkRepository.transitionStatusMatching(
+                    matchStatuses, filter.getCreatedAfter(), filter.getCreatedBefore(), toStatus, limit);
+            });
+            eventPublisher.publishOrderStatusUpdates(chunk);
+            updatedCount += chunk.size();
+            if (chunk.size() < limit) {
+                // A short chunk can also mean SKIP LOCKED passed over rows another transaction holds
+                complete = !orderBulkRepository.existsMatching(
+                    matchStatuses, filter.getCreatedAfter(), filter.getCreatedBefore());
+                break;
+            }
+        }
+
+        OrderBulkStatusResponse response = new OrderBulkStatusResponse();
+        response.setUpdatedCount(updatedCount);
+        response.setSkippedOrderIds(List.of());
+        response.setComplete(complete);
+        return response;
+    }
+
+    private OrderStatus parseStatus(String status) {
+        try {
+            return OrderStatus.valueOf(status.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Unknown order status: " + status);
+        }
+    }
+}
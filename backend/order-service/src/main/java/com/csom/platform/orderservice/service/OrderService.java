@@ -1,19 +1,37 @@
 package com.csom.platform.orderservice.service;
 
+import com.csom.platform.orderservice.audit.AuditEvent;
+import com.csom.platform.orderservice.audit.AuditLogIngestor;
+import com.csom.platform.orderservice.catalog.CatalogPricing;
 import com.csom.platform.orderservice.dto.OrderCreateRequest;
 import com.csom.platform.orderservice.dto.OrderResponse;
+import com.csom.platform.orderservice.dto.OrderStatsResponse;
 import com.csom.platform.orderservice.entity.Order;
 import com.csom.platform.orderservice.entity.OrderStatus;
+import com.csom.platform.orderservice.repository.CustomerOrderStatsRepository;
 import com.csom.platform.orderservice.repository.OrderRepository;
 import com.csom.platform.orderservice.client.PaymentServiceClient;
 import com.csom.platform.orderservice.client.ProductServiceClient;
 import com.csom.platform.orderservice.messaging.OrderEventPublisher;
+import com.csom.platform.orderservice.projection.OrderSummary;
+import com.csom.platform.orderservice.projection.OrderSummaryRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
-
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.DigestUtils;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
@@ -22,10 +40,24 @@ import java.util.stream.Collectors;
 @Slf4j
 public class OrderService {
 
+    // Statuses whose totals count towards lifetime spend
+    private static final Set<OrderStatus> SPEND_STATUSES =
+        EnumSet.of(OrderStatus.CONFIRMED, OrderStatus.PROCESSING, OrderStatus.SHIPPED, OrderStatus.DELIVERED);
+
     private final OrderRepository orderRepository;
     private final PaymentServiceClient paymentServiceClient;
     private final ProductServiceClient productServiceClient;
     private final OrderEventPublisher eventPublisher;
+    private final OrderSummaryRepository orderSummaryRepository;
+    private final AuditLogIngestor auditLogIngestor;
+    private final CustomerOrderStatsRepository customerOrderStatsRepository;
+    private final CatalogPricing catalogPricing;
+
+    @Value("${orders.read-model.enabled:false}")
+    private boolean readModelEnabled;
+
+    @Value("${orders.read-model.default-page-size:50}")
+    private int defaultPageSize;
 
     @Transactional
     public OrderResponse createOrder(OrderCreateRequest request, String userId) {
@@ -48,6 +80,7 @@ public class OrderService {
 
         // Publish event
         eventPublisher.publishOrderCreated(order);
+        recordAfterCommit(AuditEvent.of(userId, "ORDER_CREATED", "ORDER", order.getId()));
 
         return mapToResponse(order);
     }
@@ -59,6 +92,13 @@ public class OrderService {
     }
 
     public List<OrderResponse> getOrders(String userId, String status, Integer page, Integer size) {
+        if (readModelEnabled) {
+            String orderStatus = status != null ? OrderStatus.valueOf(status.toUpperCase()).name() : null;
+            return orderSummaryRepository.findByCustomer(UUID.fromString(userId), orderStatus,
+                    page != null ? page : 0, size != null ? size : defaultPageSize)
+                .stream().map(this::mapToResponse).collect(Collectors.toList());
+        }
+
         List<Order> orders;
         if (status != null) {
             orders = orderRepository.findByCustomerIdAndStatus(
@@ -69,13 +109,80 @@ public class OrderService {
         return orders.stream().map(this::mapToResponse).collect(Collectors.toList());
     }
 
+    /**
+     * Order counts and totals by status plus lifetime spend, from the incrementally maintained counters.
+     */
+    public OrderStatsResponse getOrderStats(String userId) {
+        UUID customerId = UUID.fromString(userId);
+        Map<String, OrderStatsResponse.StatusStats> byStatus = new LinkedHashMap<>();
+        long totalOrders = 0;
+        BigDecimal lifetimeSpend = BigDecimal.ZERO;
+        for (CustomerOrderStatsRepository.StatusCount count : customerOrderStatsRepository.findByCustomer(customerId)) {
+            OrderStatsResponse.StatusStats stats = new OrderStatsResponse.StatusStats();
+            stats.setOrderCount(count.orderCount());
+            stats.setTotalAmount(count.totalAmount().doubleValue());
+            byStatus.put(count.status(), stats);
+            totalOrders += count.orderCount();
+            if (SPEND_STATUSES.contains(OrderStatus.valueOf(count.status()))) {
+                lifetimeSpend = lifetimeSpend.add(count.totalAmount());
+            }
+        }
+
+        OrderStatsResponse response = new OrderStatsResponse();
+        response.setCustomerId(customerId);
+        response.setTotalOrders(totalOrders);
+        response.setLifetimeSpend(lifetimeSpend.doubleValue());
+        response.setByStatus(byStatus);
+        return response;
+    }
+
+    /**
+     * Strong ETag for a single order, computed from its version without loading the entity.
+     * Returns null if the order does not exist for this customer.
+     */
+    public String getOrderETag(UUID id, String userId) {
+        return orderRepository.findVersionByIdAndCustomerId(id, UUID.fromString(userId))
+            .map(version -> "\"" + id + "-" + version + "\"")
+            .orElse(null);
+    }
+
+    /**
+     * Strong ETag for an order listing, computed from an aggregate over the customer's orders.
+     * With the read model enabled the aggregate comes from the projection the listing is served
+     * from, so the ETag only changes once the listing itself does.
+     */
+    public String getOrdersETag(String userId, String status, Integer page, Integer size) {
+        OrderStatus orderStatus = status != null ? OrderStatus.valueOf(status.toUpperCase()) : null;
+        long orderCount;
+        LocalDateTime lastUpdatedAt;
+        Long versionSum;
+        if (readModelEnabled) {
+            OrderSummaryRepository.ListVersion listVersion = orderSummaryRepository.findListVersion(
+                UUID.fromString(userId), orderStatus != null ? orderStatus.name() : null);
+            orderCount = listVersion.orderCount();
+            lastUpdatedAt = listVersion.lastUpdatedAt();
+            versionSum = listVersion.versionSum();
+        } else {
+            OrderRepository.OrderListVersion listVersion =
+                orderRepository.findListVersion(UUID.fromString(userId), orderStatus);
+            orderCount = listVersion.getOrderCount();
+            lastUpdatedAt = listVersion.getLastUpdatedAt();
+            versionSum = listVersion.getVersionSum();
+        }
+        String fingerprint = String.join("|", String.valueOf(status), String.valueOf(page), String.valueOf(size),
+            Long.toString(orderCount), lastUpdatedAt != null ? lastUpdatedAt.toString() : "", String.valueOf(versionSum));
+        return "\"" + DigestUtils.md5DigestAsHex(fingerprint.getBytes(StandardCharsets.UTF_8)) + "\"";
+    }
+
     @Transactional
     public OrderResponse updateOrderStatus(UUID id, String status, String userId) {
         Order order = orderRepository.findByIdAndCustomerId(id, UUID.fromString(userId))
             .orElseThrow(() -> new RuntimeException("Order not found"));
         order.setStatus(OrderStatus.valueOf(status.toUpperCase()));
-        order = orderRepository.save(order);
+        // Flush so the event carries the incremented version
+        order = orderRepository.saveAndFlush(order);
         eventPublisher.publishOrderStatusUpdated(order);
+        recordAfterCommit(AuditEvent.of(userId, "ORDER_STATUS_UPDATED", "ORDER", id));
         return mapToResponse(order);
     }
 
@@ -85,11 +192,33 @@ public class OrderService {
             .orElseThrow(() -> new RuntimeException("Order not found"));
         // Soft delete for GDPR compliance
         order.setDeleted(true);
-        orderRepository.save(order);
+        order = orderRepository.saveAndFlush(order);
         eventPublisher.publishOrderDeleted(order);
+        recordAfterCommit(AuditEvent.of(userId, "ORDER_DELETED", "ORDER", id));
+    }
+
+    /**
+     * The ingestor writes outside this transaction, so the event is only queued once the change
+     * it describes has committed; a rolled-back change leaves no audit row.
+     */
+    private void recordAfterCommit(AuditEvent event) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            auditLogIngestor.record(event);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                auditLogIngestor.record(event);
+            }
+        });
     }
 
     private Double calculateTotal(OrderCreateRequest request) {
+        if (catalogPricing.isEnabled()) {
+            // Authoritative catalog prices; client-supplied item prices are ignored
+            return BigDecimal.valueOf(catalogPricing.totalCents(request.getItems()), 2).doubleValue();
+        }
         // Calculate total from items
         return request.getItems().stream()
             .mapToDouble(item -> item.getPrice() * item.getQuantity())
@@ -106,5 +235,14 @@ public class OrderService {
         // Map items...
         return response;
     }
-}
 
+    private OrderResponse mapToResponse(OrderSummary summary) {
+        OrderResponse response = new OrderResponse();
+        response.setId(summary.orderId());
+        response.setCustomerId(summary.customerId());
+        response.setStatus(summary.status());
+        response.setTotalAmount(summary.totalAmount());
+        response.setCreatedAt(summary.createdAt());
+        return response;
+    }
+}
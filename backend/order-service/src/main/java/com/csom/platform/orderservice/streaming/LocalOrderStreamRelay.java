@@ -0,0 +1,33 @@
+package com.csom.platform.orderservice.streaming;
+
+import com.csom.platform.orderservice.messaging.OrderChangedEvent;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Feeds the stream hub straight from in-process events. Only sees changes made by this
+ * instance, so it is meant for local development and single-replica deployments.
+ */
+@Component
+@ConditionalOnProperty(name = "orders.stream.source", havingValue = "local")
+@RequiredArgsConstructor
+public class LocalOrderStreamRelay {
+
+    private final OrderStreamHub orderStreamHub;
+    private final AtomicLong sequence = new AtomicLong(System.currentTimeMillis());
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onOrderChanged(OrderChangedEvent event) {
+        orderStreamHub.publish(new OrderStreamEvent(
+            sequence.incrementAndGet(),
+            event.eventType(),
+            event.orderId(),
+            event.customerId(),
+            event.status(),
+            event.updatedAt()));
+    }
+}
@@ -0,0 +1,18 @@
+package com.csom.platform.orderservice.streaming;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Order change as pushed to SSE clients. {@code id} is sent as the SSE event ID and
+ * is what clients hand back in {@code Last-Event-ID} when they reconnect.
+ */
+public record OrderStreamEvent(
+    long id,
+    String eventType,
+    UUID orderId,
+    UUID customerId,
+    String status,
+    LocalDateTime updatedAt
+) {
+}
@@ -0,0 +1,189 @@
+package com.csom.platform.orderservice.streaming;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Fans order change events out to the SSE connections of the owning customer.
+ * Keeps a bounded replay buffer of recent events so reconnecting clients can resume
+ * from {@code Last-Event-ID}; if events after the requested ID may have been evicted, or
+ * published before this pod started, the client receives a {@code RESYNC} event and should
+ * reload its order list.
+ */
+@Component
+@Slf4j
+public class OrderStreamHub {
+
+    private final ConcurrentHashMap<UUID, Set<OrderStreamSubscription>> subscriptions = new ConcurrentHashMap<>();
+    private final AtomicInteger connectionCount = new AtomicInteger();
+    private final OrderStreamEvent[] replayBuffer;
+    private long replayWrites;
+    // ID of the newest event overwritten in the replay buffer; null until the buffer wraps
+    private Long lastEvictedId;
+
+    private final int bufferSize;
+    private final long emitterTimeoutMillis;
+    private final ExecutorService sendExecutor;
+    private final ScheduledExecutorService heartbeatScheduler;
+    private final Counter eventsDelivered;
+    private final Counter slowConsumersDropped;
+
+    public OrderStreamHub(
+            MeterRegistry meterRegistry,
+            @Value("${orders.stream.buffer-size:64}") int bufferSize,
+            @Value("${orders.stream.replay-capacity:10000}") int replayCapacity,
+            @Value("${orders.stream.heartbeat-interval:PT15S}") Duration heartbeatInterval,
+            @Value("${orders.stream.timeout:PT30M}") Duration emitterTimeout,
+            @Value("${orders.stream.sender-threads:4}") int senderThreads) {
+        this.bufferSize = bufferSize;
+        this.replayBuffer = new OrderStreamEvent[replayCapacity];
+        this.emitterTimeoutMillis = emitterTimeout.toMillis();
+        this.sendExecutor = Executors.newFixedThreadPool(senderThreads, daemonThreads("order-stream-sender"));
+        this.heartbeatScheduler = Executors.newSingleThreadScheduledExecutor(daemonThreads("order-stream-heartbeat"));
+        this.heartbeatScheduler.scheduleAtFixedRate(this::sendHeartbeats,
+            heartbeatInterval.toMillis(), heartbeatInterval.toMillis(), TimeUnit.MILLISECONDS);
+
+        Gauge.builder("orders.stream.connections", connectionCount, AtomicInteger::get)
+            .description("Open order status SSE connections")
+            .register(meterRegistry);
+        this.eventsDelivered = Counter.builder("orders.stream.events")
+            .description("Order events queued to SSE connections")
+            .register(meterRegistry);
+        this.slowConsumersDropped = Counter.builder("orders.stream.dropped")
+            .description("SSE connections closed because their buffer overflowed")
+            .register(meterRegistry);
+    }
+
+    public SseEmitter subscribe(UUID customerId, Long lastEventId) {
+        return subscribe(customerId, lastEventId, new SseEmitter(emitterTimeoutMillis));
+    }
+
+    SseEmitter subscribe(UUID customerId, Long lastEventId, SseEmitter emitter) {
+        OrderStreamSubscription subscription = new OrderStreamSubscription(emitter, bufferSize, sendExecutor);
+
+        Runnable unregister = () -> unregister(customerId, subscription);
+        emitter.onCompletion(unregister);
+        emitter.onTimeout(unregister);
+        emitter.onError(e -> unregister.run());
+
+        // Register before replaying so nothing published in between is lost; duplicates are
+        // harmless because clients apply events idempotently by order ID
+        subscriptions.compute(customerId, (id, set) -> {
+            Set<OrderStreamSubscription> customerSubscriptions = set != null ? set : ConcurrentHashMap.newKeySet();
+            customerSubscriptions.add(subscription);
+            return customerSubscriptions;
+        });
+        connectionCount.incrementAndGet();
+
+        if (lastEventId != null) {
+            replay(customerId, lastEventId, subscription);
+        }
+        return emitter;
+    }
+
+    public void publish(OrderStreamEvent event) {
+        synchronized (replayBuffer) {
+            int slot = (int) (replayWrites++ % replayBuffer.length);
+            if (replayBuffer[slot] != null) {
+                lastEvictedId = replayBuffer[slot].id();
+            }
+            replayBuffer[slot] = event;
+        }
+
+        Set<OrderStreamSubscription> customerSubscriptions = subscriptions.get(event.customerId());
+        if (customerSubscriptions == null) {
+            return;
+        }
+        for (OrderStreamSubscription subscription : customerSubscriptions) {
+            boolean wasClosed = subscription.isClosed();
+            if (subscription.offer(event)) {
+                eventsDelivered.increment();
+            } else if (!wasClosed && subscription.isClosed()) {
+                slowConsumersDropped.increment();
+            }
+        }
+    }
+
+    private void replay(UUID customerId, long lastEventId, OrderStreamSubscription subscription) {
+        List<OrderStreamEvent> missed = new ArrayList<>();
+        boolean evicted;
+        synchronized (replayBuffer) {
+            long oldest = Math.max(0, replayWrites - replayBuffer.length);
+            OrderStreamEvent oldestEvent = replayWrites == 0 ? null : replayBuffer[(int) (oldest % replayBuffer.length)];
+            // Sequence numbers have gaps (skipped or expired messages, partition bits), so only an
+            // event the client has not seen and this pod no longer holds forces a resync. Before
+            // the buffer wraps, a client older than its first event may have missed events this
+            // pod never received (e.g. a reconnect to a freshly started pod)
+            evicted = oldestEvent == null
+                || lastEventId < (lastEvictedId != null ? lastEvictedId : oldestEvent.id());
+            for (long i = oldest; i < replayWrites; i++) {
+                OrderStreamEvent event = replayBuffer[(int) (i % replayBuffer.length)];
+                if (event.id() > lastEventId && event.customerId().equals(customerId)) {
+                    missed.add(event);
+                }
+            }
+        }
+
+        if (evicted) {
+            subscription.offer(new OrderStreamEvent(lastEventId, "RESYNC", null, customerId, null, null));
+            return;
+        }
+        for (OrderStreamEvent event : missed) {
+            if (!subscription.offer(event)) {
+                return;
+            }
+        }
+    }
+
+    private void unregister(UUID customerId, OrderStreamSubscription subscription) {
+        subscriptions.computeIfPresent(customerId, (id, set) -> {
+            if (set.remove(subscription)) {
+                connectionCount.decrementAndGet();
+            }
+            return set.isEmpty() ? null : set;
+        });
+    }
+
+    private void sendHeartbeats() {
+        try {
+            subscriptions.values().forEach(set -> set.forEach(OrderStreamSubscription::heartbeat));
+        } catch (Exception e) {
+            log.warn("Failed to send SSE heartbeats", e);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        heartbeatScheduler.shutdownNow();
+        subscriptions.values().forEach(set -> set.forEach(OrderStreamSubscription::close));
+        sendExecutor.shutdown();
+    }
+
+    private static ThreadFactory daemonThreads(String prefix) {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + "-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
@@ -0,0 +1,126 @@
+package com.csom.platform.orderservice.streaming;
+
+import org.springframework.http.MediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * One SSE connection. Events are queued in a bounded buffer and written by a shared
+ * sender pool, so idle connections hold no thread. A client that falls behind far enough
+ * to fill its buffer is disconnected and expected to resume with {@code Last-Event-ID}.
+ * Writes block, so each is bounded by the container's write timeout
+ * ({@code server.tomcat.connection-timeout}), after which the client is disconnected.
+ */
+class OrderStreamSubscription {
+
+    private static final Object HEARTBEAT = new Object();
+
+    private final SseEmitter emitter;
+    private final BlockingQueue<Object> buffer;
+    private final Executor sendExecutor;
+    private final AtomicBoolean draining = new AtomicBoolean();
+    private final AtomicBoolean completed = new AtomicBoolean();
+    private volatile boolean closed;
+
+    OrderStreamSubscription(SseEmitter emitter, int bufferSize, Executor sendExecutor) {
+        this.emitter = emitter;
+        this.buffer = new ArrayBlockingQueue<>(bufferSize);
+        this.sendExecutor = sendExecutor;
+    }
+
+    SseEmitter getEmitter() {
+        return emitter;
+    }
+
+    boolean isClosed() {
+        return closed;
+    }
+
+    /**
+     * Queues an event for delivery. Returns false if the subscription was dropped as too slow.
+     */
+    boolean offer(OrderStreamEvent event) {
+        if (closed) {
+            return false;
+        }
+        if (!buffer.offer(event)) {
+            close();
+            return false;
+        }
+        scheduleDrain();
+        return true;
+    }
+
+    void heartbeat() {
+        // A full buffer already has writes pending, so a dropped heartbeat is harmless
+        if (!closed && buffer.offer(HEARTBEAT)) {
+            scheduleDrain();
+        }
+    }
+
+    /**
+     * Drops the subscription. The emitter is completed on a sender thread once any write in
+     * progress has returned, never on the caller's thread: completing waits for the emitter's
+     * lock, which a write to a stalled client holds, and the caller may be the event relay.
+     */
+    void close() {
+        if (!closed) {
+            closed = true;
+            buffer.clear();
+            scheduleDrain();
+        }
+    }
+
+    private void scheduleDrain() {
+        if (draining.compareAndSet(false, true)) {
+            sendExecutor.execute(this::drain);
+        }
+    }
+
+    private void drain() {
+        Exception failure = null;
+        try {
+            Object item;
+            while (!closed && (item = buffer.poll()) != null) {
+                send(item);
+            }
+        } catch (Exception e) {
+            // Client went away or the write timed out
+            closed = true;
+            buffer.clear();
+            failure = e;
+        }
+        try {
+            if (closed && completed.compareAndSet(false, true)) {
+                // The emitter's completion callback unregisters us
+                if (failure != null) {
+                    emitter.completeWithError(failure);
+                } else {
+                    emitter.complete();
+                }
+            }
+        } finally {
+            draining.set(false);
+            // Re-check after releasing: work queued by a caller whose scheduleDrain lost the race
+            if (closed ? !completed.get() : !buffer.isEmpty()) {
+                scheduleDrain();
+            }
+        }
+    }
+
+    private void send(Object item) throws Exception {
+        if (item == HEARTBEAT) {
+            emitter.send(SseEmitter.event().comment("heartbeat"));
+            return;
+        }
+        OrderStreamEvent event = (OrderStreamEvent) item;
+        emitter.send(SseEmitter.event()
+            .id(Long.toString(event.id()))
+            .name(event.eventType())
+            .data(event, MediaType.APPLICATION_JSON));
+    }
+}
@@ -0,0 +1,113 @@
+package com.csom.platform.orderservice.streaming;
+
+import com.azure.messaging.servicebus.ServiceBusClientBuilder;
+import com.azure.messaging.servicebus.ServiceBusErrorContext;
+import com.azure.messaging.servicebus.ServiceBusProcessorClient;
+import com.azure.messaging.servicebus.ServiceBusReceivedMessage;
+import com.azure.messaging.servicebus.ServiceBusReceivedMessageContext;
+import com.azure.messaging.servicebus.administration.ServiceBusAdministrationClient;
+import com.azure.messaging.servicebus.administration.ServiceBusAdministrationClientBuilder;
+import com.azure.messaging.servicebus.administration.models.CreateSubscriptionOptions;
+import com.azure.messaging.servicebus.models.ServiceBusReceiveMode;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Feeds the stream hub from the order-events topic so every replica sees every change,
+ * whichever replica made it. Each pod reads through its own short-lived subscription;
+ * Service Bus sequence numbers double as SSE event IDs, so {@code Last-Event-ID}
+ * stays valid when a client reconnects to a different pod.
+ */
+@Component
+@ConditionalOnProperty(name = "orders.stream.source", havingValue = "servicebus", matchIfMissing = true)
+@Slf4j
+public class ServiceBusOrderStreamRelay {
+
+    private final OrderStreamHub orderStreamHub;
+    private final ObjectMapper objectMapper;
+    private final String connectionString;
+    private final String topicName;
+    private final String subscriptionName;
+    private ServiceBusProcessorClient processorClient;
+
+    public ServiceBusOrderStreamRelay(
+            OrderStreamHub orderStreamHub,
+            ObjectMapper objectMapper,
+            @Value("${azure.servicebus.connection-string}") String connectionString,
+            @Value("${orders.stream.topic:order-events}") String topicName,
+            @Value("${orders.stream.subscription-name:order-stream-${HOSTNAME:local}}") String subscriptionName) {
+        this.orderStreamHub = orderStreamHub;
+        this.objectMapper = objectMapper;
+        this.connectionString = connectionString;
+        this.topicName = topicName;
+        this.subscriptionName = subscriptionName;
+    }
+
+    /**
+     * Connects once the application is ready so broker round-trips stay off the startup path.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        ServiceBusAdministrationClient adminClient = new ServiceBusAdministrationClientBuilder()
+            .connectionString(connectionString)
+            .buildClient();
+        if (!adminClient.getSubscriptionExists(topicName, subscriptionName)) {
+            // Per-pod subscriptions clean themselves up once the pod is gone
+            adminClient.createSubscription(topicName, subscriptionName, new CreateSubscriptionOptions()
+                .setAutoDeleteOnIdle(Duration.ofHours(1))
+                .setDefaultMessageTimeToLive(Duration.ofMinutes(5)));
+            log.info("Created order stream subscription {}/{}", topicName, subscriptionName);
+        }
+
+        processorClient = new ServiceBusClientBuilder()
+            .connectionString(connectionString)
+            .processor()
+            .topicName(topicName)
+            .subscriptionName(subscriptionName)
+            .receiveMode(ServiceBusReceiveMode.RECEIVE_AND_DELETE)
+            .prefetchCount(100)
+            .processMessage(this::onMessage)
+            .processError(this::onError)
+            .buildProcessorClient();
+        processorClient.start();
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (processorClient != null) {
+            processorClient.close();
+        }
+    }
+
+    private void onMessage(ServiceBusReceivedMessageContext context) {
+        ServiceBusReceivedMessage message = context.getMessage();
+        try {
+            JsonNode body = objectMapper.readTree(message.getBody().toBytes());
+            JsonNode updatedAt = body.path("updatedAt");
+            orderStreamHub.publish(new OrderStreamEvent(
+                message.getSequenceNumber(),
+                body.path("eventType").asText(),
+                UUID.fromString(body.path("orderId").asText()),
+                UUID.fromString(body.path("customerId").asText()),
+                body.path("status").asText(null),
+                updatedAt.isTextual() && !"null".equals(updatedAt.asText()) ? LocalDateTime.parse(updatedAt.asText()) : null));
+        } catch (Exception e) {
+            log.warn("Skipping unreadable order event {} on stream subscription", message.getMessageId(), e);
+        }
+    }
+
+    private void onError(ServiceBusErrorContext context) {
+        log.warn("Order stream subscription error from {}", context.getErrorSource(), context.getException());
+    }
+}
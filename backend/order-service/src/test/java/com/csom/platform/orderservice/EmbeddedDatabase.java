@@ -0,0 +1,81 @@
+package com.csom.platform.orderservice;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Embedded PostgreSQL with the repository's migrations applied in file name order, started once
+ * and shared by every test class in the JVM. Tests truncate the tables they use before each test.
+ */
+public final class EmbeddedDatabase {
+
+    // Surefire runs from the module directory
+    private static final Path MIGRATIONS = Path.of(
+        System.getProperty("migrations.dir", "../../infrastructure/database/migrations"));
+
+    private static DataSource dataSource;
+
+    private EmbeddedDatabase() {
+    }
+
+    public static synchronized DataSource dataSource() {
+        if (dataSource == null) {
+            try {
+                EmbeddedPostgres postgres = EmbeddedPostgres.start();
+                Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+                    try {
+                        postgres.close();
+                    } catch (IOException ignored) {
+                        // The JVM is exiting; the data directory is temporary
+                    }
+                }));
+                migrate(postgres.getPostgresDatabase());
+                dataSource = postgres.getPostgresDatabase();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            } catch (SQLException e) {
+                throw new IllegalStateException("Applying migrations failed", e);
+            }
+        }
+        return dataSource;
+    }
+
+    public static void truncate(String... tables) {
+        execute("TRUNCATE " + String.join(", ", tables) + " CASCADE");
+    }
+
+    public static void execute(String sql) {
+        try (Connection connection = dataSource().getConnection();
+             Statement statement = connection.createStatement()) {
+            statement.execute(sql);
+        } catch (SQLException e) {
+            throw new IllegalStateException(sql, e);
+        }
+    }
+
+    private static void migrate(DataSource dataSource) throws IOException, SQLException {
+        List<Path> migrations;
+        try (Stream<Path> files = Files.list(MIGRATIONS)) {
+            migrations = files
+                .filter(path -> path.getFileName().toString().endsWith(".sql"))
+                .sorted()
+                .toList();
+        }
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement()) {
+            for (Path migration : migrations) {
+                statement.execute(Files.readString(migration));
+            }
+        }
+    }
+}
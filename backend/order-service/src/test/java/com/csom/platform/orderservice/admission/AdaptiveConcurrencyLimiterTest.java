@@ -0,0 +1,85 @@
+package com.csom.platform.orderservice.admission;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AdaptiveConcurrencyLimiterTest {
+
+    private static final long THRESHOLD_NANOS = TimeUnit.MICROSECONDS.toNanos(1);
+    private static final long SLOW_NANOS = TimeUnit.MICROSECONDS.toNanos(2);
+
+    @Test
+    void refusesPermitsBeyondTheLimit() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(2, 1, 10, THRESHOLD_NANOS, 0.5);
+
+        assertThat(limiter.tryAcquire()).isTrue();
+        assertThat(limiter.tryAcquire()).isTrue();
+        assertThat(limiter.tryAcquire()).isFalse();
+        assertThat(limiter.getInFlight()).isEqualTo(2);
+
+        limiter.release(0, false);
+        assertThat(limiter.getInFlight()).isEqualTo(1);
+        assertThat(limiter.tryAcquire()).isTrue();
+    }
+
+    @Test
+    void cutsTheLimitAtMostOncePerRoundTrip() throws InterruptedException {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(100, 10, 200, THRESHOLD_NANOS, 0.5);
+        for (int i = 0; i < 3; i++) {
+            limiter.tryAcquire();
+        }
+        TimeUnit.MILLISECONDS.sleep(5);
+
+        limiter.release(SLOW_NANOS, false);
+        assertThat(limiter.getLimit()).isEqualTo(50);
+
+        // Started a second ago, before the cut, so it was admitted under the old limit
+        limiter.release(TimeUnit.SECONDS.toNanos(1), false);
+        assertThat(limiter.getLimit()).isEqualTo(50);
+
+        TimeUnit.MILLISECONDS.sleep(5);
+        limiter.release(SLOW_NANOS, true);
+        assertThat(limiter.getLimit()).isEqualTo(25);
+    }
+
+    @Test
+    void neverCutsBelowTheMinimum() throws InterruptedException {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(16, 10, 200, THRESHOLD_NANOS, 0.5);
+        for (int round = 0; round < 3; round++) {
+            limiter.tryAcquire();
+            TimeUnit.MILLISECONDS.sleep(5);
+            limiter.release(SLOW_NANOS, true);
+            assertThat(limiter.getLimit()).isEqualTo(10);
+        }
+    }
+
+    @Test
+    void growsWhileTheLimitIsUsedButNeverAboveTheMaximum() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(2, 1, 3, TimeUnit.SECONDS.toNanos(1), 0.5);
+        for (int round = 0; round < 20; round++) {
+            int acquired = 0;
+            while (limiter.tryAcquire()) {
+                acquired++;
+            }
+            for (int i = 0; i < acquired; i++) {
+                limiter.release(0, false);
+            }
+        }
+
+        assertThat(limiter.getLimit()).isEqualTo(3);
+    }
+
+    @Test
+    void doesNotGrowWhileMostOfTheLimitIsUnused() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(10, 1, 200, TimeUnit.SECONDS.toNanos(1), 0.5);
+        for (int i = 0; i < 1000; i++) {
+            limiter.tryAcquire();
+            limiter.release(0, false);
+        }
+
+        assertThat(limiter.getLimit()).isEqualTo(10);
+    }
+}
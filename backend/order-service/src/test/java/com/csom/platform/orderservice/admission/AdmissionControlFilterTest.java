@@ -0,0 +1,117 @@
+package com.csom.platform.orderservice.admission;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockAsyncContext;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AdmissionControlFilterTest {
+
+    private static final FilterChain OK = (request, response) -> { };
+
+    @Test
+    void retryAfterRoundsTheRefillTimeUpToWholeSeconds() throws Exception {
+        assertThat(rateLimitedRetryAfter(Duration.ofMillis(50))).isEqualTo("1");
+        assertThat(rateLimitedRetryAfter(Duration.ofSeconds(1))).isEqualTo("1");
+        assertThat(rateLimitedRetryAfter(Duration.ofMillis(1001))).isEqualTo("2");
+        assertThat(rateLimitedRetryAfter(Duration.ofSeconds(5))).isEqualTo("5");
+    }
+
+    @Test
+    void shedsWith503OnceTheConcurrencyLimitIsReached() throws Exception {
+        AdaptiveConcurrencyLimiter limiter = limiter(1);
+        limiter.tryAcquire();
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter(key -> true, limiter, Duration.ofSeconds(1)).doFilter(request(), response, OK);
+
+        assertThat(response.getStatus()).isEqualTo(503);
+        assertThat(response.getHeader("Retry-After")).isEqualTo("1");
+    }
+
+    @Test
+    void releasesThePermitWhenASynchronousRequestReturns() throws Exception {
+        AdaptiveConcurrencyLimiter limiter = limiter(10);
+
+        filter(key -> true, limiter, Duration.ofSeconds(1)).doFilter(request(), new MockHttpServletResponse(), OK);
+
+        assertThat(limiter.getInFlight()).isZero();
+    }
+
+    @Test
+    void holdsThePermitUntilAnAsyncRequestCompletes() throws Exception {
+        AdaptiveConcurrencyLimiter limiter = limiter(10);
+        MockHttpServletRequest request = request();
+        request.setAsyncSupported(true);
+
+        filter(key -> true, limiter, Duration.ofSeconds(1))
+            .doFilter(request, new MockHttpServletResponse(), (req, res) -> req.startAsync());
+        assertThat(limiter.getInFlight()).isEqualTo(1);
+
+        MockAsyncContext asyncContext = (MockAsyncContext) request.getAsyncContext();
+        asyncContext.complete();
+        assertThat(limiter.getInFlight()).isZero();
+    }
+
+    @Test
+    void countsAnAsyncRequestThatFailsLateAsAFailure() throws Exception {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(100, 10, 200,
+            TimeUnit.SECONDS.toNanos(1), 0.5);
+        MockHttpServletRequest request = request();
+        request.setAsyncSupported(true);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        TimeUnit.MILLISECONDS.sleep(5);
+
+        // 200 when the handler returns, 500 by the time the async request completes
+        filter(key -> true, limiter, Duration.ofSeconds(1)).doFilter(request, response, (req, res) -> req.startAsync());
+        response.setStatus(500);
+        ((MockAsyncContext) request.getAsyncContext()).complete();
+
+        assertThat(limiter.getInFlight()).isZero();
+        assertThat(limiter.getLimit()).isEqualTo(50);
+    }
+
+    @Test
+    void streamedExportsDoNotTakeAConcurrencyPermit() throws Exception {
+        AdaptiveConcurrencyLimiter limiter = limiter(10);
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/admin/orders/export");
+        request.setAsyncSupported(true);
+
+        filter(key -> true, limiter, Duration.ofSeconds(1))
+            .doFilter(request, new MockHttpServletResponse(), (req, res) -> req.startAsync());
+        assertThat(limiter.getInFlight()).isZero();
+
+        // An hours-long export completing must not cut the limit
+        TimeUnit.MILLISECONDS.sleep(5);
+        ((MockAsyncContext) request.getAsyncContext()).complete();
+        assertThat(limiter.getInFlight()).isZero();
+        assertThat(limiter.getLimit()).isEqualTo(10);
+    }
+
+    private static String rateLimitedRetryAfter(Duration refillOneToken) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter(key -> false, null, refillOneToken).doFilter(request(), response, OK);
+        assertThat(response.getStatus()).isEqualTo(429);
+        return response.getHeader("Retry-After");
+    }
+
+    private static AdaptiveConcurrencyLimiter limiter(int limit) {
+        return new AdaptiveConcurrencyLimiter(limit, 1, 200, TimeUnit.SECONDS.toNanos(1), 0.5);
+    }
+
+    private static AdmissionControlFilter filter(RateLimiter rateLimiter, AdaptiveConcurrencyLimiter limiter,
+                                                 Duration refillOneToken) {
+        return new AdmissionControlFilter(rateLimiter, limiter, refillOneToken, new SimpleMeterRegistry());
+    }
+
+    private static MockHttpServletRequest request() {
+        return new MockHttpServletRequest("GET", "/api/v1/orders");
+    }
+}
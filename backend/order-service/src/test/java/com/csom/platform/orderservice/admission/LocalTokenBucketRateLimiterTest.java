@@ -0,0 +1,53 @@
+package com.csom.platform.orderservice.admission;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LocalTokenBucketRateLimiterTest {
+
+    @Test
+    void allowsABurstUpToTheCapacity() {
+        LocalTokenBucketRateLimiter limiter = new LocalTokenBucketRateLimiter(3, 0.001, 100);
+
+        assertThat(limiter.tryAcquire("caller")).isTrue();
+        assertThat(limiter.tryAcquire("caller")).isTrue();
+        assertThat(limiter.tryAcquire("caller")).isTrue();
+        assertThat(limiter.tryAcquire("caller")).isFalse();
+    }
+
+    @Test
+    void keepsASeparateBucketPerCaller() {
+        LocalTokenBucketRateLimiter limiter = new LocalTokenBucketRateLimiter(1, 0.001, 100);
+
+        assertThat(limiter.tryAcquire("a")).isTrue();
+        assertThat(limiter.tryAcquire("a")).isFalse();
+        assertThat(limiter.tryAcquire("b")).isTrue();
+    }
+
+    @Test
+    void refillsAtTheConfiguredRate() throws InterruptedException {
+        LocalTokenBucketRateLimiter limiter = new LocalTokenBucketRateLimiter(1, 100, 100);
+        assertThat(limiter.tryAcquire("caller")).isTrue();
+        assertThat(limiter.tryAcquire("caller")).isFalse();
+
+        TimeUnit.MILLISECONDS.sleep(20);
+
+        assertThat(limiter.tryAcquire("caller")).isTrue();
+    }
+
+    @Test
+    void neverRefillsAboveTheCapacity() throws InterruptedException {
+        LocalTokenBucketRateLimiter limiter = new LocalTokenBucketRateLimiter(2, 100, 100);
+        limiter.tryAcquire("caller");
+
+        // Ten tokens' worth of refill, but the bucket holds two
+        TimeUnit.MILLISECONDS.sleep(100);
+
+        assertThat(limiter.tryAcquire("caller")).isTrue();
+        assertThat(limiter.tryAcquire("caller")).isTrue();
+        assertThat(limiter.tryAcquire("caller")).isFalse();
+    }
+}
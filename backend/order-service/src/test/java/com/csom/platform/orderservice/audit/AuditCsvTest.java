@@ -0,0 +1,54 @@
+package com.csom.platform.orderservice.audit;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AuditCsvTest {
+
+    private static final UUID USER_ID = UUID.fromString("3f1c2a9e-8b4d-4c6f-9a2e-5d7b1e0f4a21");
+    private static final LocalDateTime CREATED_AT = LocalDateTime.of(2024, 1, 2, 3, 4, 5);
+
+    @Test
+    void quotesEveryValueAndEndsTheRowWithANewline() {
+        assertThat(csv(new AuditEvent(USER_ID, "ORDER_CREATED", "ORDER", "42", "10.0.0.1", "curl/8.0",
+            CREATED_AT, "{}")))
+            .isEqualTo("\"3f1c2a9e-8b4d-4c6f-9a2e-5d7b1e0f4a21\",\"ORDER_CREATED\",\"ORDER\",\"42\","
+                + "\"10.0.0.1\",\"curl/8.0\",\"2024-01-02T03:04:05\",\"{}\"\n");
+    }
+
+    @Test
+    void writesNullsUnquotedAndEmptyStringsQuoted() {
+        assertThat(csv(new AuditEvent(null, "ORDER_DELETED", "ORDER", "", null, null, null, null)))
+            .isEqualTo(",\"ORDER_DELETED\",\"ORDER\",\"\",,,,\n");
+    }
+
+    @Test
+    void doublesQuotesAndKeepsCommasAndNewlinesInsideTheField() {
+        assertThat(csv(new AuditEvent(USER_ID, "ORDER_UPDATED", "ORDER", "42", null,
+            "Mozilla/5.0 (X11, \"Linux\")", CREATED_AT, "{\"note\":\"line one\nline two\",\"tags\":\"a,b\"}")))
+            .isEqualTo("\"3f1c2a9e-8b4d-4c6f-9a2e-5d7b1e0f4a21\",\"ORDER_UPDATED\",\"ORDER\",\"42\",,"
+                + "\"Mozilla/5.0 (X11, \"\"Linux\"\")\",\"2024-01-02T03:04:05\","
+                + "\"{\"\"note\"\":\"\"line one\nline two\"\",\"\"tags\"\":\"\"a,b\"\"}\"\n");
+    }
+
+    @Test
+    void appendsRowsOneAfterAnother() {
+        StringBuilder out = new StringBuilder(AuditCsv.COLUMNS).append('\n');
+        AuditCsv.append(out, new AuditEvent(USER_ID, "A", "ORDER", "1", null, null, CREATED_AT, null));
+        AuditCsv.append(out, new AuditEvent(USER_ID, "B", "ORDER", "2", null, null, CREATED_AT, null));
+
+        assertThat(out.toString()).isEqualTo(AuditCsv.COLUMNS + "\n"
+            + "\"3f1c2a9e-8b4d-4c6f-9a2e-5d7b1e0f4a21\",\"A\",\"ORDER\",\"1\",,,\"2024-01-02T03:04:05\",\n"
+            + "\"3f1c2a9e-8b4d-4c6f-9a2e-5d7b1e0f4a21\",\"B\",\"ORDER\",\"2\",,,\"2024-01-02T03:04:05\",\n");
+    }
+
+    private static String csv(AuditEvent event) {
+        StringBuilder out = new StringBuilder();
+        AuditCsv.append(out, event);
+        return out.toString();
+    }
+}
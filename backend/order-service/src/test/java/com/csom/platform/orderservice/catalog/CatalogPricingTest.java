@@ -0,0 +1,112 @@
+package com.csom.platform.orderservice.catalog;
+
+import com.csom.platform.orderservice.client.ProductServiceClient;
+import com.csom.platform.orderservice.dto.OrderCreateRequest;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class CatalogPricingTest {
+
+    private static final UUID CACHED = UUID.fromString("3f1c2a9e-8b4d-4c6f-9a2e-5d7b1e0f4a21");
+    private static final UUID UNCACHED = UUID.fromString("9b2d4e6f-1a3c-4e5d-8f7a-0c1b2d3e4f50");
+    private static final UUID UNKNOWN = UUID.fromString("c4e8a1b2-7d3f-4a6e-9b5c-2e1f0a9d8c76");
+
+    private final ProductServiceClient productServiceClient = mock(ProductServiceClient.class);
+    private final CatalogPriceCache priceCache = new CatalogPriceCache(new SimpleMeterRegistry());
+    @SuppressWarnings("unchecked")
+    private final CatalogPricing pricing = new CatalogPricing(productServiceClient, priceCache,
+        mock(ObjectProvider.class), true, 2, Duration.ofMinutes(15));
+
+    @Test
+    void pricesCachedProductsWithoutCallingProductService() {
+        priceCache.apply(List.of(new PriceChange(CACHED, 1250, 1)));
+
+        assertThat(pricing.totalCents(List.of(item(CACHED, 3)))).isEqualTo(3750);
+        verifyNoInteractions(productServiceClient);
+    }
+
+    @Test
+    void fetchesUncachedProductsOnceAndCachesThem() {
+        priceCache.apply(List.of(new PriceChange(CACHED, 1250, 1)));
+        when(productServiceClient.getPricesByIds(Set.of(UNCACHED))).thenReturn(List.of(price(UNCACHED, "4.99")));
+
+        assertThat(pricing.totalCents(List.of(item(CACHED, 1), item(UNCACHED, 2)))).isEqualTo(1250 + 998);
+        assertThat(priceCache.current().getPriceCents(UNCACHED)).isEqualTo(499);
+    }
+
+    @Test
+    void rejectsProductsUnknownToProductServiceWithBadRequest() {
+        priceCache.apply(List.of(new PriceChange(CACHED, 1250, 1)));
+        when(productServiceClient.getPricesByIds(Set.of(UNCACHED, UNKNOWN))).thenReturn(List.of(price(UNCACHED, "4.99")));
+
+        assertThatThrownBy(() -> pricing.totalCents(List.of(item(CACHED, 1), item(UNCACHED, 1), item(UNKNOWN, 1))))
+            .isInstanceOfSatisfying(ResponseStatusException.class, e -> {
+                assertThat(e.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+                assertThat(e.getReason()).isEqualTo("Unknown product: " + UNKNOWN);
+            });
+        assertThat(priceCache.current().getPriceCents(UNKNOWN)).isEqualTo(PriceSnapshot.NOT_FOUND);
+    }
+
+    @Test
+    void refreshReplacesTheSnapshotWithEveryPage() {
+        priceCache.apply(List.of(new PriceChange(UNKNOWN, 100, 1)));
+        when(productServiceClient.getPrices(0, 2)).thenReturn(List.of(price(CACHED, "1.00"), price(UNCACHED, "2.00")));
+        when(productServiceClient.getPrices(1, 2)).thenReturn(List.of());
+
+        pricing.refresh();
+
+        assertThat(priceCache.current().size()).isEqualTo(2);
+        assertThat(priceCache.current().getPriceCents(UNCACHED)).isEqualTo(200);
+        assertThat(priceCache.current().getPriceCents(UNKNOWN)).isEqualTo(PriceSnapshot.NOT_FOUND);
+        assertThat(priceCache.getStaleness()).isNotNull();
+    }
+
+    @Test
+    void failedRefreshKeepsThePricesAndStopsTrackingChanges() {
+        priceCache.apply(List.of(new PriceChange(CACHED, 1250, 1)));
+        when(productServiceClient.getPrices(anyInt(), anyInt())).thenThrow(new IllegalStateException("unavailable"));
+
+        pricing.refresh();
+
+        assertThat(priceCache.current().getPriceCents(CACHED)).isEqualTo(1250);
+        assertThat(priceCache.getStaleness()).isNull();
+
+        // A change after the failed load is not retained by a later reload that does not contain it
+        priceCache.apply(List.of(new PriceChange(UNCACHED, 499, 1)));
+        priceCache.reload(List.of(new PriceChange(CACHED, 1300, 2)), Instant.now());
+        assertThat(priceCache.current().getPriceCents(UNCACHED)).isEqualTo(PriceSnapshot.NOT_FOUND);
+        assertThat(priceCache.current().getPriceCents(CACHED)).isEqualTo(1300);
+    }
+
+    private static OrderCreateRequest.OrderItemRequest item(UUID productId, int quantity) {
+        OrderCreateRequest.OrderItemRequest item = new OrderCreateRequest.OrderItemRequest();
+        item.setProductId(productId);
+        item.setQuantity(quantity);
+        return item;
+    }
+
+    private static ProductServiceClient.ProductPrice price(UUID productId, String price) {
+        ProductServiceClient.ProductPrice productPrice = new ProductServiceClient.ProductPrice();
+        productPrice.setProductId(productId);
+        productPrice.setPrice(new BigDecimal(price));
+        productPrice.setPriceVersion(1L);
+        return productPrice;
+    }
+}
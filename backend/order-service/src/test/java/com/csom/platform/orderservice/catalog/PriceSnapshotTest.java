@@ -0,0 +1,93 @@
+package com.csom.platform.orderservice.catalog;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PriceSnapshotTest {
+
+    private static final Instant NOW = Instant.parse("2024-01-01T00:00:00Z");
+
+    @Test
+    void neverRollsAPriceBackToAnOlderVersion() {
+        UUID product = UUID.randomUUID();
+        PriceSnapshot snapshot = PriceSnapshot.empty()
+            .withChanges(List.of(new PriceChange(product, 200, 2)), NOW)
+            .withChanges(List.of(new PriceChange(product, 100, 1)), NOW);
+        assertThat(snapshot.getPriceCents(product)).isEqualTo(200);
+
+        // A replay of the current version is accepted
+        snapshot = snapshot.withChanges(List.of(new PriceChange(product, 210, 2)), NOW);
+        assertThat(snapshot.getPriceCents(product)).isEqualTo(210);
+
+        // Within one batch the highest version wins, whatever the delivery order
+        snapshot = snapshot.withChanges(List.of(
+            new PriceChange(product, 400, 4),
+            new PriceChange(product, 300, 3)), NOW);
+        assertThat(snapshot.getPriceCents(product)).isEqualTo(400);
+    }
+
+    @Test
+    void everyUpdateProducesANewSnapshotVersion() {
+        UUID product = UUID.randomUUID();
+        PriceSnapshot empty = PriceSnapshot.empty();
+        PriceSnapshot first = empty.withChanges(List.of(new PriceChange(product, 100, 1)), NOW);
+        PriceSnapshot second = first.withChanges(List.of(new PriceChange(product, 90, 0)), NOW.plusSeconds(1));
+
+        assertThat(first.getVersion()).isEqualTo(empty.getVersion() + 1);
+        assertThat(second.getVersion()).isEqualTo(first.getVersion() + 1);
+        assertThat(second.getUpdatedAt()).isEqualTo(NOW.plusSeconds(1));
+        // Earlier snapshots are never modified
+        assertThat(empty.getPriceCents(product)).isEqualTo(PriceSnapshot.NOT_FOUND);
+        assertThat(first.getPriceCents(product)).isEqualTo(100);
+    }
+
+    @Test
+    void reloadEvictsProductsMissingFromTheLoadUnlessRetained() {
+        UUID kept = UUID.randomUUID();
+        UUID removed = UUID.randomUUID();
+        UUID changedDuringLoad = UUID.randomUUID();
+        UUID added = UUID.randomUUID();
+        PriceSnapshot snapshot = PriceSnapshot.empty().withChanges(List.of(
+            new PriceChange(kept, 100, 1),
+            new PriceChange(removed, 200, 1),
+            new PriceChange(changedDuringLoad, 300, 5)), NOW);
+
+        PriceSnapshot reloaded = snapshot.reloaded(List.of(
+            new PriceChange(kept, 110, 2),
+            new PriceChange(changedDuringLoad, 250, 4),
+            new PriceChange(added, 400, 1)), Set.of(changedDuringLoad), NOW);
+
+        assertThat(reloaded.size()).isEqualTo(3);
+        assertThat(reloaded.getVersion()).isEqualTo(snapshot.getVersion() + 1);
+        assertThat(reloaded.getPriceCents(kept)).isEqualTo(110);
+        assertThat(reloaded.getPriceCents(removed)).isEqualTo(PriceSnapshot.NOT_FOUND);
+        assertThat(reloaded.getPriceCents(changedDuringLoad)).isEqualTo(300);
+        assertThat(reloaded.getPriceCents(added)).isEqualTo(400);
+    }
+
+    @Test
+    void reloadTakesTheLoadedPriceWhenItIsNewerThanARetainedOne() {
+        UUID product = UUID.randomUUID();
+        PriceSnapshot snapshot = PriceSnapshot.empty().withChanges(List.of(new PriceChange(product, 100, 1)), NOW);
+
+        PriceSnapshot reloaded = snapshot.reloaded(List.of(new PriceChange(product, 150, 3)), Set.of(product), NOW);
+
+        assertThat(reloaded.getPriceCents(product)).isEqualTo(150);
+    }
+
+    @Test
+    void convertsPricesToCentsRoundingHalfUp() {
+        UUID product = UUID.randomUUID();
+
+        assertThat(PriceChange.of(product, new BigDecimal("19.99"), 1).priceCents()).isEqualTo(1999);
+        assertThat(PriceChange.of(product, new BigDecimal("5"), 1).priceCents()).isEqualTo(500);
+        assertThat(PriceChange.of(product, new BigDecimal("0.125"), 1).priceCents()).isEqualTo(13);
+    }
+}
@@ -0,0 +1,189 @@
+package com.csom.platform.orderservice.controller;
+
+import com.csom.platform.orderservice.dto.OrderResponse;
+import com.csom.platform.orderservice.entity.Order;
+import com.csom.platform.orderservice.service.OrderService;
+import com.csom.platform.orderservice.streaming.OrderStreamHub;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
+import org.springframework.security.web.method.annotation.AuthenticationPrincipalArgumentResolver;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class OrderControllerTest {
+
+    private static final String CUSTOMER = "3f1c2a9e-8b4d-4c6f-9a2e-5d7b1e0f4a21";
+    private static final UUID ORDER_ID = UUID.fromString("9b2d4e6f-1a3c-4e5d-8f7a-0c1b2d3e4f50");
+    private static final String CACHE_CONTROL = "no-cache, private";
+
+    private final OrderService orderService = mock(OrderService.class);
+    private final MockMvc mockMvc = MockMvcBuilders
+        .standaloneSetup(new OrderController(orderService, mock(OrderStreamHub.class)))
+        .setCustomArgumentResolvers(new AuthenticationPrincipalArgumentResolver())
+        .build();
+
+    @BeforeEach
+    void authenticate() {
+        Jwt jwt = Jwt.withTokenValue("token").header("alg", "none").subject(CUSTOMER).build();
+        SecurityContextHolder.getContext().setAuthentication(new JwtAuthenticationToken(jwt));
+    }
+
+    @AfterEach
+    void clearAuthentication() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void getOrderReturnsTheOrderWithItsETag() throws Exception {
+        String etag = orderETag(1);
+        when(orderService.getOrderETag(ORDER_ID, CUSTOMER)).thenReturn(etag);
+        when(orderService.getOrder(ORDER_ID, CUSTOMER)).thenReturn(order("PENDING"));
+
+        mockMvc.perform(get("/api/v1/orders/{id}", ORDER_ID))
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.ETAG, etag))
+            .andExpect(header().string(HttpHeaders.CACHE_CONTROL, CACHE_CONTROL))
+            .andExpect(jsonPath("$.status").value("PENDING"));
+    }
+
+    @Test
+    void getOrderReturnsNotModifiedForAMatchingTagWithoutLoadingTheOrder() throws Exception {
+        String etag = orderETag(1);
+        when(orderService.getOrderETag(ORDER_ID, CUSTOMER)).thenReturn(etag);
+
+        mockMvc.perform(get("/api/v1/orders/{id}", ORDER_ID).header(HttpHeaders.IF_NONE_MATCH, etag))
+            .andExpect(status().isNotModified())
+            .andExpect(header().string(HttpHeaders.ETAG, etag))
+            .andExpect(header().string(HttpHeaders.CACHE_CONTROL, CACHE_CONTROL))
+            .andExpect(content().string(""));
+        verify(orderService, never()).getOrder(any(), any());
+    }
+
+    @Test
+    void getOrderMatchesAWeakenedTagAndTagLists() throws Exception {
+        String etag = orderETag(1);
+        when(orderService.getOrderETag(ORDER_ID, CUSTOMER)).thenReturn(etag);
+
+        mockMvc.perform(get("/api/v1/orders/{id}", ORDER_ID).header(HttpHeaders.IF_NONE_MATCH, "W/" + etag))
+            .andExpect(status().isNotModified());
+        mockMvc.perform(get("/api/v1/orders/{id}", ORDER_ID)
+                .header(HttpHeaders.IF_NONE_MATCH, "\"other\", W/" + etag))
+            .andExpect(status().isNotModified());
+    }
+
+    @Test
+    void getOrderMatchesAWildcard() throws Exception {
+        when(orderService.getOrderETag(ORDER_ID, CUSTOMER)).thenReturn(orderETag(1));
+
+        mockMvc.perform(get("/api/v1/orders/{id}", ORDER_ID).header(HttpHeaders.IF_NONE_MATCH, "*"))
+            .andExpect(status().isNotModified())
+            .andExpect(header().string(HttpHeaders.ETAG, orderETag(1)));
+        verify(orderService, never()).getOrder(any(), any());
+    }
+
+    @Test
+    void getOrderReturnsTheUpdatedOrderWithANewTagOnceTheVersionChanges() throws Exception {
+        String before = orderETag(1);
+        String after = orderETag(2);
+        when(orderService.getOrderETag(ORDER_ID, CUSTOMER)).thenReturn(after);
+        when(orderService.getOrder(ORDER_ID, CUSTOMER)).thenReturn(order("CONFIRMED"));
+
+        mockMvc.perform(get("/api/v1/orders/{id}", ORDER_ID).header(HttpHeaders.IF_NONE_MATCH, before))
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.ETAG, after))
+            .andExpect(header().string(HttpHeaders.CACHE_CONTROL, CACHE_CONTROL))
+            .andExpect(jsonPath("$.status").value("CONFIRMED"));
+    }
+
+    @Test
+    void getOrdersReturnsTheListingWithItsETag() throws Exception {
+        when(orderService.getOrdersETag(CUSTOMER, "PENDING", 0, 20)).thenReturn("\"listing-1\"");
+        when(orderService.getOrders(CUSTOMER, "PENDING", 0, 20)).thenReturn(List.of(order("PENDING")));
+
+        mockMvc.perform(get("/api/v1/orders").param("status", "PENDING").param("page", "0").param("size", "20"))
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.ETAG, "\"listing-1\""))
+            .andExpect(header().string(HttpHeaders.CACHE_CONTROL, CACHE_CONTROL))
+            .andExpect(jsonPath("$[0].status").value("PENDING"));
+    }
+
+    @Test
+    void getOrdersReturnsNotModifiedForAMatchingTagWithoutLoadingTheListing() throws Exception {
+        when(orderService.getOrdersETag(CUSTOMER, null, null, null)).thenReturn("\"listing-1\"");
+
+        for (String ifNoneMatch : List.of("\"listing-1\"", "W/\"listing-1\"", "*")) {
+            mockMvc.perform(get("/api/v1/orders").header(HttpHeaders.IF_NONE_MATCH, ifNoneMatch))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"listing-1\""))
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, CACHE_CONTROL));
+        }
+        verify(orderService, never()).getOrders(any(), any(), any(), any());
+    }
+
+    @Test
+    void getOrdersReturnsTheNewListingOnceItChanges() throws Exception {
+        when(orderService.getOrdersETag(CUSTOMER, null, null, null)).thenReturn("\"listing-2\"");
+        when(orderService.getOrders(CUSTOMER, null, null, null)).thenReturn(List.of(order("CONFIRMED")));
+
+        mockMvc.perform(get("/api/v1/orders").header(HttpHeaders.IF_NONE_MATCH, "\"listing-1\""))
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.ETAG, "\"listing-2\""))
+            .andExpect(header().string(HttpHeaders.CACHE_CONTROL, CACHE_CONTROL))
+            .andExpect(jsonPath("$[0].status").value("CONFIRMED"));
+    }
+
+    @Test
+    void concurrentStatusUpdateLosingTheVersionCheckReturnsConflict() throws Exception {
+        when(orderService.updateOrderStatus(ORDER_ID, "CONFIRMED", CUSTOMER))
+            .thenThrow(new ObjectOptimisticLockingFailureException(Order.class, ORDER_ID));
+
+        mockMvc.perform(put("/api/v1/orders/{id}/status", ORDER_ID).param("status", "CONFIRMED"))
+            .andExpect(status().isConflict())
+            .andExpect(jsonPath("$.status").value(409));
+    }
+
+    @Test
+    void concurrentDeleteLosingTheVersionCheckReturnsConflict() throws Exception {
+        doThrow(new ObjectOptimisticLockingFailureException(Order.class, ORDER_ID))
+            .when(orderService).deleteOrder(ORDER_ID, CUSTOMER);
+
+        mockMvc.perform(delete("/api/v1/orders/{id}", ORDER_ID))
+            .andExpect(status().isConflict());
+    }
+
+    private static String orderETag(long version) {
+        return "\"" + ORDER_ID + "-" + version + "\"";
+    }
+
+    private static OrderResponse order(String status) {
+        OrderResponse order = new OrderResponse();
+        order.setId(ORDER_ID);
+        order.setCustomerId(UUID.fromString(CUSTOMER));
+        order.setStatus(status);
+        order.setTotalAmount(10.0);
+        return order;
+    }
+}
@@ -0,0 +1,309 @@
+package com.csom.platform.orderservice.messaging.inbound;
+
+import com.csom.platform.orderservice.entity.Order;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.AbstractPlatformTransactionManager;
+import org.springframework.transaction.support.DefaultTransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+import java.util.function.Predicate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class InboundMessageProcessorTest {
+
+    private static final String TOPIC = "test-events";
+
+    private final InMemoryInboundBrokerFactory brokerFactory = new InMemoryInboundBrokerFactory();
+    private final InMemoryInboundBrokerFactory.InMemoryInboundBroker broker = brokerFactory.broker(TOPIC);
+    private final List<String> applied = Collections.synchronizedList(new ArrayList<>());
+    private final List<UUID> published = Collections.synchronizedList(new ArrayList<>());
+    private InboundMessageProcessor processor;
+
+    @AfterEach
+    void stopProcessor() {
+        if (processor != null) {
+            processor.stop();
+        }
+    }
+
+    @Test
+    void appliesEachSessionInReceiveOrderAcrossSubjects() {
+        broker.send("A", "order-1", "X", body("A"));
+        broker.send("B", "order-1", "Y", body("B"));
+        broker.send("C", "order-1", "X", body("C"));
+        broker.send("D", "order-2", "X", body("D"));
+
+        start(broker, 5, recording("X", body -> false), recording("Y", body -> false));
+
+        awaitUntil(() -> applied.size() == 4);
+        assertThat(appliedFor(Set.of("A", "B", "C"))).containsExactly("A", "B", "C");
+        assertThat(applied).contains("D");
+        assertThat(broker.getPendingCount()).isZero();
+    }
+
+    @Test
+    void failedMessageHoldsBackTheRestOfItsSessionUntilItSucceeds() {
+        AtomicInteger failuresLeft = new AtomicInteger(2);
+        broker.send("A", "order-1", "X", body("A"));
+        broker.send("B", "order-1", "Y", body("B"));
+        broker.send("C", "order-1", "X", body("C"));
+        broker.send("D", "order-2", "Y", body("D"));
+
+        start(broker, 5,
+            recording("X", body -> body.equals("A") && failuresLeft.getAndDecrement() > 0),
+            recording("Y", body -> false));
+
+        awaitUntil(() -> applied.containsAll(List.of("A", "B", "C", "D")));
+        assertThat(appliedFor(Set.of("A", "B", "C"))).containsExactly("A", "B", "C");
+        assertThat(broker.getDeadLetters()).isEmpty();
+    }
+
+    @Test
+    void deadLettersAfterMaxDeliveryAttemptsAndMovesOn() {
+        broker.send("A", "order-1", "X", body("A"));
+        broker.send("B", "order-1", "Y", body("B"));
+        broker.send("C", "order-1", "X", body("C"));
+
+        start(broker, 2, recording("X", body -> body.equals("A")), recording("Y", body -> false));
+
+        awaitUntil(() -> applied.containsAll(List.of("B", "C")));
+        assertThat(applied).containsExactly("B", "C");
+        assertThat(broker.getDeadLetters()).extracting(InboundMessage::messageId).containsExactly("A");
+    }
+
+    @Test
+    void redeliveryAfterFailedCompletionIsNotAppliedTwice() {
+        AtomicInteger completionFailures = new AtomicInteger(1);
+        InboundBroker flakyBroker = new FlakyCompletionBroker(broker, "A", completionFailures);
+        broker.send("A", "order-1", "X", body("A"));
+        broker.send("B", "order-1", "X", body("B"));
+
+        start(flakyBroker, 5, recording("X", body -> false));
+
+        awaitUntil(() -> completionFailures.get() < 0 && broker.getPendingCount() == 0 && applied.contains("B"));
+        assertThat(applied).containsExactly("A", "B");
+    }
+
+    @Test
+    void dropsDuplicateDeliveriesOfProcessedMessages() {
+        broker.send("A", "order-1", "X", body("A"));
+        start(broker, 5, recording("X", body -> false));
+        awaitUntil(() -> applied.contains("A"));
+
+        broker.send("A", "order-1", "X", body("A"));
+        broker.send("B", "order-1", "X", body("B"));
+
+        awaitUntil(() -> applied.contains("B"));
+        assertThat(applied).containsExactly("A", "B");
+    }
+
+    @Test
+    void settlesEveryDeliveryWhenOneReceiveHoldsTheSameMessageTwice() {
+        broker.send("A", "order-1", "X", body("A"));
+        broker.send("A", "order-1", "X", body("A"));
+        broker.send("B", "order-1", "X", body("B"));
+
+        start(broker, 5, recording("X", body -> false));
+
+        awaitUntil(() -> applied.contains("B") && broker.getPendingCount() == 0);
+        assertThat(applied).containsExactly("A", "B");
+        assertThat(broker.getDeadLetters()).isEmpty();
+    }
+
+    @Test
+    void publishesOnlyForCommittedBatchesAndOncePerMessage() {
+        AtomicInteger failuresLeft = new AtomicInteger(1);
+        broker.send("A", "order-1", "X", body("A"));
+        broker.send("C", "order-1", "X", body("C"));
+
+        // The first batch [A, C] rolls back; A is then retried alone and held, then both succeed
+        start(broker, 5, recording("X", body -> body.equals("A") && failuresLeft.getAndDecrement() > 0));
+
+        awaitUntil(() -> applied.containsAll(List.of("A", "C")) && broker.getPendingCount() == 0);
+        assertThat(published).containsExactly(orderId("A"), orderId("C"));
+    }
+
+    private void start(InboundBroker source, int maxDeliveryAttempts, InboundMessageHandler... handlers) {
+        processor = InboundMessageProcessor.builder()
+            .topicName(TOPIC)
+            .broker(source)
+            .handlers(List.of(handlers))
+            .transactionTemplate(new TransactionTemplate(new NoOpTransactionManager()))
+            .deduplicationWindow(new MessageDeduplicationWindow(1000, Duration.ofMinutes(1)))
+            .pumps(1)
+            .sessionsPerPump(4)
+            .maxBatchSize(16)
+            .maxDeliveryAttempts(maxDeliveryAttempts)
+            .receiveWait(Duration.ofMillis(10))
+            .sessionAcceptTimeout(Duration.ofMillis(50))
+            .retryBackoff(Duration.ofMillis(10))
+            .maxRetryBackoff(Duration.ofMillis(20))
+            .meterRegistry(new SimpleMeterRegistry())
+            .build();
+        processor.start();
+    }
+
+    /**
+     * Appends message bodies to {@link #applied} on success; a failing batch appends nothing.
+     * Each message changes one order, whose ID is appended to {@link #published} after commit.
+     */
+    private InboundMessageHandler recording(String subject, Predicate<String> fails) {
+        return new InboundMessageHandler() {
+            @Override
+            public String topic() {
+                return TOPIC;
+            }
+
+            @Override
+            public String subject() {
+                return subject;
+            }
+
+            @Override
+            public List<Order> handle(List<InboundMessage> messages) {
+                List<String> bodies = messages.stream()
+                    .map(message -> new String(message.body(), StandardCharsets.UTF_8))
+                    .toList();
+                if (bodies.stream().anyMatch(fails)) {
+                    throw new IllegalStateException("Simulated failure");
+                }
+                applied.addAll(bodies);
+                return bodies.stream().map(body -> Order.builder().id(orderId(body)).build()).toList();
+            }
+
+            @Override
+            public void publish(List<Order> changed) {
+                changed.forEach(order -> published.add(order.getId()));
+            }
+        };
+    }
+
+    private static UUID orderId(String body) {
+        return UUID.nameUUIDFromBytes(body(body));
+    }
+
+    private List<String> appliedFor(Set<String> bodies) {
+        synchronized (applied) {
+            return applied.stream().filter(bodies::contains).toList();
+        }
+    }
+
+    private static byte[] body(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static void awaitUntil(BooleanSupplier condition) {
+        long deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+        while (!condition.getAsBoolean()) {
+            assertThat(System.nanoTime()).as("condition met within 10 s").isLessThan(deadline);
+            try {
+                Thread.sleep(5);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+
+    private static final class NoOpTransactionManager extends AbstractPlatformTransactionManager {
+
+        @Override
+        protected Object doGetTransaction() {
+            return new Object();
+        }
+
+        @Override
+        protected void doBegin(Object transaction, TransactionDefinition definition) {
+        }
+
+        @Override
+        protected void doCommit(DefaultTransactionStatus status) {
+        }
+
+        @Override
+        protected void doRollback(DefaultTransactionStatus status) {
+        }
+    }
+
+    /**
+     * Fails completion of one message a given number of times, as when the session lock is lost
+     * after the handler's transaction committed.
+     */
+    private static final class FlakyCompletionBroker implements InboundBroker {
+
+        private final InboundBroker delegate;
+        private final String messageId;
+        private final AtomicInteger failures;
+        private final Set<InboundSession> open = ConcurrentHashMap.newKeySet();
+
+        FlakyCompletionBroker(InboundBroker delegate, String messageId, AtomicInteger failures) {
+            this.delegate = delegate;
+            this.messageId = messageId;
+            this.failures = failures;
+        }
+
+        @Override
+        public InboundSession acceptNextSession(Duration timeout) {
+            InboundSession session = delegate.acceptNextSession(timeout);
+            if (session == null) {
+                return null;
+            }
+            open.add(session);
+            return new InboundSession() {
+                @Override
+                public String getSessionId() {
+                    return session.getSessionId();
+                }
+
+                @Override
+                public List<InboundMessage> receive(int maxMessages, Duration maxWait) {
+                    return session.receive(maxMessages, maxWait);
+                }
+
+                @Override
+                public void complete(InboundMessage message) {
+                    if (message.messageId().equals(messageId) && failures.getAndDecrement() > 0) {
+                        throw new IllegalStateException("Session lock lost");
+                    }
+                    session.complete(message);
+                }
+
+                @Override
+                public void abandon(InboundMessage message) {
+                    session.abandon(message);
+                }
+
+                @Override
+                public void deadLetter(InboundMessage message, String reason, String description) {
+                    session.deadLetter(message, reason, description);
+                }
+
+                @Override
+                public void close() {
+                    open.remove(session);
+                    session.close();
+                }
+            };
+        }
+
+        @Override
+        public void close() {
+            open.forEach(InboundSession::close);
+            delegate.close();
+        }
+    }
+}
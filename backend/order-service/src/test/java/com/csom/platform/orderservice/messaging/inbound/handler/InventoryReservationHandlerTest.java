@@ -0,0 +1,95 @@
+package com.csom.platform.orderservice.messaging.inbound.handler;
+
+import com.csom.platform.orderservice.entity.Order;
+import com.csom.platform.orderservice.entity.OrderStatus;
+import com.csom.platform.orderservice.messaging.OrderEventPublisher;
+import com.csom.platform.orderservice.messaging.inbound.InboundMessage;
+import com.csom.platform.orderservice.repository.OrderBulkRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class InventoryReservationHandlerTest {
+
+    private static final UUID CONFIRMED_ORDER = UUID.fromString("3f1c2a9e-8b4d-4c6f-9a2e-5d7b1e0f4a21");
+    private static final UUID PENDING_ORDER = UUID.fromString("9b2d4e6f-1a3c-4e5d-8f7a-0c1b2d3e4f50");
+    private static final UUID CANCELLED_ORDER = UUID.fromString("c4e8a1b2-7d3f-4a6e-9b5c-2e1f0a9d8c76");
+
+    private final OrderBulkRepository repository = mock(OrderBulkRepository.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final InventoryReservationHandler handler = new InventoryReservationHandler(
+        repository, mock(OrderEventPublisher.class), new ObjectMapper(), meterRegistry);
+
+    @Test
+    void movesConfirmedOrdersToProcessing() throws Exception {
+        when(repository.transitionStatus(List.of(CONFIRMED_ORDER), Set.of(OrderStatus.CONFIRMED), OrderStatus.PROCESSING))
+            .thenReturn(List.of(order(CONFIRMED_ORDER, OrderStatus.PROCESSING)));
+
+        List<Order> changed = handler.handle(List.of(reservation(CONFIRMED_ORDER, true)));
+
+        assertThat(changed).extracting(Order::getId).containsExactly(CONFIRMED_ORDER);
+        verify(repository, never()).findIdsInStatus(any(), any());
+    }
+
+    @Test
+    void failsAReservationThatOvertookThePaymentSoItIsRedelivered() {
+        List<UUID> reserved = List.of(CONFIRMED_ORDER, PENDING_ORDER);
+        when(repository.transitionStatus(reserved, Set.of(OrderStatus.CONFIRMED), OrderStatus.PROCESSING))
+            .thenReturn(List.of(order(CONFIRMED_ORDER, OrderStatus.PROCESSING)));
+        when(repository.findIdsInStatus(Set.of(PENDING_ORDER), OrderStatus.PENDING)).thenReturn(Set.of(PENDING_ORDER));
+
+        assertThatThrownBy(() -> handler.handle(List.of(
+            reservation(CONFIRMED_ORDER, true), reservation(PENDING_ORDER, true))))
+            .isInstanceOf(IllegalStateException.class)
+            .hasMessageContaining(PENDING_ORDER.toString());
+        assertThat(meterRegistry.counter("orders.inbound.reservations.ignored").count()).isZero();
+    }
+
+    @Test
+    void completesAndCountsReservationsForOrdersNoLongerAwaitingThem() throws Exception {
+        when(repository.transitionStatus(List.of(CANCELLED_ORDER), Set.of(OrderStatus.CONFIRMED), OrderStatus.PROCESSING))
+            .thenReturn(List.of());
+        when(repository.findIdsInStatus(Set.of(CANCELLED_ORDER), OrderStatus.PENDING)).thenReturn(Set.of());
+
+        List<Order> changed = handler.handle(List.of(reservation(CANCELLED_ORDER, true)));
+
+        assertThat(changed).isEmpty();
+        assertThat(meterRegistry.counter("orders.inbound.reservations.ignored").count()).isEqualTo(1);
+    }
+
+    @Test
+    void cancelsPendingAndConfirmedOrdersWhoseReservationFailed() throws Exception {
+        when(repository.transitionStatus(List.of(PENDING_ORDER),
+                Set.of(OrderStatus.PENDING, OrderStatus.CONFIRMED), OrderStatus.CANCELLED))
+            .thenReturn(List.of(order(PENDING_ORDER, OrderStatus.CANCELLED)));
+
+        List<Order> changed = handler.handle(List.of(reservation(PENDING_ORDER, false)));
+
+        assertThat(changed).extracting(Order::getStatus).containsExactly(OrderStatus.CANCELLED);
+        verify(repository, never()).findIdsInStatus(any(), any());
+    }
+
+    private static InboundMessage reservation(UUID orderId, boolean reserved) {
+        String body = "{\"orderId\":\"" + orderId + "\",\"reserved\":" + reserved + "}";
+        return new InboundMessage(UUID.randomUUID().toString(), orderId.toString(), "INVENTORY_RESERVATION",
+            body.getBytes(StandardCharsets.UTF_8), OffsetDateTime.now(), 1, UUID.randomUUID().toString());
+    }
+
+    private static Order order(UUID orderId, OrderStatus status) {
+        return Order.builder().id(orderId).status(status).build();
+    }
+}
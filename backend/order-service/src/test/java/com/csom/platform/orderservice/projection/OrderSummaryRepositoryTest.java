@@ -0,0 +1,179 @@
+package com.csom.platform.orderservice.projection;
+
+import com.csom.platform.orderservice.EmbeddedDatabase;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+class OrderSummaryRepositoryTest {
+
+    private static final UUID CUSTOMER = UUID.fromString("3f1c2a9e-8b4d-4c6f-9a2e-5d7b1e0f4a21");
+    private static final LocalDateTime CREATED_AT = LocalDateTime.of(2024, 1, 2, 3, 4, 5);
+
+    private final NamedParameterJdbcTemplate jdbcTemplate = new NamedParameterJdbcTemplate(EmbeddedDatabase.dataSource());
+    private final OrderSummaryRepository repository = new OrderSummaryRepository(jdbcTemplate);
+
+    @BeforeEach
+    void clearTables() {
+        EmbeddedDatabase.truncate("orders.order_summaries", "orders.orders", "orders.customer_order_stats");
+    }
+
+    @Test
+    void statusEventBeforeCreationStaysHiddenUntilCreationFillsItIn() {
+        UUID orderId = UUID.randomUUID();
+
+        repository.upsertStatus(orderId, CUSTOMER, "CONFIRMED", CREATED_AT.plusMinutes(5), 2, false);
+
+        assertThat(repository.findByCustomer(CUSTOMER, null, 0, 20)).isEmpty();
+        assertThat(repository.findListVersion(CUSTOMER, null).orderCount()).isZero();
+
+        repository.upsertCreated(orderId, CUSTOMER, "PENDING", 120.50, 3, CREATED_AT, CREATED_AT, 1);
+
+        assertThat(repository.findByCustomer(CUSTOMER, null, 0, 20)).containsExactly(new OrderSummary(
+            orderId, CUSTOMER, "CONFIRMED", 120.50, 3, CREATED_AT, CREATED_AT.plusMinutes(5), 2));
+    }
+
+    @Test
+    void ignoresAStatusEventOlderThanTheRow() {
+        UUID orderId = UUID.randomUUID();
+        repository.upsertCreated(orderId, CUSTOMER, "PENDING", 10.0, 1, CREATED_AT, CREATED_AT, 1);
+        repository.upsertStatus(orderId, CUSTOMER, "SHIPPED", CREATED_AT.plusHours(2), 3, false);
+
+        repository.upsertStatus(orderId, CUSTOMER, "CONFIRMED", CREATED_AT.plusHours(1), 2, false);
+
+        assertThat(only(repository.findByCustomer(CUSTOMER, null, 0, 20)))
+            .isEqualTo(new OrderSummary(orderId, CUSTOMER, "SHIPPED", 10.0, 1, CREATED_AT, CREATED_AT.plusHours(2), 3));
+    }
+
+    @Test
+    void creationArrivingLateDoesNotRollBackTheStatus() {
+        UUID orderId = UUID.randomUUID();
+        repository.upsertCreated(orderId, CUSTOMER, "PENDING", 10.0, 1, CREATED_AT, CREATED_AT, 1);
+        repository.upsertStatus(orderId, CUSTOMER, "CONFIRMED", CREATED_AT.plusHours(1), 2, false);
+
+        repository.upsertCreated(orderId, CUSTOMER, "PENDING", 10.0, 1, CREATED_AT, CREATED_AT, 1);
+
+        OrderSummary summary = only(repository.findByCustomer(CUSTOMER, null, 0, 20));
+        assertThat(summary.status()).isEqualTo("CONFIRMED");
+        assertThat(summary.version()).isEqualTo(2);
+    }
+
+    @Test
+    void appliesDuplicateEventsOnce() {
+        UUID orderId = UUID.randomUUID();
+        repository.upsertCreated(orderId, CUSTOMER, "PENDING", 10.0, 1, CREATED_AT, CREATED_AT, 1);
+        repository.upsertStatus(orderId, CUSTOMER, "CONFIRMED", CREATED_AT.plusHours(1), 2, false);
+        List<OrderSummary> before = repository.findByCustomer(CUSTOMER, null, 0, 20);
+        OrderSummaryRepository.ListVersion versionBefore = repository.findListVersion(CUSTOMER, null);
+
+        repository.upsertCreated(orderId, CUSTOMER, "PENDING", 10.0, 1, CREATED_AT, CREATED_AT, 1);
+        repository.upsertStatus(orderId, CUSTOMER, "CONFIRMED", CREATED_AT.plusHours(1), 2, false);
+        repository.upsertStatus(orderId, CUSTOMER, "CONFIRMED", CREATED_AT.plusHours(1), 2, false);
+
+        assertThat(repository.findByCustomer(CUSTOMER, null, 0, 20)).isEqualTo(before);
+        assertThat(repository.findListVersion(CUSTOMER, null)).isEqualTo(versionBefore);
+    }
+
+    @Test
+    void staleEventDoesNotBringBackADeletedOrder() {
+        UUID orderId = UUID.randomUUID();
+        repository.upsertCreated(orderId, CUSTOMER, "PENDING", 10.0, 1, CREATED_AT, CREATED_AT, 1);
+        repository.upsertStatus(orderId, CUSTOMER, "CANCELLED", CREATED_AT.plusHours(2), 3, true);
+
+        repository.upsertStatus(orderId, CUSTOMER, "CONFIRMED", CREATED_AT.plusHours(1), 2, false);
+
+        assertThat(repository.findByCustomer(CUSTOMER, null, 0, 20)).isEmpty();
+    }
+
+    @Test
+    void rebuildFillsInMissingRowsAndRemovesOrphansWithoutMovingRowsBackwards() {
+        UUID missing = insertOrder("CONFIRMED", 2);
+        UUID stale = insertOrder("SHIPPED", 3);
+        UUID ahead = insertOrder("PENDING", 1);
+        UUID orphan = UUID.randomUUID();
+        jdbcTemplate.update("INSERT INTO orders.order_items (order_id, product_id, quantity, price) "
+            + "VALUES (:orderId, gen_random_uuid(), 1, 5.00), (:orderId, gen_random_uuid(), 2, 7.50)",
+            new MapSqlParameterSource("orderId", missing));
+        repository.upsertCreated(stale, CUSTOMER, "PENDING", 10.0, 0, CREATED_AT, CREATED_AT, 1);
+        // A live event newer than the snapshot the rebuild reads
+        repository.upsertCreated(ahead, CUSTOMER, "PENDING", 10.0, 0, CREATED_AT, CREATED_AT, 1);
+        repository.upsertStatus(ahead, CUSTOMER, "CONFIRMED", CREATED_AT.plusHours(1), 2, false);
+        repository.upsertCreated(orphan, CUSTOMER, "PENDING", 10.0, 0, CREATED_AT, CREATED_AT, 1);
+
+        OrderSummaryProjector projector = new OrderSummaryProjector(repository);
+        try {
+            projector.rebuild();
+        } finally {
+            projector.shutdown();
+        }
+
+        assertThat(repository.findByCustomer(CUSTOMER, null, 0, 20))
+            .extracting(OrderSummary::orderId, OrderSummary::status, OrderSummary::itemCount, OrderSummary::version)
+            .containsExactlyInAnyOrder(
+                tuple(missing, "CONFIRMED", 2, 2L),
+                tuple(stale, "SHIPPED", 0, 3L),
+                tuple(ahead, "CONFIRMED", 0, 2L));
+    }
+
+    @Test
+    void rebuildRacingLiveEventsEndsAtTheNewestVersion() throws Exception {
+        List<UUID> orderIds = new ArrayList<>();
+        for (int i = 0; i < 300; i++) {
+            orderIds.add(insertOrder("PENDING", 1));
+        }
+
+        OrderSummaryProjector projector = new OrderSummaryProjector(repository);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<Integer> rebuild = executor.submit(projector::rebuild);
+            // The write path commits the new version before its event is applied
+            for (UUID orderId : orderIds) {
+                jdbcTemplate.update("UPDATE orders.orders SET status = 'CONFIRMED', version = 2, updated_at = :updatedAt "
+                    + "WHERE id = :orderId", new MapSqlParameterSource("orderId", orderId)
+                    .addValue("updatedAt", CREATED_AT.plusHours(1)));
+                repository.upsertStatus(orderId, CUSTOMER, "CONFIRMED", CREATED_AT.plusHours(1), 2, false);
+            }
+            rebuild.get();
+        } finally {
+            executor.shutdown();
+            projector.shutdown();
+        }
+
+        List<OrderSummary> summaries = repository.findByCustomer(CUSTOMER, null, 0, 1000);
+        assertThat(summaries).hasSize(orderIds.size());
+        assertThat(summaries).allSatisfy(summary -> {
+            assertThat(summary.status()).isEqualTo("CONFIRMED");
+            assertThat(summary.version()).isEqualTo(2);
+            assertThat(summary.createdAt()).isEqualTo(CREATED_AT);
+        });
+    }
+
+    private UUID insertOrder(String status, long version) {
+        UUID orderId = UUID.randomUUID();
+        jdbcTemplate.update("INSERT INTO orders.orders (id, customer_id, status, total_amount, created_at, updated_at, version) "
+            + "VALUES (:orderId, :customerId, :status, 10.00, :createdAt, :createdAt, :version)",
+            new MapSqlParameterSource("orderId", orderId)
+                .addValue("customerId", CUSTOMER)
+                .addValue("status", status)
+                .addValue("createdAt", CREATED_AT)
+                .addValue("version", version));
+        return orderId;
+    }
+
+    private static OrderSummary only(List<OrderSummary> summaries) {
+        assertThat(summaries).hasSize(1);
+        return summaries.get(0);
+    }
+}
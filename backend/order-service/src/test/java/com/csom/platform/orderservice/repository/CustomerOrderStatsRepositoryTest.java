@@ -0,0 +1,152 @@
+package com.csom.platform.orderservice.repository;
+
+import com.csom.platform.orderservice.EmbeddedDatabase;
+import com.csom.platform.orderservice.repository.CustomerOrderStatsRepository.StatusCount;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The counters are maintained by the statement-level triggers of migration 006; these tests
+ * change orders with plain SQL and compare the counters with a recount of the orders table.
+ */
+class CustomerOrderStatsRepositoryTest {
+
+    private static final UUID CUSTOMER_A = UUID.fromString("3f1c2a9e-8b4d-4c6f-9a2e-5d7b1e0f4a21");
+    private static final UUID CUSTOMER_B = UUID.fromString("9b2d4e6f-1a3c-4e5d-8f7a-0c1b2d3e4f50");
+
+    private final NamedParameterJdbcTemplate jdbcTemplate = new NamedParameterJdbcTemplate(EmbeddedDatabase.dataSource());
+    private final CustomerOrderStatsRepository repository = new CustomerOrderStatsRepository(jdbcTemplate);
+
+    @BeforeEach
+    void clearTables() {
+        EmbeddedDatabase.truncate("orders.orders", "orders.customer_order_stats");
+    }
+
+    @Test
+    void countsInsertedOrdersByStatus() {
+        insertOrder(CUSTOMER_A, "PENDING", "10.00");
+        insertOrder(CUSTOMER_A, "PENDING", "2.50");
+        insertOrder(CUSTOMER_A, "CONFIRMED", "7.00");
+
+        assertThat(repository.findByCustomer(CUSTOMER_A)).containsExactlyInAnyOrder(
+            count("PENDING", 2, "12.50"),
+            count("CONFIRMED", 1, "7.00"));
+        assertMatchesOrders(CUSTOMER_A);
+    }
+
+    @Test
+    void movesAnOrderBetweenStatusesOnAStatusChange() {
+        UUID orderId = insertOrder(CUSTOMER_A, "PENDING", "10.00");
+        insertOrder(CUSTOMER_A, "PENDING", "5.00");
+
+        update("UPDATE orders.orders SET status = 'CONFIRMED' WHERE id = :id", orderId);
+
+        assertThat(repository.findByCustomer(CUSTOMER_A)).containsExactlyInAnyOrder(
+            count("PENDING", 1, "5.00"),
+            count("CONFIRMED", 1, "10.00"));
+        assertMatchesOrders(CUSTOMER_A);
+    }
+
+    @Test
+    void stopsCountingASoftDeletedOrderAndCountsItAgainWhenRestored() {
+        UUID orderId = insertOrder(CUSTOMER_A, "CONFIRMED", "10.00");
+        insertOrder(CUSTOMER_A, "CONFIRMED", "5.00");
+
+        update("UPDATE orders.orders SET deleted = true WHERE id = :id", orderId);
+        assertThat(repository.findByCustomer(CUSTOMER_A)).containsExactly(count("CONFIRMED", 1, "5.00"));
+
+        // A status change of a deleted order does not touch the counters
+        update("UPDATE orders.orders SET status = 'CANCELLED' WHERE id = :id", orderId);
+        assertThat(repository.findByCustomer(CUSTOMER_A)).containsExactly(count("CONFIRMED", 1, "5.00"));
+
+        update("UPDATE orders.orders SET deleted = false WHERE id = :id", orderId);
+        assertThat(repository.findByCustomer(CUSTOMER_A)).containsExactlyInAnyOrder(
+            count("CONFIRMED", 1, "5.00"),
+            count("CANCELLED", 1, "10.00"));
+        assertMatchesOrders(CUSTOMER_A);
+    }
+
+    @Test
+    void adjustsTheAmountWhenTheTotalChanges() {
+        UUID orderId = insertOrder(CUSTOMER_A, "PENDING", "10.00");
+
+        update("UPDATE orders.orders SET total_amount = 13.75 WHERE id = :id", orderId);
+
+        assertThat(repository.findByCustomer(CUSTOMER_A)).containsExactly(count("PENDING", 1, "13.75"));
+    }
+
+    @Test
+    void ignoresUpdatesThatChangeNothingCounted() {
+        UUID orderId = insertOrder(CUSTOMER_A, "PENDING", "10.00");
+
+        update("UPDATE orders.orders SET updated_at = now(), version = version + 1 WHERE id = :id", orderId);
+
+        assertThat(repository.findByCustomer(CUSTOMER_A)).containsExactly(count("PENDING", 1, "10.00"));
+    }
+
+    @Test
+    void appliesAMultiRowUpdateAcrossCustomersAndStatusesInOneStatement() {
+        for (int i = 0; i < 5; i++) {
+            insertOrder(CUSTOMER_A, "CONFIRMED", "10.00");
+            insertOrder(CUSTOMER_B, "CONFIRMED", "20.00");
+            insertOrder(CUSTOMER_B, "PROCESSING", "1.00");
+        }
+        insertOrder(CUSTOMER_A, "SHIPPED", "3.00");
+
+        int updated = jdbcTemplate.update("UPDATE orders.orders SET status = 'SHIPPED', total_amount = total_amount + 1 "
+            + "WHERE status IN ('CONFIRMED', 'PROCESSING')", new MapSqlParameterSource());
+
+        assertThat(updated).isEqualTo(15);
+        assertThat(repository.findByCustomer(CUSTOMER_A)).containsExactly(count("SHIPPED", 6, "58.00"));
+        assertThat(repository.findByCustomer(CUSTOMER_B)).containsExactly(count("SHIPPED", 10, "115.00"));
+        assertMatchesOrders(CUSTOMER_A);
+        assertMatchesOrders(CUSTOMER_B);
+    }
+
+    @Test
+    void removesHardDeletedOrders() {
+        UUID orderId = insertOrder(CUSTOMER_A, "PENDING", "10.00");
+        insertOrder(CUSTOMER_A, "PENDING", "4.00");
+
+        update("DELETE FROM orders.orders WHERE id = :id", orderId);
+
+        assertThat(repository.findByCustomer(CUSTOMER_A)).containsExactly(count("PENDING", 1, "4.00"));
+    }
+
+    private UUID insertOrder(UUID customerId, String status, String totalAmount) {
+        UUID orderId = UUID.randomUUID();
+        jdbcTemplate.update("INSERT INTO orders.orders (id, customer_id, status, total_amount) "
+            + "VALUES (:id, :customerId, :status, :totalAmount)",
+            new MapSqlParameterSource("id", orderId)
+                .addValue("customerId", customerId)
+                .addValue("status", status)
+                .addValue("totalAmount", new BigDecimal(totalAmount)));
+        return orderId;
+    }
+
+    private void update(String sql, UUID orderId) {
+        jdbcTemplate.update(sql, new MapSqlParameterSource("id", orderId));
+    }
+
+    private void assertMatchesOrders(UUID customerId) {
+        List<StatusCount> recount = jdbcTemplate.query(
+            "SELECT status, count(*) AS order_count, sum(total_amount) AS total_amount FROM orders.orders "
+                + "WHERE customer_id = :customerId AND deleted IS NOT TRUE GROUP BY status",
+            new MapSqlParameterSource("customerId", customerId),
+            (rs, rowNum) -> new StatusCount(rs.getString("status"), rs.getLong("order_count"),
+                rs.getBigDecimal("total_amount")));
+        assertThat(repository.findByCustomer(customerId)).containsExactlyInAnyOrderElementsOf(recount);
+    }
+
+    private static StatusCount count(String status, long orderCount, String totalAmount) {
+        return new StatusCount(status, orderCount, new BigDecimal(totalAmount));
+    }
+}
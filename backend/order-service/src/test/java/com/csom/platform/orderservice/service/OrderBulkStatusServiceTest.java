@@ -0,0 +1,222 @@
+package com.csom.platform.orderservice.service;
+
+import com.csom.platform.orderservice.dto.OrderBulkStatusRequest;
+import com.csom.platform.orderservice.dto.OrderBulkStatusResponse;
+import com.csom.platform.orderservice.entity.Order;
+import com.csom.platform.orderservice.entity.OrderStatus;
+import com.csom.platform.orderservice.messaging.OrderEventPublisher;
+import com.csom.platform.orderservice.repository.OrderBulkRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.AbstractPlatformTransactionManager;
+import org.springframework.transaction.support.DefaultTransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class OrderBulkStatusServiceTest {
+
+    private static final UUID CALLER = UUID.fromString("3f1c2a9e-8b4d-4c6f-9a2e-5d7b1e0f4a21");
+
+    private final OrderBulkRepository repository = mock(OrderBulkRepository.class);
+    private final OrderEventPublisher eventPublisher = mock(OrderEventPublisher.class);
+    private final OrderBulkStatusService service = new OrderBulkStatusService(
+        repository, eventPublisher, new TransactionTemplate(new NoOpTransactionManager()));
+
+    @BeforeEach
+    void configure() {
+        limits(1000, 50000);
+    }
+
+    @Test
+    void rejectsOrderIdsTogetherWithAFilter() {
+        OrderBulkStatusRequest request = request("SHIPPED");
+        request.setOrderIds(List.of(UUID.randomUUID()));
+        request.setFilter(new OrderBulkStatusRequest.Filter());
+
+        assertBadRequest(request, "Specify either orderIds or filter");
+        verifyNoInteractions(repository, eventPublisher);
+    }
+
+    @Test
+    void rejectsARequestWithNeitherOrderIdsNorAFilter() {
+        assertBadRequest(request("SHIPPED"), "Specify either orderIds or filter");
+
+        OrderBulkStatusRequest emptyIds = request("SHIPPED");
+        emptyIds.setOrderIds(List.of());
+        assertBadRequest(emptyIds, "Specify either orderIds or filter");
+        verifyNoInteractions(repository, eventPublisher);
+    }
+
+    @Test
+    void rejectsATargetStatusThatIsNeverSetInBulk() {
+        OrderBulkStatusRequest request = request("PENDING");
+        request.setOrderIds(List.of(UUID.randomUUID()));
+
+        assertBadRequest(request, "Orders cannot be moved to PENDING in bulk");
+    }
+
+    @Test
+    void rejectsACurrentStatusTheTargetCannotBeReachedFrom() {
+        OrderBulkStatusRequest request = request("SHIPPED");
+        OrderBulkStatusRequest.Filter filter = new OrderBulkStatusRequest.Filter();
+        filter.setCurrentStatuses(List.of("processing", "DELIVERED"));
+        request.setFilter(filter);
+
+        assertBadRequest(request, "Orders cannot be moved from DELIVERED to SHIPPED");
+        verifyNoInteractions(repository, eventPublisher);
+    }
+
+    @Test
+    void reportsRequestedOrdersThatWereNotUpdatedAsSkipped() {
+        limits(2, 50000);
+        UUID updatedA = UUID.randomUUID();
+        UUID notEligible = UUID.randomUUID();
+        UUID updatedB = UUID.randomUUID();
+        when(repository.transitionStatus(List.of(updatedA, notEligible), Set.of(OrderStatus.CONFIRMED, OrderStatus.PROCESSING),
+            OrderStatus.SHIPPED)).thenReturn(List.of(order(updatedA)));
+        when(repository.transitionStatus(List.of(updatedB), Set.of(OrderStatus.CONFIRMED, OrderStatus.PROCESSING),
+            OrderStatus.SHIPPED)).thenReturn(List.of(order(updatedB)));
+
+        OrderBulkStatusRequest request = request("shipped");
+        request.setOrderIds(List.of(updatedA, notEligible, updatedB, updatedA));
+        OrderBulkStatusResponse response = service.transitionStatus(request, CALLER);
+
+        assertThat(response.getStatus()).isEqualTo("SHIPPED");
+        assertThat(response.getUpdatedCount()).isEqualTo(2);
+        assertThat(response.getSkippedOrderIds()).containsExactly(notEligible);
+        assertThat(response.getComplete()).isTrue();
+        verify(repository).setStatusChangeContext(CALLER, "batch 42");
+        verify(eventPublisher).publishOrderStatusUpdates(List.of(order(updatedA), order(updatedB)));
+    }
+
+    @Test
+    void filterRunIsIncompleteWhenAShortChunkLeavesMatchingRows() {
+        limits(10, 50000);
+        OrderBulkStatusRequest request = filterRequest();
+        // Three rows updated, the rest skipped because another transaction holds their locks
+        when(repository.transitionStatusMatching(any(), any(), any(), eq(OrderStatus.SHIPPED), eq(10)))
+            .thenReturn(orders(3));
+        when(repository.existsMatching(any(), any(), any())).thenReturn(true);
+
+        OrderBulkStatusResponse response = service.transitionStatus(request, CALLER);
+
+        assertThat(response.getUpdatedCount()).isEqualTo(3);
+        assertThat(response.getComplete()).isFalse();
+        assertThat(response.getSkippedOrderIds()).isEmpty();
+    }
+
+    @Test
+    void filterRunIsCompleteWhenNothingMatchesAfterAShortChunk() {
+        limits(10, 50000);
+        when(repository.transitionStatusMatching(any(), any(), any(), eq(OrderStatus.SHIPPED), eq(10)))
+            .thenReturn(orders(10), orders(4));
+        when(repository.existsMatching(any(), any(), any())).thenReturn(false);
+
+        OrderBulkStatusResponse response = service.transitionStatus(filterRequest(), CALLER);
+
+        assertThat(response.getUpdatedCount()).isEqualTo(14);
+        assertThat(response.getComplete()).isTrue();
+    }
+
+    @Test
+    void filterRunStopsIncompleteAtMaxOrders() {
+        limits(10, 25);
+        when(repository.transitionStatusMatching(any(), any(), any(), eq(OrderStatus.SHIPPED), anyInt()))
+            .thenAnswer(invocation -> orders(invocation.getArgument(4)));
+
+        OrderBulkStatusResponse response = service.transitionStatus(filterRequest(), CALLER);
+
+        assertThat(response.getUpdatedCount()).isEqualTo(25);
+        assertThat(response.getComplete()).isFalse();
+        // The last chunk is cut to the remaining budget
+        verify(repository).transitionStatusMatching(any(), any(), any(), eq(OrderStatus.SHIPPED), eq(5));
+    }
+
+    @Test
+    void filterOnlyMatchesTheRequestedCurrentStatuses() {
+        OrderBulkStatusRequest request = filterRequest();
+        request.getFilter().setCurrentStatuses(List.of("PROCESSING"));
+        when(repository.transitionStatusMatching(any(), any(), any(), any(), anyInt())).thenReturn(List.of());
+
+        service.transitionStatus(request, CALLER);
+
+        verify(repository).transitionStatusMatching(eq(Set.of(OrderStatus.PROCESSING)),
+            eq(request.getFilter().getCreatedAfter()), isNull(), eq(OrderStatus.SHIPPED), eq(1000));
+    }
+
+    private void limits(int chunkSize, int maxOrders) {
+        ReflectionTestUtils.setField(service, "chunkSize", chunkSize);
+        ReflectionTestUtils.setField(service, "maxOrders", maxOrders);
+    }
+
+    private void assertBadRequest(OrderBulkStatusRequest request, String reason) {
+        assertThatThrownBy(() -> service.transitionStatus(request, CALLER))
+            .isInstanceOfSatisfying(ResponseStatusException.class, e -> {
+                assertThat(e.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+                assertThat(e.getReason()).isEqualTo(reason);
+            });
+    }
+
+    private static OrderBulkStatusRequest request(String status) {
+        OrderBulkStatusRequest request = new OrderBulkStatusRequest();
+        request.setStatus(status);
+        request.setNotes("batch 42");
+        return request;
+    }
+
+    private static OrderBulkStatusRequest filterRequest() {
+        OrderBulkStatusRequest request = request("SHIPPED");
+        OrderBulkStatusRequest.Filter filter = new OrderBulkStatusRequest.Filter();
+        filter.setCreatedAfter(LocalDateTime.of(2024, 1, 1, 0, 0));
+        request.setFilter(filter);
+        return request;
+    }
+
+    private static Order order(UUID id) {
+        return Order.builder().id(id).status(OrderStatus.SHIPPED).build();
+    }
+
+    private static List<Order> orders(int count) {
+        return Stream.generate(() -> order(UUID.randomUUID())).limit(count).toList();
+    }
+
+    private static final class NoOpTransactionManager extends AbstractPlatformTransactionManager {
+
+        @Override
+        protected Object doGetTransaction() {
+            return new Object();
+        }
+
+        @Override
+        protected void doBegin(Object transaction, TransactionDefinition definition) {
+        }
+
+        @Override
+        protected void doCommit(DefaultTransactionStatus status) {
+        }
+
+        @Override
+        protected void doRollback(DefaultTransactionStatus status) {
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package com.csom.platform.orderservice.service;
+
+import com.csom.platform.orderservice.audit.AuditEvent;
+import com.csom.platform.orderservice.audit.AuditLogIngestor;
+import com.csom.platform.orderservice.catalog.CatalogPricing;
+import com.csom.platform.orderservice.client.PaymentServiceClient;
+import com.csom.platform.orderservice.client.ProductServiceClient;
+import com.csom.platform.orderservice.entity.Order;
+import com.csom.platform.orderservice.entity.OrderStatus;
+import com.csom.platform.orderservice.messaging.OrderEventPublisher;
+import com.csom.platform.orderservice.projection.OrderSummaryRepository;
+import com.csom.platform.orderservice.repository.CustomerOrderStatsRepository;
+import com.csom.platform.orderservice.repository.OrderRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class OrderServiceTest {
+
+    private static final String CUSTOMER = "3f1c2a9e-8b4d-4c6f-9a2e-5d7b1e0f4a21";
+    private static final UUID ORDER_ID = UUID.fromString("9b2d4e6f-1a3c-4e5d-8f7a-0c1b2d3e4f50");
+
+    private final OrderRepository orderRepository = mock(OrderRepository.class);
+    private final AuditLogIngestor auditLogIngestor = mock(AuditLogIngestor.class);
+    private final OrderService service = new OrderService(orderRepository, mock(PaymentServiceClient.class),
+        mock(ProductServiceClient.class), mock(OrderEventPublisher.class), mock(OrderSummaryRepository.class),
+        auditLogIngestor, mock(CustomerOrderStatsRepository.class), mock(CatalogPricing.class));
+
+    @BeforeEach
+    void beginTransaction() {
+        // Stands in for the synchronization a @Transactional method runs with
+        TransactionSynchronizationManager.initSynchronization();
+        Order order = Order.builder()
+            .id(ORDER_ID)
+            .customerId(UUID.fromString(CUSTOMER))
+            .status(OrderStatus.PENDING)
+            .totalAmount(10.0)
+            .version(1L)
+            .build();
+        when(orderRepository.findByIdAndCustomerId(ORDER_ID, UUID.fromString(CUSTOMER))).thenReturn(Optional.of(order));
+        when(orderRepository.saveAndFlush(any(Order.class))).thenAnswer(invocation -> invocation.getArgument(0));
+    }
+
+    @AfterEach
+    void endTransaction() {
+        TransactionSynchronizationManager.clearSynchronization();
+    }
+
+    @Test
+    void recordsTheStatusUpdateOnlyOnceTheTransactionCommits() {
+        service.updateOrderStatus(ORDER_ID, "CONFIRMED", CUSTOMER);
+        verify(auditLogIngestor, never()).record(any());
+
+        TransactionSynchronizationUtils.triggerAfterCommit();
+
+        ArgumentCaptor<AuditEvent> event = ArgumentCaptor.forClass(AuditEvent.class);
+        verify(auditLogIngestor).record(event.capture());
+        assertThat(event.getValue().action()).isEqualTo("ORDER_STATUS_UPDATED");
+        assertThat(event.getValue().resourceId()).isEqualTo(ORDER_ID.toString());
+    }
+
+    @Test
+    void recordsNothingForADeleteThatRollsBack() {
+        service.deleteOrder(ORDER_ID, CUSTOMER);
+
+        TransactionSynchronizationUtils.triggerAfterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK);
+
+        verify(auditLogIngestor, never()).record(any());
+    }
+}
@@ -0,0 +1,239 @@
+package com.csom.platform.orderservice.streaming;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class OrderStreamHubTest {
+
+    private static final UUID CUSTOMER = UUID.fromString("3f1c2a9e-8b4d-4c6f-9a2e-5d7b1e0f4a21");
+    private static final UUID OTHER_CUSTOMER = UUID.fromString("9b2d4e6f-1a3c-4e5d-8f7a-0c1b2d3e4f50");
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private OrderStreamHub hub;
+
+    @AfterEach
+    void shutdownHub() {
+        if (hub != null) {
+            hub.shutdown();
+        }
+    }
+
+    @Test
+    void deliversLiveEventsOnlyToTheOwningCustomer() throws InterruptedException {
+        hub = hub(64, 100);
+        RecordingEmitter customer = subscribe(CUSTOMER, null);
+        RecordingEmitter other = subscribe(OTHER_CUSTOMER, null);
+
+        hub.publish(event(1, CUSTOMER));
+        hub.publish(event(2, OTHER_CUSTOMER));
+        hub.publish(event(3, CUSTOMER));
+
+        assertThat(customer.ids(2)).containsExactly(1L, 3L);
+        assertThat(other.ids(1)).containsExactly(2L);
+        assertThat(customer.nothingMore()).isTrue();
+        assertThat(other.nothingMore()).isTrue();
+    }
+
+    @Test
+    void replaysTheCustomersEventsAfterLastEventId() throws InterruptedException {
+        hub = hub(64, 100);
+        for (long id = 1; id <= 6; id++) {
+            hub.publish(event(id, id % 2 == 0 ? CUSTOMER : OTHER_CUSTOMER));
+        }
+
+        RecordingEmitter emitter = subscribe(CUSTOMER, 2L);
+
+        assertThat(emitter.ids(2)).containsExactly(4L, 6L);
+        assertThat(emitter.nothingMore()).isTrue();
+    }
+
+    @Test
+    void replaysFromAWrappedBufferWhenTheGapIsStillCovered() throws InterruptedException {
+        hub = hub(64, 4);
+        for (long id = 1; id <= 10; id++) {
+            hub.publish(event(id, CUSTOMER));
+        }
+
+        // The buffer holds 7..10; the client has seen up to 6
+        RecordingEmitter emitter = subscribe(CUSTOMER, 6L);
+
+        assertThat(emitter.ids(4)).containsExactly(7L, 8L, 9L, 10L);
+        assertThat(emitter.nothingMore()).isTrue();
+    }
+
+    @Test
+    void sendsResyncWhenTheGapWasEvicted() throws InterruptedException {
+        hub = hub(64, 4);
+        for (long id = 1; id <= 10; id++) {
+            hub.publish(event(id, CUSTOMER));
+        }
+
+        // Event 6 is gone, so 7..10 alone would silently skip it
+        RecordingEmitter emitter = subscribe(CUSTOMER, 5L);
+
+        assertThat(emitter.events(1)).containsExactly(resync(5));
+        assertThat(emitter.nothingMore()).isTrue();
+    }
+
+    @Test
+    void sendsResyncWhenTheBufferIsEmpty() throws InterruptedException {
+        hub = hub(64, 4);
+
+        RecordingEmitter emitter = subscribe(CUSTOMER, 42L);
+
+        assertThat(emitter.events(1)).containsExactly(resync(42));
+    }
+
+    @Test
+    void sendsResyncWhenLastEventIdIsOlderThanTheOldestBufferedEvent() throws InterruptedException {
+        hub = hub(64, 100);
+        // A pod that started after the client's last event: its buffer begins at 50
+        for (long id = 50; id <= 52; id++) {
+            hub.publish(event(id, CUSTOMER));
+        }
+
+        RecordingEmitter emitter = subscribe(CUSTOMER, 40L);
+
+        assertThat(emitter.events(1)).containsExactly(resync(40));
+        assertThat(emitter.nothingMore()).isTrue();
+    }
+
+    @Test
+    void doesNotResyncAcrossGapsInSequenceNumbers() throws InterruptedException {
+        hub = hub(64, 4);
+        // Sequence numbers skip unreadable and expired messages
+        for (long id : new long[] {10, 20, 35, 40, 52, 60}) {
+            hub.publish(event(id, CUSTOMER));
+        }
+
+        // 10 and 20 were evicted; the client saw 20, so nothing it missed is gone
+        RecordingEmitter emitter = subscribe(CUSTOMER, 20L);
+
+        assertThat(emitter.ids(4)).containsExactly(35L, 40L, 52L, 60L);
+        assertThat(emitter.nothingMore()).isTrue();
+    }
+
+    @Test
+    void closesAConnectionWhoseBufferOverflowsWithoutBlockingThePublisher() throws InterruptedException {
+        hub = hub(2, 100);
+        RecordingEmitter slow = subscribe(CUSTOMER, null);
+        RecordingEmitter other = subscribe(OTHER_CUSTOMER, null);
+        slow.blockSends();
+
+        hub.publish(event(1, CUSTOMER));
+        assertThat(slow.sendStarted.await(5, TimeUnit.SECONDS)).isTrue();
+        // Event 1 is held by the blocked sender, two fit the buffer, the rest overflow
+        for (long id = 2; id <= 5; id++) {
+            hub.publish(event(id, CUSTOMER));
+        }
+
+        assertThat(meterRegistry.counter("orders.stream.dropped").count()).isEqualTo(1);
+        // The emitter is completed by the sender once its stalled write returns, not by publish
+        assertThat(slow.completed.getCount()).isEqualTo(1);
+        // Other connections keep receiving events while one sender is stalled
+        hub.publish(event(6, OTHER_CUSTOMER));
+        assertThat(other.ids(1)).containsExactly(6L);
+
+        slow.unblockSends();
+        assertThat(slow.completed.await(5, TimeUnit.SECONDS)).isTrue();
+        List<Long> received = slow.ids(1);
+        assertThat(slow.nothingMore()).isTrue();
+        assertThat(received).doesNotContain(5L);
+    }
+
+    private OrderStreamHub hub(int bufferSize, int replayCapacity) {
+        return new OrderStreamHub(meterRegistry, bufferSize, replayCapacity,
+            Duration.ofHours(1), Duration.ofMinutes(30), 2);
+    }
+
+    private RecordingEmitter subscribe(UUID customerId, Long lastEventId) {
+        RecordingEmitter emitter = new RecordingEmitter();
+        hub.subscribe(customerId, lastEventId, emitter);
+        return emitter;
+    }
+
+    private static OrderStreamEvent event(long id, UUID customerId) {
+        return new OrderStreamEvent(id, "ORDER_STATUS_CHANGED", new UUID(0, id), customerId, "CONFIRMED", null);
+    }
+
+    private static OrderStreamEvent resync(long lastEventId) {
+        return new OrderStreamEvent(lastEventId, "RESYNC", null, CUSTOMER, null, null);
+    }
+
+    /**
+     * Records the order events sent to it instead of writing them to a response.
+     */
+    private static final class RecordingEmitter extends SseEmitter {
+
+        private final BlockingQueue<OrderStreamEvent> sent = new LinkedBlockingQueue<>();
+        private volatile CountDownLatch sendGate = new CountDownLatch(0);
+        private final CountDownLatch sendStarted = new CountDownLatch(1);
+        private final CountDownLatch completed = new CountDownLatch(1);
+
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            for (DataWithMediaType data : builder.build()) {
+                if (data.getData() instanceof OrderStreamEvent event) {
+                    sendStarted.countDown();
+                    try {
+                        sendGate.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        throw new IOException(e);
+                    }
+                    sent.add(event);
+                }
+            }
+        }
+
+        @Override
+        public void complete() {
+            completed.countDown();
+        }
+
+        void blockSends() {
+            sendGate = new CountDownLatch(1);
+        }
+
+        void unblockSends() {
+            sendGate.countDown();
+        }
+
+        /**
+         * Waits for up to {@code count} events; returns fewer if they do not arrive in time.
+         */
+        List<OrderStreamEvent> events(int count) throws InterruptedException {
+            List<OrderStreamEvent> events = new ArrayList<>();
+            while (events.size() < count) {
+                OrderStreamEvent event = sent.poll(5, TimeUnit.SECONDS);
+                if (event == null) {
+                    break;
+                }
+                events.add(event);
+            }
+            return events;
+        }
+
+        List<Long> ids(int count) throws InterruptedException {
+            return events(count).stream().map(OrderStreamEvent::id).toList();
+        }
+
+        boolean nothingMore() throws InterruptedException {
+            return sent.poll(100, TimeUnit.MILLISECONDS) == null;
+        }
+    }
+}
@@ -6,6 +6,10 @@ import org.springframework.stereotype.Component;
 import org.springframework.ws.client.core.WebServiceTemplate;
 import org.springframework.ws.soap.client.core.SoapActionCallback;
 
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+
 @Component
 @RequiredArgsConstructor
 @Slf4j
@@ -13,6 +17,7 @@ public class LegacyERPSoapClient {
 
     private final WebServiceTemplate webServiceTemplate;
     private static final String SOAP_ACTION = "http://legacy-erp.example.com/GetInventory";
+    private static final String SOAP_ACTION_CHANGES = "http://legacy-erp.example.com/GetInventoryChanges";
 
     public InventoryResponse getInventory(String productId) {
         try {
@@ -33,6 +38,31 @@ public class LegacyERPSoapClient {
         }
     }
 
+    /**
+     * Bulk inventory export used by the snapshot sync job.
+     * Passing {@code null} returns the full inventory, otherwise only records changed since the given time.
+     */
+    public List<InventoryResponse> getInventoryChanges(LocalDateTime changedSince) {
+        try {
+            GetInventoryChangesRequest request = new GetInventoryChangesRequest();
+            request.setChangedSince(changedSince);
+
+            GetInventoryChangesResponse response = (GetInventoryChangesResponse) webServiceTemplate
+                .marshalSendAndReceive(
+                    "https://legacy-erp.example.com/soap",
+                    request,
+                    new SoapActionCallback(SOAP_ACTION_CHANGES)
+                );
+
+            return response.getItems().stream()
+                .map(this::mapToInventoryResponse)
+                .collect(Collectors.toList());
+        } catch (Exception e) {
+            log.error("Failed to call legacy SOAP service for inventory changes since: {}", changedSince, e);
+            throw new RuntimeException("Failed to retrieve inventory changes from ERP", e);
+        }
+    }
+
     private InventoryResponse mapToInventoryResponse(GetInventoryResponse response) {
         InventoryResponse inventory = new InventoryResponse();
         inventory.setProductId(response.getProductId());
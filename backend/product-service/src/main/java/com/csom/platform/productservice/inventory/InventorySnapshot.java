@@ -0,0 +1,141 @@
+package com.csom.platform.productservice.inventory;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Immutable point-in-time copy of the ERP inventory (product ID to available quantity).
+ * Backed by an open-addressing table over primitive arrays so lookups do not allocate
+ * and readers never need a lock. Updates always produce a new snapshot.
+ */
+public final class InventorySnapshot {
+
+    public static final int NOT_FOUND = -1;
+
+    private static final InventorySnapshot EMPTY = new Builder(0).build(Instant.EPOCH);
+
+    private final long[] mostSigBits;
+    private final long[] leastSigBits;
+    private final int[] quantities;
+    private final int mask;
+    private final int size;
+    private final Instant syncedAt;
+
+    private InventorySnapshot(long[] mostSigBits, long[] leastSigBits, int[] quantities, int size, Instant syncedAt) {
+        this.mostSigBits = mostSigBits;
+        this.leastSigBits = leastSigBits;
+        this.quantities = quantities;
+        this.mask = quantities.length - 1;
+        this.size = size;
+        this.syncedAt = syncedAt;
+    }
+
+    public static InventorySnapshot empty() {
+        return EMPTY;
+    }
+
+    public static InventorySnapshot of(Map<UUID, Integer> quantities, Instant syncedAt) {
+        Builder builder = new Builder(quantities.size());
+        quantities.forEach(builder::put);
+        return builder.build(syncedAt);
+    }
+
+    /**
+     * Returns a new snapshot with the given changes applied on top of this one.
+     */
+    public InventorySnapshot withChanges(Map<UUID, Integer> changes, Instant syncedAt) {
+        Builder builder = new Builder(size + changes.size());
+        for (int i = 0; i < quantities.length; i++) {
+            if (mostSigBits[i] != 0 || leastSigBits[i] != 0) {
+                builder.put(mostSigBits[i], leastSigBits[i], quantities[i]);
+            }
+        }
+        changes.forEach(builder::put);
+        return builder.build(syncedAt);
+    }
+
+    /**
+     * Returns a snapshot sharing this one's data, marked as confirmed fresh at {@code syncedAt}.
+     */
+    public InventorySnapshot withSyncedAt(Instant syncedAt) {
+        return new InventorySnapshot(mostSigBits, leastSigBits, quantities, size, syncedAt);
+    }
+
+    /**
+     * Available quantity for the product, or {@link #NOT_FOUND} if the ERP does not know it.
+     */
+    public int getAvailableQuantity(UUID productId) {
+        long msb = productId.getMostSignificantBits();
+        long lsb = productId.getLeastSignificantBits();
+        int slot = slot(msb, lsb, mask);
+        while (mostSigBits[slot] != 0 || leastSigBits[slot] != 0) {
+            if (mostSigBits[slot] == msb && leastSigBits[slot] == lsb) {
+                return quantities[slot];
+            }
+            slot = (slot + 1) & mask;
+        }
+        return NOT_FOUND;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public Instant getSyncedAt() {
+        return syncedAt;
+    }
+
+    static int slot(long msb, long lsb, int mask) {
+        long h = msb ^ lsb;
+        h ^= (h >>> 33);
+        h *= 0xff51afd7ed558ccdL;
+        h ^= (h >>> 33);
+        return (int) h & mask;
+    }
+
+    private static final class Builder {
+        private final long[] mostSigBits;
+        private final long[] leastSigBits;
+        private final int[] quantities;
+        private final int mask;
+        private int size;
+
+        Builder(int expectedSize) {
+            // Keep the load factor at or below 0.5 so probe sequences stay short
+            int capacity = Integer.highestOneBit(Math.max(expectedSize, 1) * 2 - 1) << 1;
+            this.mostSigBits = new long[capacity];
+            this.leastSigBits = new long[capacity];
+            this.quantities = new int[capacity];
+            this.mask = capacity - 1;
+        }
+
+        void put(UUID productId, Integer quantity) {
+            put(productId.getMostSignificantBits(), productId.getLeastSignificantBits(),
+                quantity == null ? 0 : Math.max(quantity, 0));
+        }
+
+        void put(long msb, long lsb, int quantity) {
+            if (msb == 0 && lsb == 0) {
+                // The nil UUID marks empty slots and is never a valid product ID
+                return;
+            }
+            int slot = slot(msb, lsb, mask);
+            while (mostSigBits[slot] != 0 || leastSigBits[slot] != 0) {
+                if (mostSigBits[slot] == msb && leastSigBits[slot] == lsb) {
+                    quantities[slot] = quantity;
+                    return;
+                }
+                slot = (slot + 1) & mask;
+            }
+            mostSigBits[slot] = msb;
+            leastSigBits[slot] = lsb;
+            quantities[slot] = quantity;
+            size++;
+        }
+
+        InventorySnapshot build(Instant syncedAt) {
+            return new InventorySnapshot(mostSigBits, leastSigBits, quantities, size, syncedAt);
+        }
+    }
+}
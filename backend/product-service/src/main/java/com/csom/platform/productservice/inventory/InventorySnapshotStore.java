@@ -0,0 +1,57 @@
+package com.csom.platform.productservice.inventory;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Holds the current {@link InventorySnapshot}. Reads are a single volatile load;
+ * the sync job publishes new snapshots with an atomic swap.
+ */
+@Component
+public class InventorySnapshotStore {
+
+    private final AtomicReference<InventorySnapshot> current = new AtomicReference<>(InventorySnapshot.empty());
+
+    public InventorySnapshotStore(MeterRegistry meterRegistry) {
+        Gauge.builder("inventory.snapshot.age", this, store -> store.getAge().toMillis() / 1000.0)
+            .description("Seconds since the inventory snapshot was last synced from the ERP")
+            .baseUnit("seconds")
+            .register(meterRegistry);
+        Gauge.builder("inventory.snapshot.size", this, store -> store.current().size())
+            .description("Number of products in the inventory snapshot")
+            .register(meterRegistry);
+    }
+
+    public InventorySnapshot current() {
+        return current.get();
+    }
+
+    public void replace(InventorySnapshot snapshot) {
+        current.set(snapshot);
+    }
+
+    /**
+     * Available quantity for the product, or {@link InventorySnapshot#NOT_FOUND} if unknown.
+     */
+    public int getAvailableQuantity(UUID productId) {
+        return current.get().getAvailableQuantity(productId);
+    }
+
+    public boolean isAvailable(UUID productId, int requestedQuantity) {
+        return current.get().getAvailableQuantity(productId) >= requestedQuantity;
+    }
+
+    public boolean isInitialized() {
+        return current.get() != InventorySnapshot.empty();
+    }
+
+    public Duration getAge() {
+        return Duration.between(current.get().getSyncedAt(), Instant.now());
+    }
+}
@@ -0,0 +1,124 @@
+package com.csom.platform.productservice.inventory;
+
+import com.csom.platform.productservice.integration.soap.InventoryResponse;
+import com.csom.platform.productservice.integration.soap.LegacyERPSoapClient;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Keeps the {@link InventorySnapshotStore} in sync with the legacy ERP.
+ * A full load runs at startup and hourly; in between only changed records are pulled.
+ * The ERP change feed does not report deletions, so a product removed from the ERP keeps its
+ * last quantity until the next full load replaces the snapshot: at most the full-sync interval.
+ * If the ERP is unavailable the previous snapshot keeps serving reads. Syncs run one at a time,
+ * so an incremental sync never publishes on top of a full sync that finished while it ran.
+ */
+@Component
+@Slf4j
+public class InventorySnapshotSyncJob {
+
+    private final LegacyERPSoapClient erpClient;
+    private final InventorySnapshotStore snapshotStore;
+    private final Duration overlap;
+    private final Counter syncFailures;
+    private final ReentrantLock syncLock = new ReentrantLock();
+
+    public InventorySnapshotSyncJob(
+            LegacyERPSoapClient erpClient,
+            InventorySnapshotStore snapshotStore,
+            MeterRegistry meterRegistry,
+            @Value("${inventory.snapshot.overlap:PT30S}") Duration overlap) {
+        this.erpClient = erpClient;
+        this.snapshotStore = snapshotStore;
+        this.overlap = overlap;
+        this.syncFailures = Counter.builder("inventory.snapshot.sync.failures")
+            .description("Failed inventory snapshot syncs against the ERP")
+            .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadOnStartup() {
+        fullSync();
+    }
+
+    @Scheduled(cron = "${inventory.snapshot.full-sync-cron:0 0 * * * *}")
+    public void fullSync() {
+        syncLock.lock();
+        try {
+            Instant startedAt = Instant.now();
+            try {
+                Map<UUID, Integer> quantities = toQuantities(erpClient.getInventoryChanges(null));
+                snapshotStore.replace(InventorySnapshot.of(quantities, startedAt));
+                log.info("Loaded full inventory snapshot with {} products in {} ms",
+                    quantities.size(), Duration.between(startedAt, Instant.now()).toMillis());
+            } catch (Exception e) {
+                syncFailures.increment();
+                log.error("Full inventory sync failed, keeping snapshot from {}", snapshotStore.current().getSyncedAt(), e);
+            }
+        } finally {
+            syncLock.unlock();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${inventory.snapshot.incremental-sync-interval:PT1M}",
+               initialDelayString = "${inventory.snapshot.incremental-sync-interval:PT1M}")
+    public void incrementalSync() {
+        // A sync already running (usually the startup or hourly full load) makes this one redundant
+        if (!syncLock.tryLock()) {
+            return;
+        }
+        try {
+            if (!snapshotStore.isInitialized()) {
+                fullSync();
+                return;
+            }
+
+            InventorySnapshot snapshot = snapshotStore.current();
+            Instant startedAt = Instant.now();
+            // Re-read a small window before the last sync to cover ERP clock skew and in-flight commits
+            LocalDateTime changedSince = LocalDateTime.ofInstant(snapshot.getSyncedAt().minus(overlap), ZoneOffset.UTC);
+            try {
+                Map<UUID, Integer> changes = toQuantities(erpClient.getInventoryChanges(changedSince));
+                if (changes.isEmpty()) {
+                    snapshotStore.replace(snapshot.withSyncedAt(startedAt));
+                } else {
+                    snapshotStore.replace(snapshot.withChanges(changes, startedAt));
+                    log.debug("Applied {} inventory changes to snapshot", changes.size());
+                }
+            } catch (Exception e) {
+                syncFailures.increment();
+                log.warn("Incremental inventory sync failed, snapshot is {} s old", snapshotStore.getAge().toSeconds(), e);
+            }
+        } finally {
+            syncLock.unlock();
+        }
+    }
+
+    private Map<UUID, Integer> toQuantities(List<InventoryResponse> records) {
+        Map<UUID, Integer> quantities = new HashMap<>(records.size() * 2);
+        for (InventoryResponse record : records) {
+            try {
+                quantities.put(UUID.fromString(record.getProductId()), record.getQuantity());
+            } catch (IllegalArgumentException e) {
+                log.warn("Skipping ERP inventory record with invalid product ID: {}", record.getProductId());
+            }
+        }
+        return quantities;
+    }
+}
@@ -0,0 +1,130 @@
+package com.csom.platform.productservice.inventory;
+
+import com.csom.platform.productservice.integration.soap.InventoryResponse;
+import com.csom.platform.productservice.integration.soap.LegacyERPSoapClient;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class InventorySnapshotSyncJobTest {
+
+    private static final UUID PRODUCT = UUID.fromString("3f1c2a9e-8b4d-4c6f-9a2e-5d7b1e0f4a21");
+    private static final UUID OTHER_PRODUCT = UUID.fromString("9b2d4e6f-1a3c-4e5d-8f7a-0c1b2d3e4f50");
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final StubErpClient erpClient = new StubErpClient();
+    private final InventorySnapshotStore snapshotStore = new InventorySnapshotStore(meterRegistry);
+    private final InventorySnapshotSyncJob syncJob =
+        new InventorySnapshotSyncJob(erpClient, snapshotStore, meterRegistry, Duration.ofSeconds(30));
+
+    @Test
+    void failedFullSyncKeepsThePreviousSnapshot() {
+        erpClient.records = List.of(record(PRODUCT, 5));
+        syncJob.fullSync();
+        InventorySnapshot loaded = snapshotStore.current();
+
+        erpClient.failure = new RuntimeException("Failed to retrieve inventory changes from ERP");
+        syncJob.fullSync();
+
+        assertThat(snapshotStore.current()).isSameAs(loaded);
+        assertThat(snapshotStore.getAvailableQuantity(PRODUCT)).isEqualTo(5);
+        assertThat(meterRegistry.counter("inventory.snapshot.sync.failures").count()).isEqualTo(1);
+    }
+
+    @Test
+    void incrementalSyncOnAnUninitializedStoreRunsAFullLoad() {
+        erpClient.records = List.of(record(PRODUCT, 5), record(OTHER_PRODUCT, 0));
+
+        syncJob.incrementalSync();
+
+        assertThat(erpClient.calls).containsExactly((LocalDateTime) null);
+        assertThat(snapshotStore.isInitialized()).isTrue();
+        assertThat(snapshotStore.current().size()).isEqualTo(2);
+    }
+
+    @Test
+    void incrementalSyncAppliesChangesSinceTheLastSyncMinusTheOverlap() {
+        erpClient.records = List.of(record(PRODUCT, 5), record(OTHER_PRODUCT, 3));
+        syncJob.fullSync();
+        LocalDateTime syncedAt = LocalDateTime.ofInstant(snapshotStore.current().getSyncedAt(), ZoneOffset.UTC);
+
+        erpClient.records = List.of(record(PRODUCT, 2));
+        syncJob.incrementalSync();
+
+        assertThat(erpClient.calls).containsExactly(null, syncedAt.minusSeconds(30));
+        assertThat(snapshotStore.getAvailableQuantity(PRODUCT)).isEqualTo(2);
+        assertThat(snapshotStore.getAvailableQuantity(OTHER_PRODUCT)).isEqualTo(3);
+    }
+
+    @Test
+    void incrementalSyncIsSkippedWhileAFullSyncHoldsTheLock() throws Exception {
+        erpClient.records = List.of(record(PRODUCT, 5));
+        syncJob.fullSync();
+        erpClient.calls.clear();
+
+        erpClient.block = new CountDownLatch(1);
+        CompletableFuture<Void> fullSync = CompletableFuture.runAsync(syncJob::fullSync);
+        assertThat(erpClient.blocked.await(5, TimeUnit.SECONDS)).isTrue();
+
+        syncJob.incrementalSync();
+
+        // Only the full sync reached the ERP; the incremental sync returned without waiting
+        assertThat(erpClient.calls).containsExactly((LocalDateTime) null);
+        erpClient.block.countDown();
+        fullSync.get(5, TimeUnit.SECONDS);
+        assertThat(meterRegistry.counter("inventory.snapshot.sync.failures").count()).isZero();
+    }
+
+    private static InventoryResponse record(UUID productId, int quantity) {
+        InventoryResponse record = new InventoryResponse();
+        record.setProductId(productId.toString());
+        record.setQuantity(quantity);
+        return record;
+    }
+
+    /**
+     * Serves canned records instead of calling the ERP, and can fail or hold a call open.
+     */
+    private static final class StubErpClient extends LegacyERPSoapClient {
+
+        final List<LocalDateTime> calls = Collections.synchronizedList(new ArrayList<>());
+        final CountDownLatch blocked = new CountDownLatch(1);
+        volatile List<InventoryResponse> records = List.of();
+        volatile RuntimeException failure;
+        volatile CountDownLatch block;
+
+        StubErpClient() {
+            super(null);
+        }
+
+        @Override
+        public List<InventoryResponse> getInventoryChanges(LocalDateTime changedSince) {
+            calls.add(changedSince);
+            CountDownLatch latch = block;
+            if (latch != null) {
+                blocked.countDown();
+                try {
+                    latch.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            if (failure != null) {
+                throw failure;
+            }
+            return records;
+        }
+    }
+}
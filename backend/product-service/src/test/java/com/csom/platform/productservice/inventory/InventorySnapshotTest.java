@@ -0,0 +1,116 @@
+package com.csom.platform.productservice.inventory;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class InventorySnapshotTest {
+
+    private static final Instant SYNCED_AT = Instant.parse("2024-01-01T00:00:00Z");
+    private static final UUID NIL = new UUID(0, 0);
+
+    @Test
+    void findsProductsWhoseProbeWrapsPastTheEndOfTheTable() {
+        // Three entries get a table of 8 slots; all of these hash to the last one
+        List<UUID> lastSlot = productsInSlot(7, 7, 4);
+        Map<UUID, Integer> quantities = new LinkedHashMap<>();
+        quantities.put(lastSlot.get(0), 10);
+        quantities.put(lastSlot.get(1), 20);
+        quantities.put(lastSlot.get(2), 30);
+        InventorySnapshot snapshot = InventorySnapshot.of(quantities, SYNCED_AT);
+
+        assertThat(snapshot.size()).isEqualTo(3);
+        assertThat(snapshot.getAvailableQuantity(lastSlot.get(0))).isEqualTo(10);
+        assertThat(snapshot.getAvailableQuantity(lastSlot.get(1))).isEqualTo(20);
+        assertThat(snapshot.getAvailableQuantity(lastSlot.get(2))).isEqualTo(30);
+        assertThat(snapshot.getAvailableQuantity(lastSlot.get(3))).isEqualTo(InventorySnapshot.NOT_FOUND);
+    }
+
+    @Test
+    void changesReplaceCollidingProductsInPlace() {
+        List<UUID> colliding = productsInSlot(3, 7, 2);
+        InventorySnapshot snapshot = InventorySnapshot.of(Map.of(colliding.get(0), 10, colliding.get(1), 20), SYNCED_AT)
+            .withChanges(Map.of(colliding.get(1), 5), SYNCED_AT.plusSeconds(60));
+
+        assertThat(snapshot.size()).isEqualTo(2);
+        assertThat(snapshot.getAvailableQuantity(colliding.get(0))).isEqualTo(10);
+        assertThat(snapshot.getAvailableQuantity(colliding.get(1))).isEqualTo(5);
+        assertThat(snapshot.getSyncedAt()).isEqualTo(SYNCED_AT.plusSeconds(60));
+    }
+
+    @Test
+    void ignoresTheNilUuid() {
+        UUID product = UUID.randomUUID();
+        Map<UUID, Integer> quantities = new HashMap<>();
+        quantities.put(NIL, 10);
+        quantities.put(product, 20);
+        InventorySnapshot snapshot = InventorySnapshot.of(quantities, SYNCED_AT);
+
+        assertThat(snapshot.size()).isEqualTo(1);
+        assertThat(snapshot.getAvailableQuantity(NIL)).isEqualTo(InventorySnapshot.NOT_FOUND);
+        assertThat(snapshot.getAvailableQuantity(product)).isEqualTo(20);
+        assertThat(InventorySnapshot.empty().getAvailableQuantity(NIL)).isEqualTo(InventorySnapshot.NOT_FOUND);
+    }
+
+    @Test
+    void clampsMissingAndNegativeQuantitiesToZero() {
+        UUID missing = UUID.randomUUID();
+        UUID negative = UUID.randomUUID();
+        Map<UUID, Integer> quantities = new HashMap<>();
+        quantities.put(missing, null);
+        quantities.put(negative, -3);
+        InventorySnapshot snapshot = InventorySnapshot.of(quantities, SYNCED_AT);
+
+        assertThat(snapshot.getAvailableQuantity(missing)).isZero();
+        assertThat(snapshot.getAvailableQuantity(negative)).isZero();
+    }
+
+    @Test
+    void keepsEveryEntryAcrossResizes() {
+        List<UUID> products = new ArrayList<>();
+        InventorySnapshot snapshot = InventorySnapshot.empty();
+        for (int round = 0; round < 10; round++) {
+            Map<UUID, Integer> changes = new HashMap<>();
+            for (int i = 0; i < 100 << round; i++) {
+                UUID product = UUID.randomUUID();
+                products.add(product);
+                changes.put(product, products.size());
+            }
+            snapshot = snapshot.withChanges(changes, SYNCED_AT);
+        }
+
+        assertThat(snapshot.size()).isEqualTo(products.size());
+        for (int i = 0; i < products.size(); i++) {
+            assertThat(snapshot.getAvailableQuantity(products.get(i))).isEqualTo(i + 1);
+        }
+    }
+
+    @Test
+    void withSyncedAtKeepsTheQuantities() {
+        UUID product = UUID.randomUUID();
+        InventorySnapshot snapshot = InventorySnapshot.of(Map.of(product, 7), SYNCED_AT)
+            .withSyncedAt(SYNCED_AT.plusSeconds(60));
+
+        assertThat(snapshot.getAvailableQuantity(product)).isEqualTo(7);
+        assertThat(snapshot.size()).isEqualTo(1);
+        assertThat(snapshot.getSyncedAt()).isEqualTo(SYNCED_AT.plusSeconds(60));
+    }
+
+    private static List<UUID> productsInSlot(int slot, int mask, int count) {
+        List<UUID> products = new ArrayList<>();
+        for (long i = 1; products.size() < count; i++) {
+            if (InventorySnapshot.slot(i, i * 31, mask) == slot) {
+                products.add(new UUID(i, i * 31));
+            }
+        }
+        return products;
+    }
+}
@@ -9,34 +9,37 @@ CREATE TABLE IF NOT EXISTS orders.orders (
     total_amount DECIMAL(10, 2) NOT NULL,
     created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
     updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
-    deleted BOOLEAN DEFAULT FALSE,
-    INDEX idx_customer_id (customer_id),
-    INDEX idx_status (status),
-    INDEX idx_created_at (created_at)
+    deleted BOOLEAN DEFAULT FALSE
 );
 
+CREATE INDEX IF NOT EXISTS idx_customer_id ON orders.orders(customer_id);
+CREATE INDEX IF NOT EXISTS idx_status ON orders.orders(status);
+CREATE INDEX IF NOT EXISTS idx_created_at ON orders.orders(created_at);
+
 CREATE TABLE IF NOT EXISTS orders.order_items (
     id UUID PRIMARY KEY DEFAULT gen_random_uuid(),
     order_id UUID NOT NULL REFERENCES orders.orders(id),
     product_id UUID NOT NULL,
     quantity INTEGER NOT NULL,
     price DECIMAL(10, 2) NOT NULL,
-    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
-    INDEX idx_order_id (order_id),
-    INDEX idx_product_id (product_id)
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
 );
 
+CREATE INDEX IF NOT EXISTS idx_order_items_order_id ON orders.order_items(order_id);
+CREATE INDEX IF NOT EXISTS idx_product_id ON orders.order_items(product_id);
+
 CREATE TABLE IF NOT EXISTS orders.order_status_history (
     id UUID PRIMARY KEY DEFAULT gen_random_uuid(),
     order_id UUID NOT NULL REFERENCES orders.orders(id),
     status VARCHAR(50) NOT NULL,
     changed_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
     changed_by UUID,
-    notes TEXT,
-    INDEX idx_order_id (order_id),
-    INDEX idx_changed_at (changed_at)
+    notes TEXT
 );
 
+CREATE INDEX IF NOT EXISTS idx_order_status_history_order_id ON orders.order_status_history(order_id);
+CREATE INDEX IF NOT EXISTS idx_changed_at ON orders.order_status_history(changed_at);
+
 -- GDPR: Soft delete support
 CREATE INDEX idx_orders_deleted ON orders.orders(deleted) WHERE deleted = FALSE;
 
@@ -0,0 +1,8 @@
+-- Optimistic locking version for orders, also used to derive HTTP ETags
+
+ALTER TABLE orders.orders ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
+
+-- Covers the per-customer ETag aggregate (count, max(updated_at), sum(version)) as an index-only scan
+CREATE INDEX IF NOT EXISTS idx_orders_customer_etag
+    ON orders.orders (customer_id, status)
+    INCLUDE (updated_at, version);
@@ -0,0 +1,22 @@
+-- Read model for order listings, maintained from order events (see OrderSummaryProjector)
+
+CREATE TABLE IF NOT EXISTS orders.order_summaries (
+    order_id UUID PRIMARY KEY,
+    customer_id UUID NOT NULL,
+    status VARCHAR(50) NOT NULL,
+    total_amount DECIMAL(10, 2),
+    item_count INTEGER NOT NULL DEFAULT 0,
+    created_at TIMESTAMP,
+    updated_at TIMESTAMP,
+    version BIGINT NOT NULL,
+    deleted BOOLEAN NOT NULL DEFAULT FALSE
+);
+
+-- Listing queries are a single scan of one of these partial indexes
+CREATE INDEX IF NOT EXISTS idx_order_summaries_customer
+    ON orders.order_summaries (customer_id, created_at DESC)
+    WHERE deleted = FALSE AND created_at IS NOT NULL;
+
+CREATE INDEX IF NOT EXISTS idx_order_summaries_customer_status
+    ON orders.order_summaries (customer_id, status, created_at DESC)
+    WHERE deleted = FALSE AND created_at IS NOT NULL;
@@ -0,0 +1,108 @@
+-- Audit log partitioned by month on created_at, loaded in batches by the services' audit ingestors
+-- and archived/deleted by the housekeeping functions. An existing unpartitioned audit.audit_logs is
+-- renamed, its rows are copied into the partitioned table, and it is dropped.
+
+BEGIN;
+
+CREATE SCHEMA IF NOT EXISTS audit;
+
+-- Move an unpartitioned table (and the names of its sequence and primary key) out of the way
+DO $$
+BEGIN
+    IF EXISTS (
+        SELECT 1 FROM pg_class c JOIN pg_namespace n ON n.oid = c.relnamespace
+        WHERE n.nspname = 'audit' AND c.relname = 'audit_logs' AND c.relkind = 'r'
+    ) THEN
+        ALTER TABLE audit.audit_logs RENAME TO audit_logs_unpartitioned;
+        ALTER SEQUENCE IF EXISTS audit.audit_logs_id_seq RENAME TO audit_logs_unpartitioned_id_seq;
+        ALTER INDEX IF EXISTS audit.audit_logs_pkey RENAME TO audit_logs_unpartitioned_pkey;
+    END IF;
+END;
+$$;
+
+CREATE TABLE IF NOT EXISTS audit.audit_logs (
+    id BIGSERIAL,
+    user_id UUID,
+    action VARCHAR(100) NOT NULL,
+    resource_type VARCHAR(100),
+    resource_id VARCHAR(255),
+    ip_address VARCHAR(45),
+    user_agent TEXT,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    metadata JSONB,
+    archived BOOLEAN NOT NULL DEFAULT FALSE,
+    archived_at TIMESTAMP,
+    PRIMARY KEY (id, created_at)
+) PARTITION BY RANGE (created_at);
+
+-- Catches rows outside the pre-created months so ingestion never fails on a missing partition
+CREATE TABLE IF NOT EXISTS audit.audit_logs_default
+    PARTITION OF audit.audit_logs DEFAULT;
+
+-- Archival scans only unarchived rows in created_at order
+CREATE INDEX IF NOT EXISTS idx_audit_logs_unarchived_created_at
+    ON audit.audit_logs (created_at)
+    WHERE archived = FALSE;
+
+-- Creates monthly partitions from the current month through months_ahead; called by DatabaseMaintenance
+CREATE OR REPLACE FUNCTION audit.ensure_audit_log_partitions(months_ahead INTEGER DEFAULT 3)
+RETURNS VOID
+LANGUAGE plpgsql
+AS $$
+DECLARE
+    month_start DATE;
+    partition_name TEXT;
+BEGIN
+    FOR i IN 0..months_ahead LOOP
+        month_start := (date_trunc('month', CURRENT_DATE) + make_interval(months => i))::DATE;
+        partition_name := format('audit_logs_%s', to_char(month_start, 'YYYY_MM'));
+        IF to_regclass(format('audit.%I', partition_name)) IS NULL THEN
+            EXECUTE format(
+                'CREATE TABLE audit.%I PARTITION OF audit.audit_logs FOR VALUES FROM (%L) TO (%L)',
+                partition_name, month_start, (month_start + INTERVAL '1 month')::DATE);
+        END IF;
+    END LOOP;
+END;
+$$;
+
+-- Copy the old rows. Their months get partitions first: rows for the current month must not land
+-- in the default partition, or creating that month's partition would fail
+DO $$
+DECLARE
+    first_month DATE;
+    month_start DATE;
+    partition_name TEXT;
+BEGIN
+    IF to_regclass('audit.audit_logs_unpartitioned') IS NULL THEN
+        RETURN;
+    END IF;
+
+    SELECT date_trunc('month', min(created_at))::DATE INTO first_month FROM audit.audit_logs_unpartitioned;
+    month_start := first_month;
+    WHILE month_start IS NOT NULL AND month_start < date_trunc('month', CURRENT_DATE) LOOP
+        partition_name := format('audit_logs_%s', to_char(month_start, 'YYYY_MM'));
+        IF to_regclass(format('audit.%I', partition_name)) IS NULL THEN
+            EXECUTE format(
+                'CREATE TABLE audit.%I PARTITION OF audit.audit_logs FOR VALUES FROM (%L) TO (%L)',
+                partition_name, month_start, (month_start + INTERVAL '1 month')::DATE);
+        END IF;
+        month_start := (month_start + INTERVAL '1 month')::DATE;
+    END LOOP;
+    PERFORM audit.ensure_audit_log_partitions(3);
+
+    INSERT INTO audit.audit_logs (id, user_id, action, resource_type, resource_id, ip_address, user_agent,
+                                  created_at, metadata, archived, archived_at)
+    SELECT id, user_id, action, resource_type, resource_id, ip_address, user_agent,
+           COALESCE(created_at, CURRENT_TIMESTAMP), metadata, COALESCE(archived, FALSE), archived_at
+    FROM audit.audit_logs_unpartitioned;
+
+    PERFORM setval(pg_get_serial_sequence('audit.audit_logs', 'id'),
+                   GREATEST((SELECT max(id) FROM audit.audit_logs), 1));
+
+    DROP TABLE audit.audit_logs_unpartitioned;
+END;
+$$;
+
+SELECT audit.ensure_audit_log_partitions(3);
+
+COMMIT;
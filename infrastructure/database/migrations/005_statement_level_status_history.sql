@@ -0,0 +1,29 @@
+-- Status history is written once per UPDATE statement from its transition tables, so set-based
+-- status changes insert all their history rows in one INSERT ... SELECT instead of one per row.
+-- Callers may set orders.status_changed_by / orders.status_change_notes for the transaction
+-- (see OrderBulkRepository.setStatusChangeContext); changed_by otherwise defaults to the customer.
+
+DROP TRIGGER IF EXISTS order_status_change_trigger ON orders.orders;
+DROP FUNCTION IF EXISTS orders.log_order_status_change();
+
+CREATE OR REPLACE FUNCTION orders.log_order_status_changes()
+RETURNS TRIGGER AS $$
+BEGIN
+    INSERT INTO orders.order_status_history (order_id, status, changed_at, changed_by, notes)
+    SELECT new_rows.id,
+           new_rows.status,
+           CURRENT_TIMESTAMP,
+           COALESCE(NULLIF(current_setting('orders.status_changed_by', true), '')::UUID, new_rows.customer_id),
+           NULLIF(current_setting('orders.status_change_notes', true), '')
+    FROM new_rows
+    JOIN old_rows ON old_rows.id = new_rows.id
+    WHERE old_rows.status IS DISTINCT FROM new_rows.status;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER order_status_change_trigger
+    AFTER UPDATE ON orders.orders
+    REFERENCING OLD TABLE AS old_rows NEW TABLE AS new_rows
+    FOR EACH STATEMENT
+    EXECUTE FUNCTION orders.log_order_status_changes();
@@ -0,0 +1,105 @@
+-- Per-customer order counters by status, maintained in the writing transaction by statement-level
+-- triggers, so every write path (single updates, bulk transitions, inbound handlers, GDPR erasure)
+-- keeps them current. Deleted orders are not counted.
+--
+-- Each (customer, status) is striped over up to orders.stats_shards rows (default 8): a transaction
+-- adds its delta to the shard of its backend, so concurrent writers for one hot customer update
+-- different rows instead of queueing on one. Readers sum the shards. OrderStatsReconciliation
+-- corrects drift and folds the shards back into shard 0.
+
+CREATE TABLE IF NOT EXISTS orders.customer_order_stats (
+    customer_id UUID NOT NULL,
+    status VARCHAR(50) NOT NULL,
+    shard SMALLINT NOT NULL DEFAULT 0,
+    order_count BIGINT NOT NULL DEFAULT 0,
+    total_amount DECIMAL(14, 2) NOT NULL DEFAULT 0,
+    PRIMARY KEY (customer_id, status, shard)
+);
+
+CREATE OR REPLACE FUNCTION orders.customer_order_stats_shard()
+RETURNS SMALLINT AS $$
+    SELECT (pg_backend_pid() % COALESCE(NULLIF(current_setting('orders.stats_shards', true), '')::INTEGER, 8))::SMALLINT;
+$$ LANGUAGE sql STABLE;
+
+CREATE OR REPLACE FUNCTION orders.apply_customer_order_stats()
+RETURNS TRIGGER AS $$
+BEGIN
+    -- Deltas are applied in key order so concurrent statements cannot deadlock on the counter rows
+    IF TG_OP = 'INSERT' THEN
+        INSERT INTO orders.customer_order_stats AS s (customer_id, status, shard, order_count, total_amount)
+        SELECT customer_id, status, orders.customer_order_stats_shard(), count(*), sum(total_amount)
+        FROM new_rows
+        WHERE deleted IS NOT TRUE
+        GROUP BY customer_id, status
+        ORDER BY customer_id, status
+        ON CONFLICT (customer_id, status, shard) DO UPDATE SET
+            order_count = s.order_count + EXCLUDED.order_count,
+            total_amount = s.total_amount + EXCLUDED.total_amount;
+
+    ELSIF TG_OP = 'UPDATE' THEN
+        INSERT INTO orders.customer_order_stats AS s (customer_id, status, shard, order_count, total_amount)
+        SELECT customer_id, status, orders.customer_order_stats_shard(), sum(order_delta), sum(amount_delta)
+        FROM (
+            SELECT old_rows.customer_id, old_rows.status, -1 AS order_delta, -old_rows.total_amount AS amount_delta
+            FROM old_rows JOIN new_rows ON new_rows.id = old_rows.id
+            WHERE old_rows.deleted IS NOT TRUE
+              AND (old_rows.customer_id, old_rows.status, old_rows.total_amount, old_rows.deleted IS TRUE)
+                  IS DISTINCT FROM (new_rows.customer_id, new_rows.status, new_rows.total_amount, new_rows.deleted IS TRUE)
+            UNION ALL
+            SELECT new_rows.customer_id, new_rows.status, 1, new_rows.total_amount
+            FROM old_rows JOIN new_rows ON new_rows.id = old_rows.id
+            WHERE new_rows.deleted IS NOT TRUE
+              AND (old_rows.customer_id, old_rows.status, old_rows.total_amount, old_rows.deleted IS TRUE)
+                  IS DISTINCT FROM (new_rows.customer_id, new_rows.status, new_rows.total_amount, new_rows.deleted IS TRUE)
+        ) deltas
+        GROUP BY customer_id, status
+        HAVING sum(order_delta) <> 0 OR sum(amount_delta) <> 0
+        ORDER BY customer_id, status
+        ON CONFLICT (customer_id, status, shard) DO UPDATE SET
+            order_count = s.order_count + EXCLUDED.order_count,
+            total_amount = s.total_amount + EXCLUDED.total_amount;
+
+    ELSIF TG_OP = 'DELETE' THEN
+        INSERT INTO orders.customer_order_stats AS s (customer_id, status, shard, order_count, total_amount)
+        SELECT customer_id, status, orders.customer_order_stats_shard(), -count(*), -sum(total_amount)
+        FROM old_rows
+        WHERE deleted IS NOT TRUE
+        GROUP BY customer_id, status
+        ORDER BY customer_id, status
+        ON CONFLICT (customer_id, status, shard) DO UPDATE SET
+            order_count = s.order_count + EXCLUDED.order_count,
+            total_amount = s.total_amount + EXCLUDED.total_amount;
+    END IF;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+-- Transition tables are only allowed on single-event triggers, hence three triggers
+DROP TRIGGER IF EXISTS customer_order_stats_insert_trigger ON orders.orders;
+CREATE TRIGGER customer_order_stats_insert_trigger
+    AFTER INSERT ON orders.orders
+    REFERENCING NEW TABLE AS new_rows
+    FOR EACH STATEMENT
+    EXECUTE FUNCTION orders.apply_customer_order_stats();
+
+DROP TRIGGER IF EXISTS customer_order_stats_update_trigger ON orders.orders;
+CREATE TRIGGER customer_order_stats_update_trigger
+    AFTER UPDATE ON orders.orders
+    REFERENCING OLD TABLE AS old_rows NEW TABLE AS new_rows
+    FOR EACH STATEMENT
+    EXECUTE FUNCTION orders.apply_customer_order_stats();
+
+DROP TRIGGER IF EXISTS customer_order_stats_delete_trigger ON orders.orders;
+CREATE TRIGGER customer_order_stats_delete_trigger
+    AFTER DELETE ON orders.orders
+    REFERENCING OLD TABLE AS old_rows
+    FOR EACH STATEMENT
+    EXECUTE FUNCTION orders.apply_customer_order_stats();
+
+-- Backfill; drift from writes racing this migration is corrected by OrderStatsReconciliation
+INSERT INTO orders.customer_order_stats (customer_id, status, shard, order_count, total_amount)
+SELECT customer_id, status, 0, count(*), sum(total_amount)
+FROM orders.orders
+WHERE deleted IS NOT TRUE
+GROUP BY customer_id, status
+ON CONFLICT (customer_id, status, shard) DO NOTHING;
@@ -0,0 +1,48 @@
+-- Retention for the partitioned audit log: DataRetentionCleanup drops whole monthly partitions once
+-- their month is past the retention period, instead of deleting expired rows one index probe at a time.
+
+BEGIN;
+
+-- Detaches and drops audit_logs_YYYY_MM partitions whose month ended before NOW() - retention.
+-- A partition that still has rows the archival function has not copied to Blob Storage is kept.
+-- Returns the number of partitions dropped.
+CREATE OR REPLACE FUNCTION audit.drop_expired_audit_log_partitions(retention INTERVAL DEFAULT INTERVAL '7 years')
+RETURNS INTEGER
+LANGUAGE plpgsql
+AS $$
+DECLARE
+    partition_name TEXT;
+    month_start DATE;
+    has_unarchived BOOLEAN;
+    dropped INTEGER := 0;
+BEGIN
+    -- DETACH locks audit.audit_logs exclusively; give up rather than queue the ingestors behind it
+    PERFORM set_config('lock_timeout', '5s', true);
+
+    FOR partition_name IN
+        SELECT c.relname
+        FROM pg_inherits i
+        JOIN pg_class c ON c.oid = i.inhrelid
+        WHERE i.inhparent = 'audit.audit_logs'::regclass
+          AND c.relname ~ '^audit_logs_[0-9]{4}_[0-9]{2}$'
+        ORDER BY c.relname
+    LOOP
+        month_start := to_date(substring(partition_name FROM 12), 'YYYY_MM');
+        EXIT WHEN month_start + INTERVAL '1 month' > CURRENT_TIMESTAMP - retention;
+
+        EXECUTE format('SELECT EXISTS (SELECT 1 FROM audit.%I WHERE archived = FALSE)', partition_name)
+            INTO has_unarchived;
+        IF has_unarchived THEN
+            RAISE WARNING 'Audit log partition audit.% has unarchived rows, not dropping it', partition_name;
+            CONTINUE;
+        END IF;
+
+        EXECUTE format('ALTER TABLE audit.audit_logs DETACH PARTITION audit.%I', partition_name);
+        EXECUTE format('DROP TABLE audit.%I', partition_name);
+        dropped := dropped + 1;
+    END LOOP;
+    RETURN dropped;
+END;
+$$;
+
+COMMIT;
@@ -105,6 +105,15 @@ resource "azurerm_servicebus_topic" "order_events" {
   default_message_ttl   = "P7D"
 }
 
+# Read-model projection in order-service (orders.order_summaries)
+resource "azurerm_servicebus_subscription" "order_summary_projection" {
+  name               = "order-summary-projection"
+  topic_id           = azurerm_servicebus_topic.order_events.id
+  max_delivery_count = 10
+
+  dead_lettering_on_message_expiration = true
+}
+
 resource "azurerm_servicebus_topic" "payment_events" {
   name         = "payment-events"
   namespace_id = azurerm_servicebus_namespace.main.id
@@ -113,6 +122,33 @@ resource "azurerm_servicebus_topic" "payment_events" {
   default_message_ttl   = "P7D"
 }
 
+resource "azurerm_servicebus_topic" "inventory_events" {
+  name         = "inventory-events"
+  namespace_id = azurerm_servicebus_namespace.main.id
+
+  max_size_in_megabytes = 5120
+  default_message_ttl   = "P7D"
+}
+
+# order-service inbound consumers: sessions keyed by order ID (customer ID for GDPR)
+resource "azurerm_servicebus_subscription" "order_service_payment_events" {
+  name               = "order-service"
+  topic_id           = azurerm_servicebus_topic.payment_events.id
+  max_delivery_count = 10
+  requires_session   = true
+
+  dead_lettering_on_message_expiration = true
+}
+
+resource "azurerm_servicebus_subscription" "order_service_inventory_events" {
+  name               = "order-service"
+  topic_id           = azurerm_servicebus_topic.inventory_events.id
+  max_delivery_count = 10
+  requires_session   = true
+
+  dead_lettering_on_message_expiration = true
+}
+
 resource "azurerm_servicebus_topic" "notification_events" {
   name         = "notification-events"
   namespace_id = azurerm_servicebus_namespace.main.id
@@ -129,6 +165,15 @@ resource "azurerm_servicebus_topic" "gdpr_events" {
   default_message_ttl   = "P7D"
 }
 
+resource "azurerm_servicebus_subscription" "order_service_gdpr_events" {
+  name               = "order-service"
+  topic_id           = azurerm_servicebus_topic.gdpr_events.id
+  max_delivery_count = 10
+  requires_session   = true
+
+  dead_lettering_on_message_expiration = true
+}
+
 # Application Insights
 resource "azurerm_application_insights" "main" {
   name                = "csom-platform-insights"
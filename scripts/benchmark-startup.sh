@@ -0,0 +1,97 @@
+#!/bin/bash
+
+# Measure order-service time-to-first-request for the standard and startup-optimized builds
+# Usage: ./scripts/benchmark-startup.sh [runs]
+#
+# Each variant is started RUNS times; the time until the first HTTP response from
+# /actuator/health (any status code) is reported. Requires the environment variables
+# order-service needs to start (POSTGRES_*, ENTRA_*, SERVICE_BUS_CONNECTION_STRING, ...).
+
+set -e
+
+RUNS=${1:-5}
+PORT=${PORT:-8080}
+SERVICE_DIR="$(cd "$(dirname "$0")/../backend/order-service" && pwd)"
+WORK_DIR="$SERVICE_DIR/target/startup-benchmark"
+
+build_variants() {
+    cd "$SERVICE_DIR"
+
+    echo "Building standard jar..."
+    mvn -q clean package -DskipTests
+    mkdir -p "$WORK_DIR/standard"
+    cp target/order-service-*-exec.jar "$WORK_DIR/standard/app.jar"
+
+    echo "Building AOT jar..."
+    mvn -q clean package -DskipTests -Pstartup
+    mkdir -p "$WORK_DIR/aot"
+    cp target/order-service-*-exec.jar "$WORK_DIR/aot/app.jar"
+
+    echo "Extracting AOT jar and creating CDS archive..."
+    cd "$WORK_DIR/aot"
+    rm -rf extracted application
+    java -Djarmode=layertools -jar app.jar extract --destination extracted
+    mkdir application
+    cp -r extracted/dependencies/. extracted/spring-boot-loader/. \
+          extracted/snapshot-dependencies/. extracted/application/. application/
+    cd application
+    # The cds-training profile only needs a connection string that parses; use a throwaway key
+    SERVICE_BUS_CONNECTION_STRING="Endpoint=sb://cds-training.servicebus.windows.net/;SharedAccessKeyName=cds-training;SharedAccessKey=$(head -c 32 /dev/urandom | base64)" \
+    java -XX:ArchiveClassesAtExit=app.jsa -Dspring.aot.enabled=true \
+        -Dspring.profiles.active=cds-training \
+        org.springframework.boot.loader.launch.JarLauncher > "$WORK_DIR/cds-training.log" 2>&1 \
+        && test -s app.jsa \
+        || { echo "CDS training run failed; see $WORK_DIR/cds-training.log" >&2; exit 1; }
+}
+
+# Prints milliseconds from process start until the first HTTP response
+time_to_first_request() {
+    local dir=$1
+    shift
+    cd "$dir"
+    local start
+    start=$(date +%s%N)
+    java "$@" > "$WORK_DIR/last-run.log" 2>&1 &
+    local pid=$!
+
+    until [ "$(curl -s -o /dev/null -w '%{http_code}' "http://localhost:$PORT/actuator/health")" != "000" ]; do
+        if ! kill -0 "$pid" 2> /dev/null; then
+            echo "Application exited before serving a request, see $WORK_DIR/last-run.log" >&2
+            exit 1
+        fi
+        sleep 0.05
+    done
+    local end
+    end=$(date +%s%N)
+
+    kill "$pid"
+    wait "$pid" 2> /dev/null || true
+    echo $(( (end - start) / 1000000 ))
+}
+
+run_variant() {
+    local name=$1
+    shift
+    local total=0
+    local results=""
+    for i in $(seq 1 "$RUNS"); do
+        local ms
+        ms=$(time_to_first_request "$@")
+        results="$results $ms"
+        total=$((total + ms))
+    done
+    printf "%-22s avg %6d ms   runs:%s\n" "$name" $((total / RUNS)) "$results"
+}
+
+build_variants
+
+echo ""
+echo "Time to first request ($RUNS runs each):"
+run_variant "standard" "$WORK_DIR/standard" -jar app.jar
+run_variant "aot" "$WORK_DIR/aot/application" \
+    -Dspring.aot.enabled=true org.springframework.boot.loader.launch.JarLauncher
+run_variant "aot + cds" "$WORK_DIR/aot/application" \
+    -XX:SharedArchiveFile=app.jsa -Dspring.aot.enabled=true org.springframework.boot.loader.launch.JarLauncher
+run_variant "aot + cds + prod lazy" "$WORK_DIR/aot/application" \
+    -XX:SharedArchiveFile=app.jsa -Dspring.aot.enabled=true -Dspring.profiles.active=prod \
+    org.springframework.boot.loader.launch.JarLauncher
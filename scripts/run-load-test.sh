@@ -0,0 +1,92 @@
+#!/bin/bash
+
+# Run an order-service load test against local stand-ins (embedded PostgreSQL, WireMock
+# product/payment services, in-memory Service Bus, local JWT issuer)
+# Usage: ./scripts/run-load-test.sh [Steady|Spike|Soak] [extra -D options for Gatling]
+#
+# Outputs in backend/order-service-load-test/target:
+#   gatling/<run>/index.html    p50/p95/p99, throughput and errors per request
+#   loadtest/allocation.txt     service-side bytes allocated per request
+#   loadtest/order-service.jfr  JFR recording of the service for allocation/CPU profiling
+# Exits non-zero if a Gatling SLO assertion fails or allocation exceeds ALLOCATION_BUDGET_BYTES.
+
+set -e
+
+SIMULATION=${1:-Steady}
+shift || true
+PORT=${PORT:-8080}
+ALLOCATION_BUDGET_BYTES=${ALLOCATION_BUDGET_BYTES:-1048576}
+SERVICE_JAVA_OPTS=${SERVICE_JAVA_OPTS:--Xms1g -Xmx1g}
+ROOT_DIR="$(cd "$(dirname "$0")/.." && pwd)"
+MODULE_DIR="$ROOT_DIR/backend/order-service-load-test"
+WORK_DIR="$MODULE_DIR/target/loadtest"
+BASE_URL="http://localhost:$PORT"
+
+echo "Building order-service and load test harness..."
+(cd "$ROOT_DIR/backend/order-service" && mvn -q install -DskipTests)
+(cd "$MODULE_DIR" && mvn -q package -DskipTests)
+
+rm -rf "$WORK_DIR"
+mkdir -p "$WORK_DIR"
+
+cd "$MODULE_DIR"
+# Fixed heap so runs are comparable; JFR uses the low-overhead default settings
+java $SERVICE_JAVA_OPTS \
+    -XX:StartFlightRecording=filename="$WORK_DIR/order-service.jfr",settings=default \
+    -Dloadtest.port="$PORT" \
+    -Dloadtest.migrations="$ROOT_DIR/infrastructure/database/migrations" \
+    -jar target/order-service-load-test-*.jar > "$WORK_DIR/order-service.log" 2>&1 &
+SERVICE_PID=$!
+trap 'kill $SERVICE_PID 2> /dev/null; wait $SERVICE_PID 2> /dev/null || true' EXIT
+
+echo "Waiting for order-service on port $PORT..."
+until [ "$(curl -s -o /dev/null -w '%{http_code}' "$BASE_URL/actuator/health")" = "200" ]; do
+    if ! kill -0 "$SERVICE_PID" 2> /dev/null; then
+        echo "order-service exited during startup, see $WORK_DIR/order-service.log" >&2
+        exit 1
+    fi
+    sleep 1
+done
+
+TOKEN=$(sed -n 2p "$WORK_DIR/tokens.csv" | cut -d, -f2)
+
+# Prints the COUNT statistic of an actuator metric
+metric_count() {
+    curl -s -H "Authorization: Bearer $TOKEN" "$BASE_URL/actuator/metrics/$1" \
+        | sed -E 's/.*"statistic":"COUNT","value":([0-9.eE+-]+).*/\1/'
+}
+
+ALLOCATED_BEFORE=$(metric_count jvm.gc.memory.allocated)
+REQUESTS_BEFORE=$(metric_count http.server.requests)
+
+echo "Running ${SIMULATION}LoadSimulation..."
+GATLING_STATUS=0
+mvn -q test-compile gatling:test -Dsimulation="$SIMULATION" -Dloadtest.baseUrl="$BASE_URL" \
+    -Dloadtest.tokens="$WORK_DIR/tokens.csv" "$@" || GATLING_STATUS=$?
+
+ALLOCATED_AFTER=$(metric_count jvm.gc.memory.allocated)
+REQUESTS_AFTER=$(metric_count http.server.requests)
+
+ALLOCATION_STATUS=$(awk -v ab="$ALLOCATED_BEFORE" -v aa="$ALLOCATED_AFTER" \
+    -v rb="$REQUESTS_BEFORE" -v ra="$REQUESTS_AFTER" -v budget="$ALLOCATION_BUDGET_BYTES" '
+    BEGIN {
+        requests = ra - rb
+        perRequest = requests > 0 ? (aa - ab) / requests : 0
+        printf "requests=%d\nallocatedBytes=%.0f\nbytesPerRequest=%.0f\nbudgetBytesPerRequest=%d\n",
+            requests, aa - ab, perRequest, budget > "/dev/stderr"
+        print (perRequest <= budget ? "PASS" : "FAIL")
+    }' 2> "$WORK_DIR/allocation.txt")
+echo "result=$ALLOCATION_STATUS" >> "$WORK_DIR/allocation.txt"
+
+echo ""
+echo "Allocation ($WORK_DIR/allocation.txt):"
+cat "$WORK_DIR/allocation.txt"
+
+if [ "$GATLING_STATUS" -ne 0 ]; then
+    echo "Gatling SLO assertions failed" >&2
+    exit "$GATLING_STATUS"
+fi
+if [ "$ALLOCATION_STATUS" != "PASS" ]; then
+    echo "Allocation per request exceeds budget of $ALLOCATION_BUDGET_BYTES bytes" >&2
+    exit 1
+fi